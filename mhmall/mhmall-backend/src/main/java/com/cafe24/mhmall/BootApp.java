@@ -1,13 +1,27 @@
 package com.cafe24.mhmall;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @SpringBootApplication
 @EnableAspectJAutoProxy
+@EnableScheduling
 public class BootApp {
 	public static void main(String[] args) {
 		SpringApplication.run(BootApp.class, args);
 	}
+
+	// @Scheduled 작업 쓰레드(주문 접수 처리가 정리 작업이 끝날 때까지 기다리지 않도록)
+	@Bean
+	public ThreadPoolTaskScheduler taskScheduler(@Value("${mhmall.scheduler.pool-size:4}") int poolSize) {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(poolSize);
+		scheduler.setThreadNamePrefix("mhmall-scheduler-");
+		return scheduler;
+	}
 }
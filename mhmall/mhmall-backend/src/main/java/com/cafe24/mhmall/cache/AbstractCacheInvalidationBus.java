@@ -0,0 +1,83 @@
+package com.cafe24.mhmall.cache;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// 리스너 관리와 받은 알림 전달
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+	private final String nodeId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+	private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<String, List<Consumer<String>>>();
+
+	protected final AtomicLong publishCount = new AtomicLong();
+	protected final AtomicLong receiveCount = new AtomicLong();
+	protected final AtomicLong deliverFailCount = new AtomicLong();
+
+	// 마지막 실패 내용(매번 출력하지 않고 통계로 확인)
+	protected volatile String lastError;
+
+
+	@Override
+	public void subscribe(String region, Consumer<String> listener) {
+		listeners.computeIfAbsent(region, k -> new CopyOnWriteArrayList<Consumer<String>>()).add(listener);
+	}
+
+
+	@Override
+	public String getNodeId() {
+		return nodeId;
+	}
+
+
+	@Override
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("nodeId", nodeId);
+		stats.put("type", getClass().getSimpleName());
+		stats.put("publishCount", publishCount.get());
+		stats.put("receiveCount", receiveCount.get());
+		stats.put("deliverFailCount", deliverFailCount.get());
+		stats.put("lastError", lastError);
+		return stats;
+	}
+
+
+	// 다른 서버에서 온 알림을 리스너에 전달
+	protected void deliver(String region, String key) {
+		receiveCount.incrementAndGet();
+		List<Consumer<String>> list = listeners.get(region);
+		if(list == null) return;
+		for(Consumer<String> listener : list) {
+			try {
+				listener.accept(key);
+			} catch(RuntimeException e) {
+				deliverFailCount.incrementAndGet();
+				lastError = "캐시 무효화 실패 : " + region + "/" + key + " " + e.getMessage();
+			}
+		}
+	}
+
+
+	// 놓친 알림이 있을 수 있을 때 모든 영역 지우기
+	protected void deliverAll() {
+		for(String region : listeners.keySet()) deliver(region, null);
+	}
+
+
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch(Exception e) {
+			return "unknown";
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.cafe24.mhmall.cache;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+// 서버간 캐시 무효화 알림
+// 서비스에서 캐시를 지울 때 publish 하면 다른 서버들의 subscribe 한 리스너가 같은 키를 지운다.
+public interface CacheInvalidationBus {
+
+	void publish(String region, String key);						// 다른 서버에 캐시 변경 알림(key가 null이면 영역 전체)
+	void subscribe(String region, Consumer<String> listener);		// 다른 서버의 캐시 변경 받기
+	String getNodeId();												// 이 서버의 이름
+	Map<String, Object> getStats();									// 알림 상태
+
+}
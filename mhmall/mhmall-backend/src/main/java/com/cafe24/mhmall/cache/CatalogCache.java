@@ -0,0 +1,272 @@
+package com.cafe24.mhmall.cache;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// 상품/상품이미지/옵션/카테고리 조회 캐시(read-through)
+// 영역별로 최대개수(W-TinyLFU)와 유효시간을 따로 두고, 관리자 수정이 있으면 해당 영역을 지운다.
+// 캐시된 값은 여러 요청이 같이 쓰므로 호출하는 쪽에서 수정하면 안된다.(리스트는 수정불가 리스트)
+// 지울 때는 CacheInvalidationBus 로 다른 서버에도 알린다.
+// 지울 때마다 영역/상품번호의 버전(수정시간 ms)을 올려서 조회 API의 ETag 로 쓴다.(서버 시작시간부터 시작)
+// 버전은 서버마다 따로 올라가므로 ETag 는 서버별 값이다.(다른 서버로 가면 304 대신 200, 이전 내용이 나가지는 않음)
+// Last-Modified 는 초 단위라 같은 초에 두번 수정되면 If-Modified-Since 로 이전 내용이 304 가 되므로 쓰지 않는다.
+@Component
+public class CatalogCache {
+
+	public enum Region {
+		ITEM,		// 상품번호 -> 상품
+		ITEM_IMG,	// 상품번호 -> 상품이미지 리스트
+		OPTION,		// 상품번호/조회구분 -> 옵션 리스트
+		CATEGORY	// 카테고리 리스트
+	}
+
+	private static final String KEY_SEPARATOR = ",";		// 알림 키에서 상품번호 구분
+	private static final int MAX_KEY_LENGTH = 200;		// 알림 키 최대 길이(cache_changelog.cache_key)
+
+	@Value("${mhmall.catalog-cache.item.max-size:10000}")
+	private long itemMaxSize;
+
+	@Value("${mhmall.catalog-cache.item.ttl-seconds:600}")
+	private long itemTtlSeconds;
+
+	@Value("${mhmall.catalog-cache.item-img.max-size:10000}")
+	private long itemImgMaxSize;
+
+	@Value("${mhmall.catalog-cache.item-img.ttl-seconds:600}")
+	private long itemImgTtlSeconds;
+
+	@Value("${mhmall.catalog-cache.option.max-size:10000}")
+	private long optionMaxSize;
+
+	@Value("${mhmall.catalog-cache.option.ttl-seconds:10}")
+	private long optionTtlSeconds;
+
+	@Value("${mhmall.catalog-cache.category.max-size:10}")
+	private long categoryMaxSize;
+
+	@Value("${mhmall.catalog-cache.category.ttl-seconds:600}")
+	private long categoryTtlSeconds;
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
+	private final Map<Region, Cache<Object, Object>> caches = new EnumMap<Region, Cache<Object, Object>>(Region.class);
+
+	// 버전(영역 전체, 상품번호별)
+	private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+	private final Map<Region, AtomicLong> regionVersions = new EnumMap<Region, AtomicLong>(Region.class);
+	private final Map<Region, ConcurrentMap<Long, Long>> itemVersions = new EnumMap<Region, ConcurrentMap<Long, Long>>(Region.class);
+
+
+	@PostConstruct
+	public void init() {
+		caches.put(Region.ITEM, build(itemMaxSize, itemTtlSeconds));
+		caches.put(Region.ITEM_IMG, build(itemImgMaxSize, itemImgTtlSeconds));
+		caches.put(Region.OPTION, build(optionMaxSize, optionTtlSeconds));
+		caches.put(Region.CATEGORY, build(categoryMaxSize, categoryTtlSeconds));
+		for(Region region : Region.values()) {
+			regionVersions.put(region, new AtomicLong(clock.get()));
+			itemVersions.put(region, new ConcurrentHashMap<Long, Long>());
+		}
+
+		// 다른 서버에서 지운 캐시 지우기(키는 상품번호 하나 또는 쉼표로 이은 여러개)
+		for(final Region region : Region.values()) {
+			cacheInvalidationBus.subscribe(region.name(), key -> {
+				if(key == null) {
+					evictLocal(region, null);
+					return;
+				}
+				for(String itemNo : key.split(KEY_SEPARATOR)) evictLocal(region, Long.valueOf(itemNo));
+			});
+		}
+	}
+
+
+	// 캐시에서 찾고 없으면 loader로 읽어서 저장(null은 저장하지 않음)
+	@SuppressWarnings("unchecked")
+	public <V> V get(Region region, Object key, final Supplier<V> loader) {
+		return (V)caches.get(region).get(key, k -> loader.get());
+	}
+
+
+	// 옵션 영역의 키(상품번호/조회구분)
+	public static String optionKey(Long itemNo, String kind) {
+		return itemNo + "/" + kind;
+	}
+
+
+	// 상품 하나에 관련된 캐시 지우기(상품, 상품이미지, 옵션)
+	public void invalidateItem(Long itemNo) {
+		if(itemNo == null) return;
+		evict(Region.ITEM, itemNo);
+		evict(Region.ITEM_IMG, itemNo);
+		evict(Region.OPTION, itemNo);
+	}
+
+
+	// 상품 하나의 옵션 캐시 지우기
+	public void invalidateOption(Long itemNo) {
+		if(itemNo == null) return;
+		evict(Region.OPTION, itemNo);
+	}
+
+
+	// 여러 상품의 옵션 캐시 지우기(재고 변경)
+	// 주문 한번에 알림 하나로 묶어서 보낸다.(키는 상품번호를 쉼표로 이은 값, 길면 나눠서)
+	public void invalidateOptions(Collection<Long> itemNos) {
+		if(itemNos == null) return;
+		final Set<Long> itemNoSet = new LinkedHashSet<Long>(itemNos);
+		itemNoSet.remove(null);
+		if(itemNoSet.isEmpty()) return;
+
+		for(Long itemNo : itemNoSet) evictLocal(Region.OPTION, itemNo);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					for(Long itemNo : itemNoSet) evictLocal(Region.OPTION, itemNo);
+				}
+			});
+		}
+
+		StringBuilder key = new StringBuilder();
+		for(Long itemNo : itemNoSet) {
+			String value = itemNo.toString();
+			if(key.length() > 0 && key.length() + 1 + value.length() > MAX_KEY_LENGTH) {
+				cacheInvalidationBus.publish(Region.OPTION.name(), key.toString());
+				key.setLength(0);
+			}
+			if(key.length() > 0) key.append(KEY_SEPARATOR);
+			key.append(value);
+		}
+		cacheInvalidationBus.publish(Region.OPTION.name(), key.toString());
+	}
+
+
+	// 영역의 상품번호 하나 지우기
+	public void invalidate(Region region, Long itemNo) {
+		if(itemNo == null) return;
+		evict(region, itemNo);
+	}
+
+
+	// 영역 전체 지우기
+	public void invalidateAll(Region region) {
+		evict(region, null);
+	}
+
+
+	// 영역/상품번호의 현재 버전(DB 조회 없음, itemNo가 null이면 영역 전체)
+	public long version(Region region, Long itemNo) {
+		long version = regionVersions.get(region).get();
+		if(itemNo == null || region == Region.CATEGORY) return version;
+
+		Long itemVersion = itemVersions.get(region).get(itemNo);
+		return itemVersion == null ? version : Math.max(version, itemVersion);
+	}
+
+
+	// 버전으로 만든 ETag
+	public static String eTag(Region region, Long itemNo, long version) {
+		return "\"" + region.name().toLowerCase() + "-" + (itemNo == null ? "all" : itemNo) + "-" + version + "\"";
+	}
+
+
+	// 캐시 상태(영역별 적중률, 읽기 시간)
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		for(Map.Entry<Region, Cache<Object, Object>> entry : caches.entrySet()) {
+			CacheStats cacheStats = entry.getValue().stats();
+			Map<String, Object> region = new HashMap<String, Object>();
+			region.put("size", entry.getValue().estimatedSize());
+			region.put("hitCount", cacheStats.hitCount());
+			region.put("missCount", cacheStats.missCount());
+			region.put("hitRate", cacheStats.hitRate());
+			region.put("loadCount", cacheStats.loadSuccessCount());
+			region.put("loadFailureCount", cacheStats.loadFailureCount());
+			region.put("totalLoadTimeMs", TimeUnit.NANOSECONDS.toMillis(cacheStats.totalLoadTime()));
+			region.put("averageLoadTimeMs", cacheStats.averageLoadPenalty() / 1000000.0);
+			region.put("evictionCount", cacheStats.evictionCount());
+			stats.put(entry.getKey().name(), region);
+		}
+		return stats;
+	}
+
+
+	// 지금 한번 지우고, 트랜잭션 안이면 트랜잭션이 끝난 뒤 한번 더 지운다.
+	// (커밋 전에 다른 요청이 이전 값을 다시 캐시하거나, 롤백된 값이 캐시에 남는 것 방지)
+	// 다른 서버에도 알린다.
+	private void evict(final Region region, final Long itemNo) {
+		evictLocal(region, itemNo);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					evictLocal(region, itemNo);
+				}
+			});
+		}
+		cacheInvalidationBus.publish(region.name(), itemNo == null ? null : itemNo.toString());
+	}
+
+
+	// 이 서버의 캐시만 지우기(itemNo가 null이면 영역 전체)
+	private void evictLocal(Region region, Long itemNo) {
+		Cache<Object, Object> cache = caches.get(region);
+		if(itemNo == null || region == Region.CATEGORY) {
+			// 영역 버전을 올리고, 그보다 오래된 상품번호별 버전은 필요 없으므로 지운다.
+			final long version = nextVersion();
+			regionVersions.get(region).accumulateAndGet(version, Math::max);
+			itemVersions.get(region).values().removeIf(itemVersion -> itemVersion <= version);
+			cache.invalidateAll();
+			return;
+		}
+		itemVersions.get(region).merge(itemNo, nextVersion(), Math::max);
+
+		if(region == Region.OPTION) {
+			// 옵션은 상품번호로 시작하는 키 전부
+			final String prefix = itemNo + "/";
+			cache.asMap().keySet().removeIf(key -> ((String)key).startsWith(prefix));
+			return;
+		}
+
+		cache.invalidate(itemNo);
+	}
+
+
+	// 이전 버전보다 큰 현재시간(ms)
+	private long nextVersion() {
+		return clock.accumulateAndGet(System.currentTimeMillis(), (prev, now) -> Math.max(prev + 1, now));
+	}
+
+
+	private Cache<Object, Object> build(long maxSize, long ttlSeconds) {
+		return Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.cafe24.mhmall.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cafe24.mhmall.repository.CacheChangelogDao;
+import com.cafe24.mhmall.vo.CacheEventVo;
+
+// DB 변경기록 알림(서버 여러대)
+// 캐시를 지울 때 cache_changelog 에 기록하고, 각 서버가 poll-ms 마다 다른 서버의 기록을 읽어서 지운다.
+// 호출하는 쪽의 트랜잭션 안에서 기록하므로 커밋된 변경만 다른 서버에 보인다.
+// 서버간 캐시는 최대 poll-ms(+ 커밋 지연) 안에 맞춰진다.
+// 마지막 번호 이후만 읽고, 늦게 커밋되어 건너뛴 번호는 lookback-seconds 동안 그 번호만 다시 확인한다.
+// (롤백된 번호는 채워지지 않으므로 시간이 지나면 버린다)
+@Component
+@ConditionalOnProperty(name = "mhmall.cache-bus.type", havingValue = "db")
+public class DbCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+	private static final int POLL_CNT = 1000;		// 한번에 읽을 변경기록 개수
+	private static final int GAP_CNT = 1000;		// 다시 확인할 건너뛴 번호 최대 개수
+	private static final int CLEANUP_POLLS = 600;	// 오래된 기록 삭제 주기(poll 횟수)
+
+	@Autowired
+	CacheChangelogDao cacheChangelogDao;
+
+	// 늦게 커밋되어 번호가 건너뛴 기록을 다시 확인할 시간
+	@Value("${mhmall.cache-bus.lookback-seconds:10}")
+	long lookbackSeconds;
+
+	// 변경기록 보관 시간
+	@Value("${mhmall.cache-bus.retention-seconds:3600}")
+	long retentionSeconds;
+
+	private Long lastNo;
+	private long lastPollTime = 0L;
+	private long pollCount = 0L;
+	private long failCount = 0L;
+	private long gapDropCount = 0L;
+
+	// 건너뛴 번호 -> 건너뛴 것을 안 시간(ms)
+	private final LinkedHashMap<Long, Long> gaps = new LinkedHashMap<Long, Long>();
+
+
+	@Override
+	public void publish(String region, String key) {
+		publishCount.incrementAndGet();
+		cacheChangelogDao.insert(new CacheEventVo(getNodeId(), region, key));
+	}
+
+
+	@Scheduled(fixedDelayString = "${mhmall.cache-bus.poll-ms:1000}", initialDelayString = "${mhmall.cache-bus.poll-ms:1000}")
+	public synchronized void poll() {
+		try {
+			// 처음 실행이면 마지막 번호부터(캐시가 비어있으므로 이전 기록은 필요없음)
+			if(lastNo == null) {
+				lastNo = cacheChangelogDao.selectLastNo();
+				lastPollTime = System.currentTimeMillis();
+				return;
+			}
+
+			long now = System.currentTimeMillis();
+
+			// 보관 시간보다 오래 읽지 못했으면 놓친 기록이 있을 수 있으므로 전부 지우기
+			if(now - lastPollTime > retentionSeconds * 1000) {
+				deliverAll();
+				gaps.clear();
+			}
+
+			// 건너뛴 번호 중 커밋된 기록
+			if(!gaps.isEmpty()) {
+				Map<String, Object> map = new HashMap<String, Object>();
+				map.put("nos", new ArrayList<Long>(gaps.keySet()));
+				for(CacheEventVo event : cacheChangelogDao.selectListIn(map)) {
+					if(gaps.remove(event.getNo()) != null) apply(event);
+				}
+
+				// 다시 확인할 시간이 지난 번호는 롤백된 것으로 보고 버린다.
+				gaps.values().removeIf(time -> now - time > lookbackSeconds * 1000);
+			}
+
+			// 마지막 번호 이후 기록
+			Map<String, Object> map = new HashMap<String, Object>();
+			map.put("lastNo", lastNo);
+			map.put("limit", POLL_CNT);
+			boolean dropped = false;
+			for(CacheEventVo event : cacheChangelogDao.selectListAfter(map)) {
+				// 다시 확인할 번호가 너무 많으면 오래된 번호를 버리고 전부 지운다.
+				long skipped = event.getNo() - lastNo - 1;
+				if(skipped > GAP_CNT) {
+					gapDropCount += skipped;
+					dropped = true;
+				} else {
+					for(long no = lastNo + 1; no < event.getNo(); no++) gaps.put(no, now);
+				}
+				Iterator<Long> iterator = gaps.keySet().iterator();
+				while(gaps.size() > GAP_CNT && iterator.hasNext()) {
+					iterator.next();
+					iterator.remove();
+					gapDropCount++;
+					dropped = true;
+				}
+				lastNo = event.getNo();
+				apply(event);
+			}
+			if(dropped) deliverAll();
+
+			lastPollTime = now;
+
+			// 오래된 변경기록 삭제
+			if(++pollCount % CLEANUP_POLLS == 0) cacheChangelogDao.deleteOld(retentionSeconds);
+		} catch(RuntimeException e) {
+			// 다음 poll 에서 다시 읽는다.(실패 횟수와 마지막 오류는 통계로 확인)
+			failCount++;
+			lastError = "캐시 변경기록 읽기 실패 : " + e.getMessage();
+		}
+	}
+
+
+	// 다른 서버의 기록만 적용
+	private void apply(CacheEventVo event) {
+		if(getNodeId().equals(event.getNode())) return;
+		deliver(event.getRegion(), event.getCacheKey());
+	}
+
+
+	@Override
+	public synchronized Map<String, Object> getStats() {
+		Map<String, Object> stats = super.getStats();
+		stats.put("lastNo", lastNo);
+		stats.put("lastPollTime", lastPollTime);
+		stats.put("failCount", failCount);
+		stats.put("gapCount", gaps.size());
+		stats.put("gapDropCount", gapDropCount);
+		return stats;
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.cafe24.mhmall.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 메모리 알림(서버 1대, 테스트)
+// connect 로 연결한 같은 JVM 안의 다른 버스에만 알림을 전달한다.
+@Component
+@ConditionalOnProperty(name = "mhmall.cache-bus.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+	private final List<InMemoryCacheInvalidationBus> peers = new CopyOnWriteArrayList<InMemoryCacheInvalidationBus>();
+
+
+	// 다른 버스와 서로 연결
+	public void connect(InMemoryCacheInvalidationBus peer) {
+		if(peer == this || peers.contains(peer)) return;
+		peers.add(peer);
+		peer.connect(this);
+	}
+
+
+	// 트랜잭션 안이면 커밋된 뒤에 전달
+	@Override
+	public void publish(final String region, final String key) {
+		publishCount.incrementAndGet();
+		if(peers.isEmpty()) return;
+
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					send(region, key);
+				}
+			});
+			return;
+		}
+		send(region, key);
+	}
+
+
+	private void send(String region, String key) {
+		for(InMemoryCacheInvalidationBus peer : peers) peer.deliver(region, key);
+	}
+
+}
@@ -0,0 +1,149 @@
+package com.cafe24.mhmall.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cafe24.mhmall.cache.CatalogCache.Region;
+import com.cafe24.mhmall.repository.ItemDao;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// 상품 개수 캐시(카테고리, 검색어, 진열여부)
+// 검색어가 없는 개수는 상품 등록/수정/삭제/진열여부 수정 때 지우고(다른 서버는 ITEM 알림), 만료시간까지 유지한다.
+// 검색어가 있는 개수는 상품 수정으로 지우지 않고 refresh-seconds 마다 이전 값을 주면서 백그라운드에서 다시 센다.
+@Component
+public class ItemCountCache {
+
+	@Autowired
+	ItemDao itemDao;
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
+	@Value("${mhmall.item-count-cache.max-size:1000}")
+	private long maxSize;
+
+	@Value("${mhmall.item-count-cache.refresh-seconds:60}")
+	private long refreshSeconds;
+
+	@Value("${mhmall.item-count-cache.expire-seconds:600}")
+	private long expireSeconds;
+
+	private LoadingCache<CountKey, Integer> categoryCache;
+	private LoadingCache<CountKey, Integer> keywordCache;
+
+
+	@PostConstruct
+	public void init() {
+		categoryCache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+				.recordStats()
+				.build(key -> count(key));
+		keywordCache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+				.expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+				.recordStats()
+				.build(key -> count(key));
+
+		// 다른 서버에서 상품이 바뀌면 카테고리별 개수 지우기
+		cacheInvalidationBus.subscribe(Region.ITEM.name(), key -> categoryCache.invalidateAll());
+	}
+
+
+	// 진열중인 상품 개수(categoryNo, kwd가 null이면 조건 없음)
+	public int get(Long categoryNo, String kwd) {
+		return get(categoryNo, kwd, "TRUE");
+	}
+
+
+	// 상품 개수(categoryNo, kwd, display가 null이면 조건 없음)
+	public int get(Long categoryNo, String kwd, String display) {
+		CountKey key = new CountKey(categoryNo, kwd, display);
+		if(kwd == null) return categoryCache.get(key);
+		return keywordCache.get(key);
+	}
+
+
+	// 상품 등록/수정/삭제/진열여부 수정 후 카테고리별 개수 지우기
+	// 트랜잭션 안이면 트랜잭션이 끝난 뒤 한번 더 지운다.
+	public void invalidate() {
+		categoryCache.invalidateAll();
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					categoryCache.invalidateAll();
+				}
+			});
+		}
+	}
+
+
+	// 캐시 상태
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("category", stats(categoryCache));
+		stats.put("keyword", stats(keywordCache));
+		return stats;
+	}
+
+
+	private Map<String, Object> stats(LoadingCache<CountKey, Integer> cache) {
+		CacheStats cacheStats = cache.stats();
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("size", cache.estimatedSize());
+		stats.put("hitCount", cacheStats.hitCount());
+		stats.put("missCount", cacheStats.missCount());
+		stats.put("loadCount", cacheStats.loadSuccessCount());
+		stats.put("averageLoadTimeMs", cacheStats.averageLoadPenalty() / 1000000.0);
+		return stats;
+	}
+
+
+	private Integer count(CountKey key) {
+		Map<String, Object> mapCnt = new HashMap<String, Object>();
+		mapCnt.put("categoryNo", key.categoryNo);
+		mapCnt.put("kwd", key.kwd);
+		mapCnt.put("display", key.display);
+		return itemDao.countU(mapCnt);
+	}
+
+
+	private static class CountKey {
+		private final Long categoryNo;
+		private final String kwd;
+		private final String display;
+
+		private CountKey(Long categoryNo, String kwd, String display) {
+			this.categoryNo = categoryNo;
+			this.kwd = kwd;
+			this.display = display;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof CountKey)) return false;
+			CountKey other = (CountKey)obj;
+			return Objects.equals(categoryNo, other.categoryNo) && Objects.equals(kwd, other.kwd) && Objects.equals(display, other.display);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(categoryNo, kwd, display);
+		}
+	}
+
+}
@@ -5,7 +5,6 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.List;
 
-import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
@@ -32,11 +31,6 @@ public class MVCConfig extends WebMvcConfigurerAdapter {
 		return new RestTemplate();
 	}
 	
-    @Bean
-    public AlwaysSampler alwaysSampler() {
-        return new AlwaysSampler();
-    }
-
 	@Bean
 	public ViewResolver viewResolver() {
 		InternalResourceViewResolver resolver = new InternalResourceViewResolver();
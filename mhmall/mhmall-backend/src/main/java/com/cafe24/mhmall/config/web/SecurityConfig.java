@@ -11,7 +11,6 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter
 
 import com.cafe24.mhmall.security.AuthInterceptor;
 import com.cafe24.mhmall.security.AuthUserHandlerMethodArgumentResolver;
-import com.cafe24.mhmall.security.BasicInterceptor;
 
 @Configuration
 @EnableWebMvc
@@ -37,10 +36,6 @@ public class SecurityConfig extends WebMvcConfigurerAdapter {
 	public AuthInterceptor authInterceptor() {
 		return new AuthInterceptor();
 	}
-	@Bean
-	public BasicInterceptor basicInterceptor() {
-		return new BasicInterceptor();
-	}
 	@Override
 	public void addInterceptors(InterceptorRegistry registry) {
 		registry
@@ -50,9 +45,5 @@ public class SecurityConfig extends WebMvcConfigurerAdapter {
 		.excludePathPatterns("/member/login")
 		.excludePathPatterns("/member/logout")
 		.excludePathPatterns("/assets/**");
-
-		registry
-		.addInterceptor(basicInterceptor());
-		
 	}
 }
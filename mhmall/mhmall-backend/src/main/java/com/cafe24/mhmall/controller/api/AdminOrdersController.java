@@ -68,23 +68,19 @@ public class AdminOrdersController {
 	@ApiImplicitParams({
 		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
 	})
-	@RequestMapping(value = "/list", method = RequestMethod.GET)
-	@ApiOperation(value = "주문 리스트", notes = "주문 리스트 요청 API")
-	public ResponseEntity<JSONResult> list() {
+	@RequestMapping(value = {"/list", "/list/{lastOrdersNo}"}, method = RequestMethod.GET)
+	@ApiOperation(value = "주문 리스트", notes = "주문 리스트 요청 API(lastOrdersNo 다음 주문부터)")
+	public ResponseEntity<JSONResult> list(
+			@PathVariable(name = "lastOrdersNo", required = false) String lastOrdersNo
+			) {
 		// OrdersService에 주문리스트 요청
-		List<OrdersVo> ordersList = ordersService.getList();
+		List<OrdersVo> ordersList = ordersService.getList(lastOrdersNo);
 		
-		List<OrdersVo> ordersListTmp = new ArrayList<OrdersVo>();
-
-		// 주문상품 리스트
-		for(OrdersVo ordersVo : ordersList) {
-			List<OrdersItemVo> ordersItemList = ordersItemService.getListByOrdersNo(ordersVo.getOrdersNo());
-			ordersVo.setOrdersItemList(ordersItemList);
-			ordersListTmp.add(ordersVo);
-		}
+		// 주문상품 리스트(한번에 조회)
+		ordersItemService.fillOrdersItemList(ordersList);
 		
 		// JSON 리턴 생성
-		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(ordersListTmp));
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(ordersList));
 	}
 	
 
@@ -0,0 +1,204 @@
+package com.cafe24.mhmall.controller.api;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cafe24.mhmall.cache.CacheInvalidationBus;
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.ItemCountCache;
+import com.cafe24.mhmall.crypto.FieldCryptoMigration;
+import com.cafe24.mhmall.dto.JSONResult;
+import com.cafe24.mhmall.monitor.DbLatencyMonitor;
+import com.cafe24.mhmall.scheduler.MaintenanceScheduler;
+import com.cafe24.mhmall.scheduler.OrdersIntakeWorker;
+import com.cafe24.mhmall.search.ItemSearchIndex;
+import com.cafe24.mhmall.security.Auth;
+import com.cafe24.mhmall.security.Auth.Role;
+import com.cafe24.mhmall.security.AuthMemberCache;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+
+@RestController("adminSystemAPIController")
+@RequestMapping("/api/admin/system")
+@Api(value = "AdminSystemController", description = "관리자 시스템 상태 컨트롤러")
+public class AdminSystemController {
+
+	@Autowired
+	AuthMemberCache authMemberCache;
+
+	@Autowired(required = false)
+	MaintenanceScheduler maintenanceScheduler;
+
+	@Autowired(required = false)
+	OrdersIntakeWorker ordersIntakeWorker;
+
+	@Autowired
+	CatalogCache catalogCache;
+
+	@Autowired
+	ItemCountCache itemCountCache;
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
+	@Autowired
+	ItemSearchIndex itemSearchIndex;
+
+	@Autowired
+	DbLatencyMonitor dbLatencyMonitor;
+
+	@Autowired
+	FieldCryptoMigration fieldCryptoMigration;
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/authcache", method = RequestMethod.GET)
+	@ApiOperation(value = "인증 캐시 상태", notes = "인증 캐시 적중/실패 횟수 요청 API")
+	public ResponseEntity<JSONResult> authCache() {
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(authMemberCache.getStats()));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/maintenance", method = RequestMethod.GET)
+	@ApiOperation(value = "정리 작업 상태", notes = "마지막 정리 작업 실행 결과 요청 API")
+	public ResponseEntity<JSONResult> maintenance() {
+		// 스케줄러가 꺼져있을 때
+		if(maintenanceScheduler == null) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("정리 작업이 실행중이 아닙니다."));
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(maintenanceScheduler.getLastRun()));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/ordersintake", method = RequestMethod.GET)
+	@ApiOperation(value = "주문 접수 큐 상태", notes = "처리 전인 주문 접수 개수, 처리/실패 수 요청 API")
+	public ResponseEntity<JSONResult> ordersIntake() {
+		// 처리 작업이 꺼져있을 때
+		if(ordersIntakeWorker == null) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("주문 접수 처리 작업이 실행중이 아닙니다."));
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(ordersIntakeWorker.getStats()));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/catalogcache", method = RequestMethod.GET)
+	@ApiOperation(value = "상품 캐시 상태", notes = "상품/옵션/카테고리/상품개수 캐시 적중률, 읽기 시간 요청 API")
+	public ResponseEntity<JSONResult> catalogCache() {
+		Map<String, Object> stats = catalogCache.getStats();
+		stats.put("ITEM_COUNT", itemCountCache.getStats());
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(stats));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/cachebus", method = RequestMethod.GET)
+	@ApiOperation(value = "캐시 무효화 알림 상태", notes = "서버간 캐시 무효화 알림 보낸/받은 횟수 요청 API")
+	public ResponseEntity<JSONResult> cacheBus() {
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(cacheInvalidationBus.getStats()));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/searchindex", method = RequestMethod.GET)
+	@ApiOperation(value = "상품 검색 색인 상태", notes = "상품 검색 색인 상품수, 단어수, 검색 횟수 요청 API")
+	public ResponseEntity<JSONResult> searchIndex() {
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(itemSearchIndex.getStats()));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/dblatency", method = RequestMethod.GET)
+	@ApiOperation(value = "DB 구문 실행시간", notes = "MyBatis 구문별 호출수, 평균/백분위/최대 실행시간 요청 API")
+	public ResponseEntity<JSONResult> dbLatency() {
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(dbLatencyMonitor.getStats()));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = ""),
+		@ApiImplicitParam(name = "sort", value = "정렬(total, count, p99, rows)", paramType = "query", required = false, defaultValue = "total"),
+		@ApiImplicitParam(name = "limit", value = "개수", paramType = "query", required = false, defaultValue = "20")
+	})
+	@RequestMapping(value = "/profiler", method = RequestMethod.GET)
+	@ApiOperation(value = "DB 구문 프로파일", notes = "구문별 호출수, 실행시간, 행 수, 파라미터 종류 수, 느린 SQL 상위 목록 요청 API")
+	public ResponseEntity<JSONResult> profiler(
+			@RequestParam(value = "sort", required = false, defaultValue = "total") String sort,
+			@RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit) {
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(dbLatencyMonitor.top(sort, limit)));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/profiler", method = RequestMethod.DELETE)
+	@ApiOperation(value = "DB 구문 프로파일 초기화", notes = "구문별 실행시간, 행 수, 파라미터 종류 수, 느린 SQL 지우기 API")
+	public ResponseEntity<JSONResult> profilerReset() {
+		dbLatencyMonitor.reset();
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(true));
+	}
+
+
+	@Auth(role = Role.ROLE_ADMIN)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/crypto/migrate", method = RequestMethod.POST)
+	@ApiOperation(value = "암호화 키 변경", notes = "개인정보 컬럼을 현재 키 버전으로 다시 암호화하고 비어있는 검색 인덱스를 채운 뒤 테이블별 변경 행 수 요청 API")
+	public ResponseEntity<JSONResult> cryptoMigrate() {
+
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(fieldCryptoMigration.migrate()));
+	}
+
+}
@@ -26,7 +26,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.WebRequest;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
 import com.cafe24.mhmall.dto.JSONResult;
 import com.cafe24.mhmall.dto.RequestCategoryEditDto;
 import com.cafe24.mhmall.dto.RequestCategoryWriteDto;
@@ -54,11 +57,18 @@ public class CategoryController {
 	@Autowired
 	CategoryService categoryService;
 	
+	@Autowired
+	CatalogCache catalogCache;
+	
 	
 	
 	@RequestMapping(value = "/list", method = RequestMethod.GET)
 	@ApiOperation(value = "카테고리 리스트", notes = "카테고리 리스트 요청 API")
-	public ResponseEntity<JSONResult> list() {
+	public ResponseEntity<JSONResult> list(WebRequest webRequest) {
+		
+		// 버전이 같으면 304(DB 조회 안함), ETag 헤더는 checkNotModified 에서 넣는다.
+		long version = catalogCache.version(Region.CATEGORY, null);
+		if(webRequest.checkNotModified(CatalogCache.eTag(Region.CATEGORY, null, version))) return null;
 		
 		// Service에 카테고리리스트 요청
 		List<CategoryVo> list = categoryService.getList();
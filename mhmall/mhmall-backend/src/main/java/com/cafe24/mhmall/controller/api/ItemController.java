@@ -13,8 +13,12 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
 import com.cafe24.mhmall.dto.JSONResult;
 import com.cafe24.mhmall.dto.RequestItemCategoryDto;
 import com.cafe24.mhmall.dto.RequestItemNewListDto;
@@ -53,6 +57,9 @@ public class ItemController {
 	@Autowired
 	OptionService optionService;
 	
+	@Autowired
+	CatalogCache catalogCache;
+	
 	
 	
 	
@@ -64,11 +71,16 @@ public class ItemController {
 	@ApiOperation(value = "상품 상세", notes = "상품 상세 API")
 	public ResponseEntity<JSONResult> itemview(
 			@ModelAttribute @Valid RequestNoDto dto,
-			BindingResult result
+			BindingResult result,
+			WebRequest webRequest
 			) {
 		// 유효성검사
 		if(result.hasErrors()) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail(result.getAllErrors().get(0).getDefaultMessage()));
 		
+		// 버전이 같으면 304(DB 조회 안함), ETag 헤더는 checkNotModified 에서 넣는다.
+		long version = catalogCache.version(Region.ITEM, dto.getNo());
+		if(webRequest.checkNotModified(CatalogCache.eTag(Region.ITEM, dto.getNo(), version))) return null;
+		
 		// ItemService에 상품 정보 요청
 		ItemVo itemVo = itemService.getByNo(dto.getNo());
 		
@@ -84,11 +96,16 @@ public class ItemController {
 	@ApiOperation(value = "상품이미지 리스트", notes = " 상품이미지 리스트 API")
 	public ResponseEntity<JSONResult> itemimglist(
 			@ModelAttribute @Valid RequestItemNoDto dto,
-			BindingResult result
+			BindingResult result,
+			WebRequest webRequest
 			) {
 		// 유효성검사
 		if(result.hasErrors()) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail(result.getAllErrors().get(0).getDefaultMessage()));
 				
+		// 버전이 같으면 304(DB 조회 안함), ETag 헤더는 checkNotModified 에서 넣는다.
+		long version = catalogCache.version(Region.ITEM_IMG, dto.getItemNo());
+		if(webRequest.checkNotModified(CatalogCache.eTag(Region.ITEM_IMG, dto.getItemNo(), version))) return null;
+		
 		// ItemImgService 에서 이미지 리스트 요청
 		List<ItemImgVo> itemImgList = itemImgService.getListByItemNo(dto.getItemNo());
 		
@@ -105,11 +122,16 @@ public class ItemController {
 	@ApiOperation(value = "옵션 리스트", notes = "옵션 리스트 API")
 	public ResponseEntity<JSONResult> itemoptionList(
 			@ModelAttribute @Valid RequestOptionListDto dto,
-			BindingResult result
+			BindingResult result,
+			WebRequest webRequest
 			) {
 		// 유효성검사
 		if(result.hasErrors()) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail(result.getAllErrors().get(0).getDefaultMessage()));
 		
+		// 버전이 같으면 304(DB 조회 안함), ETag 헤더는 checkNotModified 에서 넣는다.
+		long version = catalogCache.version(Region.OPTION, dto.getItemNo());
+		if(webRequest.checkNotModified(CatalogCache.eTag(Region.OPTION, dto.getItemNo(), version))) return null;
+		
 		// OptionService 에서 옵션 리스트 요청
 		List<OptionVo> optionList = optionService.getListByItemNo(dto.toVo());
 		
@@ -138,6 +160,30 @@ public class ItemController {
 	}
 	
 	
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "categoryNo", value = "카테고리번호(-1 전체)", paramType = "path", required = true, defaultValue = ""),
+		@ApiImplicitParam(name = "cursor", value = "다음 페이지 커서(처음 페이지는 없음)", paramType = "query", required = false, defaultValue = ""),
+		@ApiImplicitParam(name = "kwd", value = "검색어", paramType = "query", required = false, defaultValue = "")
+	})
+	@RequestMapping(value = "/list/seek/{categoryNo}", method = RequestMethod.GET)
+	@ApiOperation(value = "사용자 상품 리스트(커서)", notes = "사용자 상품 리스트 커서 페이징 요청 API")
+	public ResponseEntity<JSONResult> itemlistSeek(
+			@PathVariable Long categoryNo,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "kwd", required = false) String kwd
+			) {
+
+		// Service에 사용자 상품리스트 요청
+		ItemsVo itemsVo = itemService.getListSeek(categoryNo, cursor, kwd);
+		
+		// 잘못된 커서
+		if(itemsVo == null) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("잘못된 커서입니다."));
+		
+		// JSON 리턴 생성
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(itemsVo));
+	}
+	
+	
 	@ApiImplicitParams({
 		@ApiImplicitParam(name = "no", value = "옵션번호", paramType = "path", required = true, defaultValue = ""),
 	})
@@ -0,0 +1,34 @@
+package com.cafe24.mhmall.controller.api;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cafe24.mhmall.monitor.DbLatencyMonitor;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+// Prometheus 가 가져가는 지표(OAuth2 토큰만 확인, bearer_token 으로 설정)
+@RestController("monitorAPIController")
+@RequestMapping("/api/monitor")
+@Api(value = "MonitorController", description = "모니터링 지표 컨트롤러")
+public class MonitorController {
+	private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+	@Autowired
+	DbLatencyMonitor dbLatencyMonitor;
+
+
+	@RequestMapping(value = "/prometheus", method = RequestMethod.GET)
+	@ApiOperation(value = "Prometheus 지표", notes = "DB 구문별 실행시간 요청 API(Prometheus text format)")
+	public ResponseEntity<String> prometheus() {
+
+		return ResponseEntity.status(HttpStatus.OK).contentType(PROMETHEUS_TEXT).body(dbLatencyMonitor.prometheus());
+	}
+
+}
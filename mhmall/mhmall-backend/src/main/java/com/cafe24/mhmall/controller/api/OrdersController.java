@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import javax.validation.Valid;
 
@@ -19,6 +20,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -38,6 +40,7 @@ import com.cafe24.mhmall.dto.RequestOrdersTrackingDto;
 import com.cafe24.mhmall.dto.RequestOrdersWriteDto;
 import com.cafe24.mhmall.dto.RequestOrdersWriteGuestDto;
 import com.cafe24.mhmall.dto.ResponseOrdersDto;
+import com.cafe24.mhmall.dto.ResponseOrdersIntakeDto;
 import com.cafe24.mhmall.dto.ResponseOrdersMemberDto;
 import com.cafe24.mhmall.dto.ResponseOrdersViewDto;
 import com.cafe24.mhmall.security.Auth;
@@ -50,6 +53,7 @@ import com.cafe24.mhmall.service.ItemImgService;
 import com.cafe24.mhmall.service.ItemService;
 import com.cafe24.mhmall.service.MemberService;
 import com.cafe24.mhmall.service.OptionService;
+import com.cafe24.mhmall.service.OrdersIntakeService;
 import com.cafe24.mhmall.service.OrdersItemService;
 import com.cafe24.mhmall.service.OrdersService;
 import com.cafe24.mhmall.vo.GuestVo;
@@ -58,6 +62,8 @@ import com.cafe24.mhmall.vo.ItemVo;
 import com.cafe24.mhmall.vo.MemberVo;
 import com.cafe24.mhmall.vo.OptionDetailVo;
 import com.cafe24.mhmall.vo.OptionVo;
+import com.cafe24.mhmall.vo.OrdersIntakePayloadVo;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
 import com.cafe24.mhmall.vo.OrdersItemVo;
 import com.cafe24.mhmall.vo.OrdersVo;
 
@@ -70,6 +76,8 @@ import io.swagger.annotations.ApiOperation;
 @RequestMapping("/api/orders")
 @Api(value = "OrdersController", description = "주문관리 컨트롤러")
 public class OrdersController {
+	// 주문 요청 키(Idempotency-Key 헤더)
+	private static final Pattern IDEMPOTENCY_KEY = Pattern.compile("^[A-Za-z0-9_-]{8,64}$");
 	
 	@Autowired
 	OptionService optionService;
@@ -86,6 +94,9 @@ public class OrdersController {
 	@Autowired
 	BasketService basketService;
 	
+	@Autowired
+	OrdersIntakeService ordersIntakeService;
+	
 	
 	@RequestMapping(value = "/hascnt", method = RequestMethod.POST)
 	@ApiOperation(value = "재고가 있는지 확인", notes = "재고가 있는지 확인 요청 API")
@@ -131,13 +142,17 @@ public class OrdersController {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("판매중이 아닌 상품이 존재합니다."));
 		
 		// 옵션의 재고가 있는지 확인(하나라도 없는 것이 있으면 취소, 모두 있으면 남은 재고량 줄이기)
-		if(!optionService.isExistAllCnt(guestDto.getOptionNos(), guestDto.getOptionCnts())) {
+		List<Long> shortOptionNos = optionService.reserveAllCnt(guestDto.getOptionNos(), guestDto.getOptionCnts());
+		if(shortOptionNos == null || !shortOptionNos.isEmpty()) {
 			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("재고가 부족한 상품이 존재합니다."));
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("재고가 부족한 상품이 존재합니다.", shortOptionNos));
 		}
 
+		// 주문상품 정보(상품명, 옵션명, 가격) 한번에 받기
+		List<OrdersItemVo> snapshotList = ordersItemService.getSnapshotList(guestDto.getOptionNos(), guestDto.getOptionCnts());
+		
 		// 금액계산
-		Long money = optionService.moneySum(guestDto.getOptionNos(), guestDto.getOptionCnts());
+		Long money = optionService.moneySum(snapshotList);
 		
 		// 주문 데이터 추가(회원번호:null, 상태:주문대기) => 주문번호 받기
 		String ordersNo = ordersService.guestOrdersAdd(money, null);
@@ -149,7 +164,7 @@ public class OrdersController {
 		guestService.add(ordersNo, guestDto.toVo());
 		
 		// 주문내역 일괄 추가 <= 주문번호
-		ordersItemService.add(ordersNo, guestDto.getOptionNos(), guestDto.getOptionCnts());
+		ordersItemService.add(ordersNo, snapshotList);
 		
 		// 주문내역 리스트 받기
 		List<OrdersItemVo> ordersItemList = ordersItemService.getListByOrdersNo(ordersNo);
@@ -208,14 +223,17 @@ public class OrdersController {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("판매중이 아닌 상품이 존재합니다."));
 		
 		// 옵션의 재고가 있는지 확인(하나라도 없는 것이 있으면 취소, 모두 있으면 남은 재고량 줄이기)
-		if(!optionService.isExistAllCnt(dto.getOptionNos(), dto.getOptionCnts())) {
-			//System.out.println("!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!");
+		List<Long> shortOptionNos = optionService.reserveAllCnt(dto.getOptionNos(), dto.getOptionCnts());
+		if(shortOptionNos == null || !shortOptionNos.isEmpty()) {
 			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("재고가 부족한 상품이 존재합니다."));
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("재고가 부족한 상품이 존재합니다.", shortOptionNos));
 		}
 
+		// 주문상품 정보(상품명, 옵션명, 가격) 한번에 받기
+		List<OrdersItemVo> snapshotList = ordersItemService.getSnapshotList(dto.getOptionNos(), dto.getOptionCnts());
+		
 		// 금액계산
-		Long money = optionService.moneySum(dto.getOptionNos(), dto.getOptionCnts());
+		Long money = optionService.moneySum(snapshotList);
 		
 		// 회원 주문 데이터 추가(상태:주문대기) => 주문번호 받기
 		String ordersNo = ordersService.guestOrdersAdd(money, authMember.getId());
@@ -224,7 +242,7 @@ public class OrdersController {
 		basketService.deleteAllByOptionNoM(dto.getOptionNos(), authMember.getId());
 		
 		// 주문내역 일괄 추가 <= 주문번호
-		ordersItemService.add(ordersNo, dto.getOptionNos(), dto.getOptionCnts());
+		ordersItemService.add(ordersNo, snapshotList);
 		
 		// 주문내역 리스트 받기
 		List<OrdersItemVo> ordersItemList = ordersItemService.getListByOrdersNo(ordersNo);
@@ -268,6 +286,159 @@ public class OrdersController {
 	
 	
 
+	// 주문 접수(비동기)
+	// 재고 확인과 감소까지만 요청 쓰레드에서 하고, 나머지 주문 쓰기는 주문 접수 큐에서 처리한다.
+	// 같은 Idempotency-Key 로 다시 보내면 새로 주문하지 않고 처음 접수한 주문을 돌려준다.(키는 요청한 사람마다 따로, 내용이 다르면 422)
+	@Transactional(rollbackFor=Exception.class)
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "Idempotency-Key", value = "주문 요청 키(영문, 숫자, -, _ 8~64자)", paramType = "header", required = true, defaultValue = "")
+	})
+	@RequestMapping(value = "/guest/intake", method = RequestMethod.POST)
+	@ApiOperation(value = "비회원 주문 접수", notes = "비회원 주문 접수 요청 API(처리 결과는 POST /api/orders/guest/intake/{key}/view)")
+	public ResponseEntity<JSONResult> guestOrdersIntake(
+			@RequestHeader(value = "Idempotency-Key") String idempotencyKey,
+			@RequestBody @Valid RequestGuestOrdersStartDto guestDto,
+			BindingResult result
+			) {
+		// 유효성검사
+		if(result.hasErrors())
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail(result.getAllErrors().get(0).getDefaultMessage()));
+
+		// 비회원 주문 쓰기 정보
+		OrdersIntakePayloadVo payload = new OrdersIntakePayloadVo();
+		payload.setGuestName(guestDto.getGuestName());
+		payload.setGuestPhone(guestDto.getGuestPhone());
+		payload.setGuestPassword(guestDto.getGuestPassword());
+		payload.setGuestSession(guestDto.getGuestSession());
+
+		String scope = ordersIntakeService.scope(null, guestDto.getGuestName(), guestDto.getGuestPhone());
+		return ordersIntake(idempotencyKey, scope, null, guestDto.getOptionNos(), guestDto.getOptionCnts(), payload);
+	}
+
+
+	@Transactional(rollbackFor=Exception.class)
+	@Auth
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = ""),
+		@ApiImplicitParam(name = "Idempotency-Key", value = "주문 요청 키(영문, 숫자, -, _ 8~64자)", paramType = "header", required = true, defaultValue = "")
+	})
+	@RequestMapping(value = "/member/intake", method = RequestMethod.POST)
+	@ApiOperation(value = "회원 주문 접수", notes = "회원 주문 접수 요청 API(처리 결과는 GET /api/orders/member/intake/{key})")
+	public ResponseEntity<JSONResult> memberOrdersIntake(
+			@RequestHeader(value = "Idempotency-Key") String idempotencyKey,
+			@RequestBody ResponseOrdersMemberDto dto,
+			@AuthUser MemberVo authMember
+			) {
+		String scope = ordersIntakeService.scope(authMember.getId(), null, null);
+		return ordersIntake(idempotencyKey, scope, authMember.getId(), dto.getOptionNos(), dto.getOptionCnts(), new OrdersIntakePayloadVo());
+	}
+
+
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "key", value = "주문 요청 키", paramType = "path", required = true, defaultValue = ""),
+		@ApiImplicitParam(name = "guestName", value = "비회원이름", paramType = "query", required = true, defaultValue = ""),
+		@ApiImplicitParam(name = "guestPhone", value = "비회원전화번호", paramType = "query", required = true, defaultValue = ""),
+		@ApiImplicitParam(name = "guestPassword", value = "비회원비밀번호", paramType = "query", required = true, defaultValue = "")
+	})
+	@RequestMapping(value = "/guest/intake/{key}/view", method = RequestMethod.POST)
+	@ApiOperation(value = "비회원 주문 접수 결과", notes = "비회원 주문 접수 처리 결과 요청 API")
+	public ResponseEntity<JSONResult> guestOrdersIntakeView(
+			@PathVariable(value = "key") String idempotencyKey,
+			@RequestBody @Valid RequestGuestOrdersDto dto,
+			BindingResult result
+			) {
+		// 유효성검사
+		if(result.hasErrors()) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail(result.getAllErrors().get(0).getDefaultMessage()));
+
+		// 주문한 비회원 정보와 비밀번호가 맞는 접수
+		String scope = ordersIntakeService.scope(null, dto.getGuestName(), dto.getGuestPhone());
+		return ordersIntakeView(ordersIntakeService.getByKey(scope, idempotencyKey, dto.getGuestPassword()));
+	}
+
+
+	@Auth
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "authorization", value = "인증키", paramType = "header", required = false, defaultValue = ""),
+		@ApiImplicitParam(name = "key", value = "주문 요청 키", paramType = "path", required = true, defaultValue = "")
+	})
+	@RequestMapping(value = "/member/intake/{key}", method = RequestMethod.GET)
+	@ApiOperation(value = "회원 주문 접수 결과", notes = "회원 주문 접수 처리 결과 요청 API")
+	public ResponseEntity<JSONResult> memberOrdersIntakeView(
+			@PathVariable(value = "key") String idempotencyKey,
+			@AuthUser MemberVo authMember
+			) {
+		return ordersIntakeView(ordersIntakeService.getByKey(ordersIntakeService.scope(authMember.getId(), null, null), idempotencyKey, null));
+	}
+
+
+	// 주문 접수(비회원 memberId:null)
+	private ResponseEntity<JSONResult> ordersIntake(String idempotencyKey, String scope, String memberId, Long[] optionNos, Integer[] optionCnts, OrdersIntakePayloadVo payload) {
+		// 요청 키 확인
+		if(idempotencyKey == null || !IDEMPOTENCY_KEY.matcher(idempotencyKey).matches())
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("잘못된 주문 요청 키입니다."));
+
+		// 이미 접수된 요청
+		String requestHash = ordersIntakeService.requestHash(optionNos, optionCnts, payload);
+		OrdersIntakeVo intakeVo = ordersIntakeService.getByKey(scope, idempotencyKey, null);
+		if(intakeVo != null) return ordersIntakeReplay(intakeVo, requestHash);
+
+		// 접수 큐가 가득 참
+		if(ordersIntakeService.isFull())
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(JSONResult.fail("주문이 많아 잠시 후 다시 시도해주세요."));
+
+		// 존재하는 옵션들인지 확인
+		if(optionNos == null || optionCnts == null || optionNos.length != optionCnts.length || !optionService.isExistAllOption(optionNos))
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("존재하지 않는 상품이 존재합니다."));
+
+		// 판매중인 상품들인지 확인
+		if(!optionService.isOnSaleAll(optionNos))
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("판매중이 아닌 상품이 존재합니다."));
+
+		// 주문상품 정보(상품명, 옵션명, 가격) 한번에 받기, 금액계산
+		List<OrdersItemVo> snapshotList = ordersItemService.getSnapshotList(optionNos, optionCnts);
+		payload.setMoney(optionService.moneySum(snapshotList));
+		payload.setOptionNos(optionNos);
+		payload.setOrdersItemList(snapshotList);
+
+		// 접수 기록(같은 키로 동시에 들어온 요청이 먼저 접수했으면 그 주문)
+		String ordersNo = ordersIntakeService.accept(scope, idempotencyKey, requestHash, memberId, payload);
+		if(ordersNo == null) return ordersIntakeReplay(ordersIntakeService.getAccepted(scope, idempotencyKey), requestHash);
+
+		// 옵션의 재고가 있는지 확인(하나라도 없는 것이 있으면 접수까지 취소, 모두 있으면 남은 재고량 줄이기)
+		List<Long> shortOptionNos = optionService.reserveAllCnt(optionNos, optionCnts);
+		if(shortOptionNos == null || !shortOptionNos.isEmpty()) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(JSONResult.fail("재고가 부족한 상품이 존재합니다.", shortOptionNos));
+		}
+
+		// 접수 상태, 주문번호 리턴
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(JSONResult.success(new ResponseOrdersIntakeDto("접수", ordersNo, null, null)));
+	}
+
+
+	// 같은 키로 이미 접수된 요청(요청 내용이 다르면 422)
+	private ResponseEntity<JSONResult> ordersIntakeReplay(OrdersIntakeVo intakeVo, String requestHash) {
+		if(intakeVo != null && !requestHash.equals(intakeVo.getRequestHash()))
+			return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(JSONResult.fail("같은 주문 요청 키로 다른 주문을 요청했습니다."));
+		return ordersIntakeView(intakeVo);
+	}
+
+
+	// 접수 상태(처리가 끝났으면 주문내역까지)
+	private ResponseEntity<JSONResult> ordersIntakeView(OrdersIntakeVo intakeVo) {
+		// 없는 키(요청한 사람의 접수만 찾는다)
+		if(intakeVo == null)
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(JSONResult.fail("존재하지 않는 주문 접수입니다."));
+
+		if("접수".equals(intakeVo.getStatus()))
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(JSONResult.success(new ResponseOrdersIntakeDto(intakeVo.getStatus(), intakeVo.getOrdersNo(), null, null)));
+
+		List<OrdersItemVo> ordersItemList = "완료".equals(intakeVo.getStatus()) ? ordersItemService.getListByOrdersNo(intakeVo.getOrdersNo()) : null;
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(new ResponseOrdersIntakeDto(intakeVo.getStatus(), intakeVo.getOrdersNo(), intakeVo.getError(), ordersItemList)));
+	}
+
+
+
 	@ApiImplicitParams({
 		@ApiImplicitParam(name = "ordersNo", value = "주문번호", paramType = "query", required = true, defaultValue = ""),
 		@ApiImplicitParam(name = "guestPassword", value = "비회원비밀번호", paramType = "query", required = true, defaultValue = "")
@@ -309,16 +480,10 @@ public class OrdersController {
 		// 회원 주문 리스트
 		List<OrdersVo> ordersList = ordersService.getListByMemberId(authMember.getId());
 		
-		List<OrdersVo> ordersListTmp = new ArrayList<OrdersVo>();
-
-		// 비회원 주문상품 리스트
-		for(OrdersVo ordersVo : ordersList) {
-			List<OrdersItemVo> ordersItemList = ordersItemService.getListByOrdersNo(ordersVo.getOrdersNo());
-			ordersVo.setOrdersItemList(ordersItemList);
-			ordersListTmp.add(ordersVo);
-		}
+		// 주문상품 리스트(한번에 조회)
+		ordersItemService.fillOrdersItemList(ordersList);
 		
-		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(ordersListTmp));
+		return ResponseEntity.status(HttpStatus.OK).body(JSONResult.success(ordersList));
 	}
 	
 	
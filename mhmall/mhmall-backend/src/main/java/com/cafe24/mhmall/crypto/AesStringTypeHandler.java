@@ -0,0 +1,48 @@
+package com.cafe24.mhmall.crypto;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+import org.apache.ibatis.type.TypeHandler;
+
+// 암호화 컬럼 TypeHandler(mybatis/configuration.xml 별칭 aes)
+// 파라미터 : #{memberId, typeHandler=aes}
+// 결과 : resultMap 의 <result property="memberId" column="memberId" typeHandler="aes"/>
+@MappedTypes(String.class)
+@MappedJdbcTypes(JdbcType.VARBINARY)
+public class AesStringTypeHandler implements TypeHandler<String> {
+
+	@Override
+	public void setParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+		if(parameter == null) {
+			ps.setNull(i, Types.VARBINARY);
+			return;
+		}
+		ps.setBytes(i, FieldCrypto.encrypt(parameter));
+	}
+
+
+	@Override
+	public String getResult(ResultSet rs, String columnName) throws SQLException {
+		return FieldCrypto.decrypt(rs.getBytes(columnName));
+	}
+
+
+	@Override
+	public String getResult(ResultSet rs, int columnIndex) throws SQLException {
+		return FieldCrypto.decrypt(rs.getBytes(columnIndex));
+	}
+
+
+	@Override
+	public String getResult(CallableStatement cs, int columnIndex) throws SQLException {
+		return FieldCrypto.decrypt(cs.getBytes(columnIndex));
+	}
+
+}
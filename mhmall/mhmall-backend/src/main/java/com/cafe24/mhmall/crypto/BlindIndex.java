@@ -0,0 +1,59 @@
+package com.cafe24.mhmall.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// 암호화 컬럼의 같은값 검색용 인덱스(HMAC-SHA256 앞 16바이트, BINARY(16) 컬럼)
+// 암호문 대신 이 값으로 where 비교를 하므로 암호화 키 버전이 바뀌어도 인덱스 값은 그대로다.
+// 인덱스 키(mhmall.crypto.index-key)를 바꾸면 모든 인덱스 컬럼을 다시 만들어야 한다.
+public final class BlindIndex {
+	private static final String ALGORITHM = "HmacSHA256";
+	public static final int LENGTH = 16;
+
+	private static volatile SecretKeySpec key = new SecretKeySpec("mhshop_index_key".getBytes(StandardCharsets.UTF_8), ALGORITHM);
+
+	// 스레드별 Mac(키가 바뀌면 다시 만든다)
+	private static final ThreadLocal<Macs> MACS = ThreadLocal.withInitial(Macs::new);
+
+
+	private BlindIndex() {
+	}
+
+
+	public static void configure(String indexKey) {
+		if(indexKey == null || indexKey.isEmpty()) throw new IllegalArgumentException("인덱스 키가 없습니다.");
+		key = new SecretKeySpec(indexKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+	}
+
+
+	// 인덱스 값(null 은 null)
+	public static byte[] hash(String plain) {
+		if(plain == null) return null;
+		try {
+			Mac mac = MACS.get().get(key);
+			return Arrays.copyOf(mac.doFinal(plain.getBytes(StandardCharsets.UTF_8)), LENGTH);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("인덱스 키 설정 실패", e);
+		}
+	}
+
+
+	private static class Macs {
+		private SecretKeySpec key;
+		private Mac mac;
+
+		private Mac get(SecretKeySpec key) throws GeneralSecurityException {
+			if(this.key != key) {
+				mac = Mac.getInstance(ALGORITHM);
+				mac.init(key);
+				this.key = key;
+			}
+			return mac;
+		}
+	}
+
+}
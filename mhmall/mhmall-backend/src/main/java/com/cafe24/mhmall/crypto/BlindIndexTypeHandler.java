@@ -0,0 +1,39 @@
+package com.cafe24.mhmall.crypto;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+// 검색 인덱스 컬럼 TypeHandler(mybatis/configuration.xml 별칭 bidx)
+// 파라미터 전용 : #{memberId, typeHandler=bidx} -> BlindIndex.hash(memberId)
+// 인덱스 값은 되돌릴 수 없으므로 결과 매핑에 쓰면 null 이다.(resultMap 에 쓰지 않는다)
+public class BlindIndexTypeHandler extends BaseTypeHandler<String> {
+
+	@Override
+	public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+		ps.setBytes(i, BlindIndex.hash(parameter));
+	}
+
+
+	@Override
+	public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+		return null;
+	}
+
+
+	@Override
+	public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+		return null;
+	}
+
+
+	@Override
+	public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+		return null;
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.cafe24.mhmall.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+// 개인정보 컬럼 암호화(앱 서버에서 암호화/복호화, DB 는 바이트만 저장하고 비교)
+// MySQL AES_ENCRYPT(str, key) 와 같은 방식(AES-128-ECB, 키를 16바이트로 XOR 접기, PKCS5 패딩)이라
+// 예전에 DB 에서 암호화한 값과 같은 바이트가 나오고, 같은 평문은 같은 암호문이므로 where 비교와 인덱스를 그대로 쓴다.
+// - 버전 0 : MySQL AES_ENCRYPT 로 저장된 예전 값(길이가 16의 배수)
+// - 버전 1~255 : [버전 1바이트][AES_ENCRYPT 와 같은 암호문](길이가 16의 배수 + 1)
+// 키링은 FieldCryptoConfig 가 설정하고(MyBatis 가 만드는 TypeHandler 에서 쓰므로 static), 설정 전에는 버전 0 기본키를 쓴다.
+public final class FieldCrypto {
+	private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
+	private static final int BLOCK = 16;
+
+	private static volatile Keyring keyring = new Keyring(Collections.singletonMap(0, "mhshop_key"), 0);
+
+	// 스레드별 Cipher(버전별 암호화/복호화, 키를 한번만 설정)
+	private static final ThreadLocal<Ciphers> CIPHERS = ThreadLocal.withInitial(Ciphers::new);
+
+
+	private FieldCrypto() {
+	}
+
+
+	// 키링 설정(keys : 버전 -> 키 문자열)
+	public static void configure(Map<Integer, String> keys, int currentVersion) {
+		keyring = new Keyring(keys, currentVersion);
+	}
+
+
+	public static int getCurrentVersion() {
+		return keyring.currentVersion;
+	}
+
+
+	// 현재 버전으로 암호화(null 은 null)
+	public static byte[] encrypt(String plain) {
+		if(plain == null) return null;
+		Keyring keyring = FieldCrypto.keyring;
+		return encrypt(plain, keyring.currentVersion, keyring);
+	}
+
+
+	// 버전 확인 후 복호화(null 은 null)
+	public static String decrypt(byte[] data) {
+		if(data == null) return null;
+		Keyring keyring = FieldCrypto.keyring;
+		int version = version(data);
+		try {
+			Cipher cipher = CIPHERS.get().get(Cipher.DECRYPT_MODE, version, keyring);
+			int offset = version == 0 ? 0 : 1;
+			return new String(cipher.doFinal(data, offset, data.length - offset), StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("복호화 실패(버전 " + version + ")", e);
+		}
+	}
+
+
+	// 저장된 값의 키 버전
+	public static int version(byte[] data) {
+		if(data.length % BLOCK == 1) return data[0] & 0xff;
+		return 0;
+	}
+
+
+	// 현재 버전이 아니면 다시 암호화(이미 현재 버전이면 null)
+	public static byte[] reencrypt(byte[] data) {
+		if(data == null) return null;
+		Keyring keyring = FieldCrypto.keyring;
+		if(version(data) == keyring.currentVersion) return null;
+		return encrypt(decrypt(data), keyring.currentVersion, keyring);
+	}
+
+
+	private static byte[] encrypt(String plain, int version, Keyring keyring) {
+		try {
+			Cipher cipher = CIPHERS.get().get(Cipher.ENCRYPT_MODE, version, keyring);
+			byte[] encrypted = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+			if(version == 0) return encrypted;
+
+			byte[] data = new byte[encrypted.length + 1];
+			data[0] = (byte)version;
+			System.arraycopy(encrypted, 0, data, 1, encrypted.length);
+			return data;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("암호화 실패(버전 " + version + ")", e);
+		}
+	}
+
+
+	// MySQL AES_ENCRYPT 의 키 : 키 바이트를 16바이트에 XOR 로 접는다.
+	static SecretKeySpec mysqlKey(String key) {
+		byte[] folded = new byte[BLOCK];
+		byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+		for(int i=0;i<bytes.length;i++) folded[i % BLOCK] ^= bytes[i];
+		return new SecretKeySpec(folded, "AES");
+	}
+
+
+	// 한 스레드의 Cipher(키링이 바뀌면 다시 만든다)
+	private static class Ciphers {
+		private Keyring keyring;
+		private final Cipher[] encryptors = new Cipher[256];
+		private final Cipher[] decryptors = new Cipher[256];
+
+		private Cipher get(int mode, int version, Keyring keyring) throws GeneralSecurityException {
+			if(this.keyring != keyring) {
+				Arrays.fill(encryptors, null);
+				Arrays.fill(decryptors, null);
+				this.keyring = keyring;
+			}
+
+			Cipher[] ciphers = mode == Cipher.ENCRYPT_MODE ? encryptors : decryptors;
+			Cipher cipher = ciphers[version];
+			if(cipher == null) {
+				cipher = Cipher.getInstance(TRANSFORMATION);
+				cipher.init(mode, keyring.key(version));
+				ciphers[version] = cipher;
+			}
+			return cipher;
+		}
+	}
+
+
+	private static class Keyring {
+		private final SecretKeySpec[] keys = new SecretKeySpec[256];
+		private final int currentVersion;
+
+		private Keyring(Map<Integer, String> keys, int currentVersion) {
+			for(Map.Entry<Integer, String> entry : new TreeMap<Integer, String>(keys).entrySet()) {
+				int version = entry.getKey();
+				if(version < 0 || version > 255) throw new IllegalArgumentException("키 버전은 0~255 : " + version);
+				this.keys[version] = mysqlKey(entry.getValue());
+			}
+			if(currentVersion < 0 || currentVersion > 255 || this.keys[currentVersion] == null) {
+				throw new IllegalArgumentException("현재 키 버전의 키가 없습니다 : " + currentVersion);
+			}
+			this.currentVersion = currentVersion;
+		}
+
+		private SecretKeySpec key(int version) {
+			SecretKeySpec key = keys[version];
+			if(key == null) throw new IllegalStateException("키 버전 " + version + " 의 키가 없습니다.");
+			return key;
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.cafe24.mhmall.crypto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 암호화 키링 설정(application.yml mhmall.crypto)
+// keys : "버전:키" 를 쉼표로 구분, current-version : 새로 저장하는 값의 키 버전, index-key : 검색 인덱스(BlindIndex) 키
+// 키를 바꿀 때는 새 버전을 추가하고 current-version 을 올린 뒤 /api/admin/system/crypto/migrate 로 예전 값을 다시 암호화한다.
+@Component
+public class FieldCryptoConfig {
+
+	@Value("${mhmall.crypto.keys:0:mhshop_key}")
+	private String keys;
+
+	@Value("${mhmall.crypto.current-version:0}")
+	private int currentVersion;
+
+	@Value("${mhmall.crypto.index-key:mhshop_index_key}")
+	private String indexKey;
+
+
+	@PostConstruct
+	public void init() {
+		FieldCrypto.configure(parse(keys), currentVersion);
+		BlindIndex.configure(indexKey);
+	}
+
+
+	static Map<Integer, String> parse(String keys) {
+		Map<Integer, String> map = new HashMap<Integer, String>();
+		for(String entry : keys.split(",")) {
+			entry = entry.trim();
+			if(entry.isEmpty()) continue;
+
+			int colon = entry.indexOf(':');
+			if(colon <= 0) throw new IllegalArgumentException("mhmall.crypto.keys 형식은 버전:키 : " + entry);
+			map.put(Integer.parseInt(entry.substring(0, colon).trim()), entry.substring(colon + 1));
+		}
+		return map;
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.cafe24.mhmall.crypto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.cafe24.mhmall.repository.CryptoMigrationDao;
+
+// 암호화 컬럼을 현재 키 버전으로 다시 암호화하고, 비어있는 검색 인덱스 컬럼을 채운다.(/api/admin/system/crypto/migrate)
+// 대상 행만 BATCH_SIZE 개씩 읽어서 앱 서버에서 복호화 -> 암호화(인덱스 계산)하고 행 단위로 바꾼다.
+// 바뀐 행은 다음 조회에 나오지 않으므로 중간에 멈춰도 다시 실행하면 이어서 한다.
+// 회원 장바구니/주문, 비회원 주문 검색은 인덱스 컬럼으로만 하므로 비어있는 인덱스는 서버 시작 때(요청을 받기 전) backfill() 로 채운다.
+// (backfill-on-start 를 끄면 배포할 때 /api/admin/system/crypto/migrate 를 꼭 실행해야 한다)
+// 회원 아이디(member.id)는 회원을 가리키는 값이므로 다시 암호화하지 않는다.(어느 키 버전이든 복호화되고, 검색은 id_bidx)
+@Component
+@DependsOn("fieldCryptoConfig")
+public class FieldCryptoMigration {
+	private static final int BATCH_SIZE = 500;
+
+	// 테이블, 기본키, 암호화 컬럼, 검색 인덱스(암호화 컬럼 -> 인덱스 컬럼)
+	private static final Target[] TARGETS = {
+		new Target("member", "id", indexes("id", "id_bidx", "name", "name_bidx"), "name", "phone", "email", "zipcode", "addr"),
+		new Target("orders", "orders_no", Collections.singletonMap("member_id", "member_id_bidx"), "to_name", "to_phone", "to_zipcode", "to_addr", "member_id"),
+		new Target("guest", "orders_no", indexes("guest_name", "guest_name_bidx", "guest_phone", "guest_phone_bidx"), "guest_name", "guest_phone"),
+		new Target("basket", "no", Collections.singletonMap("member_id", "member_id_bidx"), "member_id")
+	};
+
+	@Autowired
+	CryptoMigrationDao cryptoMigrationDao;
+
+	@Value("${mhmall.crypto.backfill-on-start:true}")
+	boolean backfillOnStart;
+
+
+	// 컨텍스트 초기화가 끝나면(내장 서버가 요청을 받기 전) 비어있는 검색 인덱스 채우기
+	@EventListener(ContextRefreshedEvent.class)
+	public void onRefreshed() {
+		if(backfillOnStart) backfill();
+	}
+
+
+	// 테이블별 인덱스를 채운 행 수
+	public synchronized Map<String, Object> backfill() {
+		long startTime = System.currentTimeMillis();
+
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		for(Target target : TARGETS) {
+			if(target.indexes.isEmpty()) continue;
+			result.put(target.table, run(map(target, FieldCrypto.getCurrentVersion()), cryptoMigrationDao::selectMissingIndex, row -> index(target, row)));
+		}
+		result.put("durationMs", System.currentTimeMillis() - startTime);
+		return result;
+	}
+
+
+	// 테이블별 다시 암호화한 행 수, 인덱스를 채운 행 수
+	public synchronized Map<String, Object> migrate() {
+		long startTime = System.currentTimeMillis();
+		int version = FieldCrypto.getCurrentVersion();
+
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("version", version);
+		for(Target target : TARGETS) {
+			Map<String, Object> map = map(target, version);
+
+			Map<String, Object> counts = new LinkedHashMap<String, Object>();
+			counts.put("reencrypted", run(map, cryptoMigrationDao::selectStale, row -> reencrypt(target, row)));
+			if(!target.indexes.isEmpty()) counts.put("indexed", run(map, cryptoMigrationDao::selectMissingIndex, row -> index(target, row)));
+			result.put(target.table, counts);
+		}
+		result.put("durationMs", System.currentTimeMillis() - startTime);
+		return result;
+	}
+
+
+	private Map<String, Object> map(Target target, int version) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("table", target.table);
+		map.put("pk", target.pk);
+		map.put("columns", target.columns);
+		map.put("indexes", target.indexes);
+		map.put("version", version);
+		map.put("batchSize", BATCH_SIZE);
+		return map;
+	}
+
+
+	// 대상 행이 없을 때까지 읽고 바꾸기
+	private int run(Map<String, Object> map, Function<Map<String, Object>, List<Map<String, Object>>> select, Function<Map<String, Object>, Integer> update) {
+		int count = 0;
+		while(true) {
+			List<Map<String, Object>> rows = select.apply(map);
+			if(rows.isEmpty()) break;
+
+			int updated = 0;
+			for(Map<String, Object> row : rows) updated += update.apply(row);
+			count += updated;
+
+			// 하나도 못 바꿨으면(다른 곳에서 계속 바뀌는 중) 다음 실행에 맡긴다.
+			if(updated == 0 || rows.size() < BATCH_SIZE) break;
+		}
+		return count;
+	}
+
+
+	// 현재 키 버전으로 다시 암호화
+	private int reencrypt(Target target, Map<String, Object> row) {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		Map<String, Object> olds = new LinkedHashMap<String, Object>();
+		for(String column : target.columns) {
+			byte[] old = (byte[])row.get(column);
+			olds.put(column, old);
+
+			byte[] value = FieldCrypto.reencrypt(old);
+			if(value != null) values.put(column, value);
+		}
+		return update(target, row, values, olds);
+	}
+
+
+	// 복호화한 값으로 검색 인덱스 채우기
+	private int index(Target target, Map<String, Object> row) {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		Map<String, Object> olds = new LinkedHashMap<String, Object>();
+		for(Map.Entry<String, String> entry : target.indexes.entrySet()) {
+			byte[] old = (byte[])row.get(entry.getKey());
+			olds.put(entry.getKey(), old);
+			values.put(entry.getValue(), BlindIndex.hash(FieldCrypto.decrypt(old)));
+		}
+		return update(target, row, values, olds);
+	}
+
+
+	private int update(Target target, Map<String, Object> row, Map<String, Object> values, Map<String, Object> olds) {
+		if(values.isEmpty()) return 0;
+
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("table", target.table);
+		map.put("pk", target.pk);
+		map.put("pkValue", row.get("pk"));
+		map.put("values", values);
+		map.put("olds", olds);
+		return cryptoMigrationDao.updateRow(map);
+	}
+
+
+	private static Map<String, String> indexes(String... columns) {
+		Map<String, String> indexes = new LinkedHashMap<String, String>();
+		for(int i=0;i<columns.length;i+=2) indexes.put(columns[i], columns[i + 1]);
+		return indexes;
+	}
+
+
+	private static class Target {
+		private final String table;
+		private final String pk;
+		private final Map<String, String> indexes;
+		private final List<String> columns;
+
+		private Target(String table, String pk, Map<String, String> indexes, String... columns) {
+			this.table = table;
+			this.pk = pk;
+			this.indexes = indexes;
+			this.columns = Arrays.asList(columns);
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.cafe24.mhmall.dto;
+
+import java.util.List;
+
+import com.cafe24.mhmall.vo.OrdersItemVo;
+
+public class ResponseOrdersIntakeDto {
+	private String status;
+	private String ordersNo;
+	private String error;
+	private List<OrdersItemVo> ordersItemList;
+
+	public ResponseOrdersIntakeDto() {}
+	public ResponseOrdersIntakeDto(String status, String ordersNo, String error, List<OrdersItemVo> ordersItemList) {
+		this.status = status;
+		this.ordersNo = ordersNo;
+		this.error = error;
+		this.ordersItemList = ordersItemList;
+	}
+	public String getStatus() {
+		return status;
+	}
+	public void setStatus(String status) {
+		this.status = status;
+	}
+	public String getOrdersNo() {
+		return ordersNo;
+	}
+	public void setOrdersNo(String ordersNo) {
+		this.ordersNo = ordersNo;
+	}
+	public String getError() {
+		return error;
+	}
+	public void setError(String error) {
+		this.error = error;
+	}
+	public List<OrdersItemVo> getOrdersItemList() {
+		return ordersItemList;
+	}
+	public void setOrdersItemList(List<OrdersItemVo> ordersItemList) {
+		this.ordersItemList = ordersItemList;
+	}
+
+}
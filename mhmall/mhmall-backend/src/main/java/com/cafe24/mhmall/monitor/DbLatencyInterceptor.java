@@ -0,0 +1,154 @@
+package com.cafe24.mhmall.monitor;
+
+import java.util.Collection;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.SpanReporter;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.stereotype.Component;
+
+// MyBatis 구문 실행시간 기록(mybatis-spring-boot 가 Interceptor 빈을 플러그인으로 등록)
+// 모든 호출의 실행시간과 행 수는 DbLatencyMonitor 에 기록만 하고(구문 실행시간은 여기서만 잰다.)
+// slow-ms 이상 걸린 호출은 SQL 과 가린 파라미터를 같이 남긴다.
+// Zipkin span 은
+// - 샘플링된 요청에서 span-threshold-ms 이상 걸린 호출
+// - 샘플링되지 않았어도 slow-ms 이상 걸린 호출
+// 만 끝난 뒤에 만들어서 보낸다.(호출마다 span 을 만들고 닫지 않음)
+@Component
+@Intercepts({
+	@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class DbLatencyInterceptor implements Interceptor {
+
+	@Autowired
+	DbLatencyMonitor dbLatencyMonitor;
+
+	@Autowired
+	Tracer tracer;
+
+	@Autowired
+	SpanReporter spanReporter;
+
+	@Value("${mhmall.monitor.db.span-threshold-ms:10}")
+	long spanThresholdMs;
+
+	@Value("${mhmall.monitor.db.slow-ms:300}")
+	long slowMs;
+
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		long startTime = System.nanoTime();
+		Object result = null;
+		boolean error = true;
+		try {
+			result = invocation.proceed();
+			error = false;
+			return result;
+		} finally {
+			long nanos = System.nanoTime() - startTime;
+			MappedStatement mappedStatement = (MappedStatement)invocation.getArgs()[0];
+			dbLatencyMonitor.record(mappedStatement.getId(), nanos, rows(result));
+
+			long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+			boolean slow = ms >= slowMs;
+			Span current = null;
+			boolean span = false;
+			if(ms >= spanThresholdMs) {
+				current = tracer.getCurrentSpan();
+				span = slow || (current != null && current.isExportable());
+			}
+
+			if(slow || span) {
+				try {
+					BoundSql boundSql = boundSql(invocation);
+					if(slow) recordSlow(mappedStatement, boundSql, nanos);
+					if(span) report(current, mappedStatement, boundSql, ms, error);
+				} catch (RuntimeException e) {
+					// 기록하지 못해도 DB 호출 결과에는 영향 없음
+				}
+			}
+		}
+	}
+
+
+	// 읽은 행 수(select), 바뀐 행 수(insert, update, delete)
+	private long rows(Object result) {
+		if(result instanceof Collection) return ((Collection<?>)result).size();
+		if(result instanceof Number) return ((Number)result).longValue();
+		return 0;
+	}
+
+
+	// 바인딩된 SQL(6개 인자 query 는 받은 것, 나머지는 다시 만든다)
+	private BoundSql boundSql(Invocation invocation) {
+		Object[] args = invocation.getArgs();
+		if(args.length == 6) return (BoundSql)args[5];
+		return ((MappedStatement)args[0]).getBoundSql(args[1]);
+	}
+
+
+	// 느린 호출의 SQL, 파라미터(개인정보, 비밀번호는 가림)
+	private void recordSlow(MappedStatement mappedStatement, BoundSql boundSql, long nanos) {
+		dbLatencyMonitor.recordSlow(mappedStatement.getId(), nanos, boundSql.getSql().replaceAll("\\s+", " ").trim(),
+				StatementProfilerPlugin.params(mappedStatement.getConfiguration(), boundSql));
+	}
+
+
+	// 끝난 구문의 span(현재 요청 span 아래에 붙인다)
+	private void report(Span parent, MappedStatement mappedStatement, BoundSql boundSql, long ms, boolean error) {
+		try {
+			long endTime = System.currentTimeMillis();
+			long spanId = ThreadLocalRandom.current().nextLong();
+
+			Span.SpanBuilder builder = Span.builder()
+					.name("db:" + mappedStatement.getId())
+					.begin(endTime - ms)
+					.end(endTime)
+					.spanId(spanId)
+					.exportable(true)
+					.tag("mybatis.statement", mappedStatement.getId())
+					.tag("sql", boundSql.getSql());
+			if(error) builder.tag(Span.SPAN_ERROR_TAG_NAME, "true");
+
+			if(parent != null) {
+				builder.traceIdHigh(parent.getTraceIdHigh()).traceId(parent.getTraceId()).parent(parent.getSpanId());
+			}else {
+				builder.traceId(spanId);
+			}
+			spanReporter.report(builder.build());
+		} catch (RuntimeException e) {
+			// span 을 보내지 못해도 DB 호출 결과에는 영향 없음
+		}
+	}
+
+
+	@Override
+	public Object plugin(Object target) {
+		return Plugin.wrap(target, this);
+	}
+
+
+	@Override
+	public void setProperties(Properties properties) {
+	}
+
+}
@@ -0,0 +1,191 @@
+package com.cafe24.mhmall.monitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+// MyBatis 구문 id 별 통계(구문 하나당 한곳에 모은다)
+// - 호출수, 응답시간, 읽은(바뀐) 행 수 : DbLatencyInterceptor 가 호출마다 한번 기록
+// - 파라미터 값 종류 수(MAX_DISTINCT 까지) : StatementProfilerPlugin 이 기록, 호출수는 많은데 종류가 많으면 반복문 안에서 부르는 N+1 패턴
+//   구문마다 처음 PARAM_FULL_CALLS 번은 모두, 그 뒤로는 PARAM_SAMPLE 번에 한번만 기록하고 MAX_DISTINCT 에 차면 기록하지 않는다.(종류 수는 대략적인 값)
+// - slow-ms 이상 걸린 호출의 SQL, 파라미터(구문별 최근 SLOW_SAMPLES 개, 개인정보/비밀번호는 가림)
+// 구문 id 는 매퍼 XML 에 있는 것만 들어오므로 개수가 정해져 있다.
+@Component
+public class DbLatencyMonitor {
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+	private static final int MAX_DISTINCT = 1024;
+	private static final long PARAM_FULL_CALLS = 1000;	// 파라미터 값을 모두 기록할 호출수
+	private static final int PARAM_SAMPLE = 16;			// 이후 파라미터 값을 기록할 비율(PARAM_SAMPLE 번에 한번)
+	private static final int SLOW_SAMPLES = 5;
+
+	private final ConcurrentMap<String, StatementStats> statements = new ConcurrentHashMap<String, StatementStats>();
+
+
+	// 호출 한번의 응답시간과 행 수
+	public void record(String statementId, long nanos, long rows) {
+		StatementStats stats = statement(statementId);
+		stats.latency.record(nanos);
+		stats.rows.add(rows);
+	}
+
+
+	// 이번 호출의 파라미터 값을 기록할지(기록하지 않으면 파라미터 값 해시를 만들지 않는다)
+	public boolean sampleParams(String statementId) {
+		StatementStats stats = statement(statementId);
+		if(stats.paramHashes.size() >= MAX_DISTINCT) return false;
+		return stats.latency.getCount() < PARAM_FULL_CALLS || ThreadLocalRandom.current().nextInt(PARAM_SAMPLE) == 0;
+	}
+
+
+	// 호출 한번의 파라미터 값 해시
+	public void recordParams(String statementId, long paramHash) {
+		StatementStats stats = statement(statementId);
+		if(stats.paramHashes.size() < MAX_DISTINCT) stats.paramHashes.add(paramHash);
+	}
+
+
+	// 느린 호출(SQL, 가린 파라미터)
+	public void recordSlow(String statementId, long nanos, String sql, List<Object> params) {
+		statement(statementId).recordSlow(nanos, sql, params);
+	}
+
+
+	// 구문별 호출수, 평균/최대/백분위 응답시간(ms)
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new TreeMap<String, Object>();
+		for(Map.Entry<String, StatementStats> entry : statements.entrySet()) {
+			LatencyRecorder recorder = entry.getValue().latency;
+			long count = recorder.getCount();
+			long[] percentiles = recorder.percentiles(QUANTILES);
+
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			map.put("count", count);
+			map.put("averageMs", count == 0 ? 0.0 : recorder.getTotalMicros() / count / 1000.0);
+			map.put("p50Ms", percentiles[0] / 1000.0);
+			map.put("p90Ms", percentiles[1] / 1000.0);
+			map.put("p99Ms", percentiles[2] / 1000.0);
+			map.put("maxMs", recorder.getMaxMicros() / 1000.0);
+			stats.put(entry.getKey(), map);
+		}
+		return stats;
+	}
+
+
+	// 정렬 기준(total, count, p99, rows) 상위 limit 개(행 수, 파라미터 종류 수, 느린 호출 포함)
+	public List<Map<String, Object>> top(String sort, int limit) {
+		List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+		for(Map.Entry<String, StatementStats> entry : statements.entrySet()) list.add(entry.getValue().toMap(entry.getKey()));
+
+		final String key = "count".equals(sort) ? "count" : "p99".equals(sort) ? "p99Ms" : "rows".equals(sort) ? "rows" : "totalMs";
+		list.sort(Comparator.comparing((Map<String, Object> map) -> ((Number)map.get(key)).doubleValue()).reversed());
+		return list.size() > limit ? new ArrayList<Map<String, Object>>(list.subList(0, limit)) : list;
+	}
+
+
+	public void reset() {
+		statements.clear();
+	}
+
+
+	// Prometheus text format(0.0.4) summary
+	public String prometheus() {
+		StringBuilder out = new StringBuilder();
+		out.append("# HELP mhmall_db_statement_seconds MyBatis statement latency\n");
+		out.append("# TYPE mhmall_db_statement_seconds summary\n");
+
+		StringBuilder max = new StringBuilder();
+		max.append("# HELP mhmall_db_statement_max_seconds MyBatis statement max latency\n");
+		max.append("# TYPE mhmall_db_statement_max_seconds gauge\n");
+
+		for(Map.Entry<String, StatementStats> entry : new TreeMap<String, StatementStats>(statements).entrySet()) {
+			String label = "statement=\"" + escape(entry.getKey()) + "\"";
+			LatencyRecorder recorder = entry.getValue().latency;
+			long[] percentiles = recorder.percentiles(QUANTILES);
+
+			for(int i=0;i<QUANTILES.length;i++) {
+				out.append("mhmall_db_statement_seconds{").append(label).append(",quantile=\"").append(QUANTILES[i]).append("\"} ")
+					.append(seconds(percentiles[i])).append('\n');
+			}
+			out.append("mhmall_db_statement_seconds_sum{").append(label).append("} ").append(seconds(recorder.getTotalMicros())).append('\n');
+			out.append("mhmall_db_statement_seconds_count{").append(label).append("} ").append(recorder.getCount()).append('\n');
+			max.append("mhmall_db_statement_max_seconds{").append(label).append("} ").append(seconds(recorder.getMaxMicros())).append('\n');
+		}
+		return out.append(max).toString();
+	}
+
+
+	private StatementStats statement(String statementId) {
+		StatementStats stats = statements.get(statementId);
+		if(stats != null) return stats;
+		return statements.computeIfAbsent(statementId, k -> new StatementStats());
+	}
+
+
+	private static String seconds(long micros) {
+		return Double.toString(micros / 1000000.0);
+	}
+
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+
+	private static class StatementStats {
+		private final LatencyRecorder latency = new LatencyRecorder();
+		private final LongAdder rows = new LongAdder();
+		private final Set<Long> paramHashes = ConcurrentHashMap.newKeySet();
+		private final Deque<Map<String, Object>> slowSamples = new ArrayDeque<Map<String, Object>>();
+		private final LongAdder slowCount = new LongAdder();
+
+		private void recordSlow(long nanos, String sql, List<Object> params) {
+			slowCount.increment();
+
+			Map<String, Object> sample = new LinkedHashMap<String, Object>();
+			sample.put("time", System.currentTimeMillis());
+			sample.put("ms", nanos / 1000000.0);
+			sample.put("sql", sql);
+			sample.put("params", params);
+			synchronized (slowSamples) {
+				if(slowSamples.size() >= SLOW_SAMPLES) slowSamples.removeFirst();
+				slowSamples.addLast(sample);
+			}
+		}
+
+		private Map<String, Object> toMap(String statementId) {
+			long count = latency.getCount();
+			long[] percentiles = latency.percentiles(0.5, 0.99);
+			int distinct = paramHashes.size();
+
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			map.put("statement", statementId);
+			map.put("count", count);
+			map.put("totalMs", latency.getTotalMicros() / 1000.0);
+			map.put("averageMs", count == 0 ? 0.0 : latency.getTotalMicros() / count / 1000.0);
+			map.put("p50Ms", percentiles[0] / 1000.0);
+			map.put("p99Ms", percentiles[1] / 1000.0);
+			map.put("maxMs", latency.getMaxMicros() / 1000.0);
+			map.put("rows", rows.sum());
+			map.put("rowsPerCall", count == 0 ? 0.0 : (double)rows.sum() / count);
+			map.put("distinctParams", distinct >= MAX_DISTINCT ? MAX_DISTINCT + "+" : String.valueOf(distinct));
+			map.put("slowCount", slowCount.sum());
+			synchronized (slowSamples) {
+				map.put("slowSamples", new ArrayList<Map<String, Object>>(slowSamples));
+			}
+			return map;
+		}
+	}
+
+}
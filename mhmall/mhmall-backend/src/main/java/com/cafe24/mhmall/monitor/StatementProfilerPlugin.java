@@ -0,0 +1,137 @@
+package com.cafe24.mhmall.monitor;
+
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.cafe24.mhmall.crypto.AesStringTypeHandler;
+import com.cafe24.mhmall.crypto.BlindIndexTypeHandler;
+
+// 구문별 파라미터 값 종류 수(mybatis-spring-boot 가 Interceptor 빈을 플러그인으로 등록, 기록은 DbLatencyMonitor)
+// 모든 호출에서 파라미터 값을 찾지 않고 DbLatencyMonitor.sampleParams 가 고른 호출만 본다.
+// StatementHandler 에서 보므로 바인딩된 파라미터를 다시 만들지 않는다.
+// 실행시간, 행 수는 DbLatencyInterceptor 가 한번만 잰다.
+// 느린 호출의 파라미터는 params() 로 가려서 남긴다.(암호화/검색 인덱스 컬럼 값, 비밀번호, 키)
+@Component
+@Intercepts({
+	@Signature(type = StatementHandler.class, method = "parameterize", args = {Statement.class})
+})
+public class StatementProfilerPlugin implements Interceptor {
+	private static final String MASK = "****";
+
+	@Autowired
+	DbLatencyMonitor dbLatencyMonitor;
+
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		try {
+			record((StatementHandler)invocation.getTarget());
+		} catch (RuntimeException e) {
+			// 프로파일 실패는 무시
+		}
+		return invocation.proceed();
+	}
+
+
+	private void record(StatementHandler statementHandler) {
+		MappedStatement mappedStatement = mappedStatement(statementHandler);
+		if(mappedStatement == null) return;
+
+		// 기록할 호출만 파라미터 값을 찾는다.(값 종류가 다 찼거나 표본이 아니면 그냥 실행)
+		if(!dbLatencyMonitor.sampleParams(mappedStatement.getId())) return;
+
+		BoundSql boundSql = statementHandler.getBoundSql();
+		Configuration configuration = mappedStatement.getConfiguration();
+
+		// 파라미터 값 해시(값 종류 수)
+		long paramHash = 1;
+		for(ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+			if(parameterMapping.getMode() == ParameterMode.OUT) continue;
+			Object value = parameterValue(configuration, boundSql, parameterMapping);
+			paramHash = 31 * paramHash + (value == null ? 0 : value.hashCode());
+		}
+
+		dbLatencyMonitor.recordParams(mappedStatement.getId(), paramHash);
+	}
+
+
+	// 느린 호출 기록용 파라미터 값(가릴 값은 ****)
+	static List<Object> params(Configuration configuration, BoundSql boundSql) {
+		List<Object> params = new ArrayList<Object>();
+		for(ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+			if(parameterMapping.getMode() == ParameterMode.OUT) continue;
+			if(isMasked(parameterMapping)) {
+				params.add(MASK);
+				continue;
+			}
+			Object value = parameterValue(configuration, boundSql, parameterMapping);
+			params.add(value == null ? null : String.valueOf(value));
+		}
+		return params;
+	}
+
+
+	// 암호화(aes), 검색 인덱스(bidx) 컬럼에 들어가는 개인정보와 이름이 비밀번호, 키인 파라미터
+	static boolean isMasked(ParameterMapping parameterMapping) {
+		TypeHandler<?> typeHandler = parameterMapping.getTypeHandler();
+		if(typeHandler instanceof AesStringTypeHandler || typeHandler instanceof BlindIndexTypeHandler) return true;
+
+		String property = parameterMapping.getProperty().toLowerCase();
+		return property.contains("pw") || property.contains("password") || property.contains("key");
+	}
+
+
+	// DefaultParameterHandler 와 같은 순서로 값 찾기
+	static Object parameterValue(Configuration configuration, BoundSql boundSql, ParameterMapping parameterMapping) {
+		String property = parameterMapping.getProperty();
+		Object parameterObject = boundSql.getParameterObject();
+
+		if(boundSql.hasAdditionalParameter(property)) return boundSql.getAdditionalParameter(property);
+		if(parameterObject == null) return null;
+		if(configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) return parameterObject;
+		return configuration.newMetaObject(parameterObject).getValue(property);
+	}
+
+
+	// RoutingStatementHandler.delegate.mappedStatement(다른 플러그인이 감쌌으면 풀어서)
+	private MappedStatement mappedStatement(StatementHandler statementHandler) {
+		MetaObject metaObject = SystemMetaObject.forObject(statementHandler);
+		while(Proxy.isProxyClass(metaObject.getOriginalObject().getClass())) {
+			metaObject = SystemMetaObject.forObject(metaObject.getValue("h.target"));
+		}
+		if(metaObject.hasGetter("delegate")) metaObject = SystemMetaObject.forObject(metaObject.getValue("delegate"));
+		return metaObject.hasGetter("mappedStatement") ? (MappedStatement)metaObject.getValue("mappedStatement") : null;
+	}
+
+
+	@Override
+	public Object plugin(Object target) {
+		return Plugin.wrap(target, this);
+	}
+
+
+	@Override
+	public void setProperties(Properties properties) {
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.cafe24.mhmall.repository;
 
 import java.util.List;
+import java.util.Map;
 
 import com.cafe24.mhmall.vo.BasketVo;
 
@@ -21,7 +22,7 @@ public interface BasketDao {
 	Integer insertMember(BasketVo vo);						// 회원 장바구니 추가
 	Integer deleteMemberByNo(BasketVo basketVo);			// 회원 장바구니 삭제
 	BasketVo getByNoMember(BasketVo vo);					// 회원 장바구니 정보가 존재하는지 확인하고 가져오기
-	Integer deleteTimeOver(Long basketTime);				// 시간이 초과된 비회원 장바구니들은 삭제
+	Integer deleteTimeOver(Map<String, Object> map);		// 시간이 초과된 비회원 장바구니들은 삭제
 	Integer deleteAllByOptionNoG(BasketVo basketVo);		// 옵션으로 비회원 장바구니 삭제
 	Integer deleteAllByOptionNoM(BasketVo basketVo);		// 옵션으로 회원 장바구니 삭제
 
@@ -0,0 +1,16 @@
+package com.cafe24.mhmall.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import com.cafe24.mhmall.vo.CacheEventVo;
+
+public interface CacheChangelogDao {
+
+	Integer insert(CacheEventVo cacheEventVo);						// 캐시 변경기록 추가
+	Long selectLastNo();											// 마지막 변경기록 번호
+	List<CacheEventVo> selectListAfter(Map<String, Object> map);	// 번호 이후 변경기록 리스트
+	List<CacheEventVo> selectListIn(Map<String, Object> map);		// 번호로 변경기록 다시 확인
+	Integer deleteOld(Long retentionSeconds);						// 오래된 변경기록 삭제
+
+}
@@ -0,0 +1,12 @@
+package com.cafe24.mhmall.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CryptoMigrationDao {
+
+	List<Map<String, Object>> selectStale(Map<String, Object> map);		// 현재 키 버전이 아닌 행
+	List<Map<String, Object>> selectMissingIndex(Map<String, Object> map);	// 검색 인덱스가 비어있는 행
+	Integer updateRow(Map<String, Object> map);						// 다시 암호화한 값으로 변경
+
+}
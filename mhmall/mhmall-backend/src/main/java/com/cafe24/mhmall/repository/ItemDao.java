@@ -16,6 +16,8 @@ public interface ItemDao {
 	Integer update(ItemVo itemVo);						// 상품 수정
 	Integer updateDisplay(ItemVo itemVo);				// 상품진열여부 수정
 	List<ItemVo> selectListU(Map<String, Object> daoMap);// 사용자 상품리스트
+	List<ItemVo> selectListByNos(List<Long> nos);		// 상품번호들로 진열중인 상품 리스트
+	List<ItemVo> selectListSeek(Map<String, Object> map);// 사용자 상품리스트(커서)
 	List<ItemVo> selectNewList(ItemVo vo);				// 최근 상품리스트
 	List<MainImgVo> getNewItemList(Integer showCnt);	// 최근 메인 이미지 리스트 요청
 	Integer countU(Map<String, Object> mapCnt);			// 회원 총 상품 개수
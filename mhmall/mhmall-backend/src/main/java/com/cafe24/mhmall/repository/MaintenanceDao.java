@@ -0,0 +1,11 @@
+package com.cafe24.mhmall.repository;
+
+import java.util.Map;
+
+public interface MaintenanceDao {
+
+	Integer insertLock(String name);					// 잠금 데이터가 없으면 추가
+	Integer updateLock(Map<String, Object> map);		// 잠금 획득(연장)
+	Integer releaseLock(Map<String, Object> map);		// 잠금 해제
+
+}
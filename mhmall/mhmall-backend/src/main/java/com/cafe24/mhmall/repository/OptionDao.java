@@ -17,8 +17,10 @@ public interface OptionDao {
 	Integer selectCnt(Long no);							// 옵션의 재고 가져오기
 	Integer countByNo(Long no);							// 옵션번호에 해당하는 옵션개수
 	Integer updateCnt(Map<String, Object> map);			// 옵션 재고량 줄이기
-	Long selectSumMoney(Map<String, Object> map);		// 금액계산
+	List<OptionVo> selectCntForUpdate(List<Long> nos);	// 옵션 재고 일괄 잠금
+	Integer updateCntAll(List<OptionVo> optionList);	// 옵션 재고량 일괄 줄이기
 	Integer updateRestore(OrdersItemVo ordersItemVo);	// 구매한 수량만큼 재고량 복구
+	Integer updateRestoreByOrdersNos(List<String> ordersNos);	// 주문번호들의 구매수량만큼 재고량 일괄 복구
 	String getItemDisplay(Long optionNo);				// 판매중인 상품인지 확인
 
 }
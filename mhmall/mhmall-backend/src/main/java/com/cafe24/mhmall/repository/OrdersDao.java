@@ -9,7 +9,7 @@ import com.cafe24.mhmall.vo.OrdersVo;
 
 public interface OrdersDao {
 
-	List<OrdersVo> selectList();						// 주문리스트
+	List<OrdersVo> selectList(Map<String, Object> map);	// 주문리스트
 	OrdersVo selectOne(OrdersVo ordersVo);				// 주문상세
 	Integer updateStatus(Map<String, String> map);		// 상태 변경
 	Integer updateTrackingNum(Map<String, String> map);	// 운송장번호 변경
@@ -21,6 +21,9 @@ public interface OrdersDao {
 	List<OrdersVo> selectListById(OrdersVo ordersVo);	// 회원 주문 리스트
 	Integer isExistAndEnableMember(OrdersVo vo);		// 존재하고 주문대기 상태가 아닌 것(회원)
 	String getStatus(String ordersNo);					// 주문번호로 현재상태 받기
-	Integer isExistTimeOverOrders(Long ordersTime);		// 시간이 초과된 주문대기 상태의 주문이 있는지 확인
+	List<String> selectTimeOverOrdersNos(Map<String, Object> map);	// 시간이 초과된 주문대기 상태의 주문번호(잠금)
+	Integer updateStatusAll(Map<String, Object> map);	// 상태 일괄 변경
+	Long selectLastNo(String day);						// 해당 날짜의 마지막 주문번호 숫자부분
+	Long allocateNoBlock(Map<String, Object> map);		// 주문번호 블록 할당
 
 }
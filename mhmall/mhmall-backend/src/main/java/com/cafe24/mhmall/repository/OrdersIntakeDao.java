@@ -0,0 +1,21 @@
+package com.cafe24.mhmall.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+
+public interface OrdersIntakeDao {
+
+	Integer insert(OrdersIntakeVo vo);										// 접수(요청한 사람에게 이미 있는 키면 0)
+	OrdersIntakeVo selectByKey(Map<String, Object> map);					// 요청한 사람의 키로 찾기
+	Integer countByStatus(String status);									// 상태별 접수 개수
+	Integer countByStatusLimit(Map<String, Object> map);					// 상태별 접수 개수(maxCnt 개까지)
+	List<OrdersIntakeVo> selectExpired(Map<String, Object> map);			// 시간이 초과된 처리 전 접수
+	List<OrdersIntakeVo> selectListByStatus(Map<String, Object> map);		// 상태별 접수 리스트(잠금)
+	OrdersIntakeVo selectByNoForUpdate(Map<String, Object> map);			// 접수 하나 잠금
+	Integer updateStatus(Map<String, Object> map);							// 처리 결과 기록
+	Integer updateRetry(Map<String, Object> map);							// 다시 처리할 시간 기록
+	Integer deleteDone(Map<String, Object> map);							// 처리가 끝난 접수 삭제
+
+}
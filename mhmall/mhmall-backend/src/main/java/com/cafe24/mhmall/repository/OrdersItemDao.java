@@ -7,7 +7,8 @@ import com.cafe24.mhmall.vo.OrdersItemVo;
 public interface OrdersItemDao {
 
 	List<OrdersItemVo> selectListByOrdersNo(String ordersNo);		// 주문번호로 주문상품 리스트
-	Integer insert(OrdersItemVo ordersItemVo);						// 주문내역 일괄 추가
-	List<OrdersItemVo> getTimeOverList(Long ordersTime);			// 초과된 주문의 번호에 해당하는 옵션번호와 수량 리스트를 받음
+	List<OrdersItemVo> selectListByOrdersNos(List<String> ordersNos);	// 주문번호들의 주문상품 리스트
+	List<OrdersItemVo> selectSnapshotList(List<Long> optionNos);	// 주문상품 정보 한번에 조회
+	Integer insertAll(List<OrdersItemVo> ordersItemList);			// 주문내역 일괄 추가
 
 }
@@ -1,10 +1,10 @@
 package com.cafe24.mhmall.repository.impl;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Repository;
 
 import com.cafe24.mhmall.repository.BasketDao;
@@ -13,24 +13,15 @@ import com.cafe24.mhmall.vo.BasketVo;
 @Repository
 public class BasketDaoImpl implements BasketDao {
 	
-	@Autowired
-	private Tracer tracer;
-	public void addTag(String queryId, Object parameter) {
-		String query = sqlSession.getConfiguration().getMappedStatement(queryId).getSqlSource().getBoundSql(parameter).getSql();
-		tracer.addTag("basket.query", query);
-	}
 
 	@Autowired
 	SqlSession sqlSession;
 
-	// AES키 관리
-	private final String aesKey = "mhshop_key";
 	
 
 	// 수량보다 재고가 없는 리스트 받기
 	@Override
 	public List<BasketVo> getGuestListByCnt(String guestSession) {
-		addTag("basket.getGuestListByCnt", guestSession);
 		return sqlSession.selectList("basket.getGuestListByCnt", guestSession);
 	}
 	
@@ -38,7 +29,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 삭제
 	@Override
 	public Integer deleteByNo(Long no) {
-		addTag("basket.deleteByNo", no);
 		return sqlSession.delete("basket.deleteByNo", no);
 	}
 	
@@ -46,7 +36,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 입력 시간을 현재로 갱신
 	@Override
 	public Integer guestNewTime(String guestSession) {
-		addTag("basket.guestNewTime", guestSession);
 		return sqlSession.update("basket.guestNewTime", guestSession);
 	}
 
@@ -54,7 +43,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 장바구니 리스트
 	@Override
 	public List<BasketVo> getListByGuest(String guestSession) {
-		addTag("basket.getListByGuest", guestSession);
 		return sqlSession.selectList("basket.getListByGuest", guestSession);
 	}
 
@@ -62,7 +50,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 현재 장바구니에 같은 옵션 삭제
 	@Override
 	public Integer deleteByOptionGuest(BasketVo vo) {
-		addTag("basket.deleteByOptionGuest", vo);
 		return sqlSession.delete("basket.deleteByOptionGuest", vo);
 	}
 
@@ -70,7 +57,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 비회원 장바구니 추가
 	@Override
 	public Integer insertGuest(BasketVo vo) {
-		addTag("basket.insertGuest", vo);
 		return sqlSession.insert("basket.insertGuest", vo);
 	}
 
@@ -78,7 +64,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 비회원 장바구니 삭제
 	@Override
 	public Integer deleteGuestByNo(BasketVo vo) {
-		addTag("basket.deleteGuestByNo", vo);
 		return sqlSession.insert("basket.deleteGuestByNo", vo);
 	}
 
@@ -86,7 +71,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 비회원 장바구니 정보가 존재하는지 확인하고 가져오기
 	@Override
 	public BasketVo getByNoGuest(BasketVo vo) {
-		addTag("basket.selectByNoGuest", vo);
 		return (BasketVo)sqlSession.selectOne("basket.selectByNoGuest", vo);
 	}
 
@@ -94,7 +78,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 장바구니 수정
 	@Override
 	public Integer updateCnt(BasketVo basketVo) {
-		addTag("basket.updateCnt", basketVo);
 		return sqlSession.update("basket.updateCnt", basketVo);
 	}
 
@@ -102,8 +85,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 수량보다 재고가 없는 리스트 받기(회원)
 	@Override
 	public List<BasketVo> getMemberListByCnt(BasketVo vo) {
-		vo.setAesKey(aesKey);
-		addTag("basket.getMemberListByCnt", vo);
 		return sqlSession.selectList("basket.getMemberListByCnt", vo);
 	}
 
@@ -111,8 +92,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 회원 장바구니 리스트
 	@Override
 	public List<BasketVo> getListByMember(BasketVo vo) {
-		vo.setAesKey(aesKey);
-		addTag("basket.getListByMember", vo);
 		return sqlSession.selectList("basket.getListByMember", vo);
 	}
 
@@ -120,8 +99,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 현재 장바구니에 같은 옵션 삭제(회원)
 	@Override
 	public Integer deleteByOptionMember(BasketVo basketVo) {
-		basketVo.setAesKey(aesKey);
-		addTag("basket.deleteByOptionMember", basketVo);
 		return sqlSession.delete("basket.deleteByOptionMember", basketVo);
 	}
 
@@ -129,8 +106,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 회원 장바구니 추가
 	@Override
 	public Integer insertMember(BasketVo vo) {
-		vo.setAesKey(aesKey);
-		addTag("basket.insertMember", vo);
 		return sqlSession.insert("basket.insertMember", vo);
 	}
 
@@ -138,8 +113,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 회원 장바구니 삭제
 	@Override
 	public Integer deleteMemberByNo(BasketVo basketVo) {
-		basketVo.setAesKey(aesKey);
-		addTag("basket.deleteMemberByNo", basketVo);
 		return sqlSession.delete("basket.deleteMemberByNo", basketVo);
 	}
 
@@ -147,24 +120,20 @@ public class BasketDaoImpl implements BasketDao {
 	// 회원 장바구니 정보가 존재하는지 확인하고 가져오기
 	@Override
 	public BasketVo getByNoMember(BasketVo vo) {
-		vo.setAesKey(aesKey);
-		addTag("basket.getByNoMember", vo);
 		return sqlSession.selectOne("basket.getByNoMember", vo);
 	}
 
 
 	// 시간이 초과된 비회원 장바구니들은 삭제
 	@Override
-	public Integer deleteTimeOver(Long basketTime) {
-		addTag("basket.deleteTimeOver", basketTime);
-		return sqlSession.delete("basket.deleteTimeOver", basketTime);
+	public Integer deleteTimeOver(Map<String, Object> map) {
+		return sqlSession.delete("basket.deleteTimeOver", map);
 	}
 
 
 	// 옵션으로 비회원 장바구니 삭제
 	@Override
 	public Integer deleteAllByOptionNoG(BasketVo basketVo) {
-		addTag("basket.deleteAllByOptionNoG", basketVo);
 		return sqlSession.delete("basket.deleteAllByOptionNoG", basketVo);
 	}
 
@@ -172,8 +141,6 @@ public class BasketDaoImpl implements BasketDao {
 	// 옵션으로 회원 장바구니 삭제
 	@Override
 	public Integer deleteAllByOptionNoM(BasketVo basketVo) {
-		basketVo.setAesKey(aesKey);
-		addTag("basket.deleteAllByOptionNoM", basketVo);
 		return sqlSession.delete("basket.deleteAllByOptionNoM", basketVo);
 	}
 
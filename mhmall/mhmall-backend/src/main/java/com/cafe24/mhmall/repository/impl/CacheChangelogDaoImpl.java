@@ -0,0 +1,54 @@
+package com.cafe24.mhmall.repository.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.cafe24.mhmall.repository.CacheChangelogDao;
+import com.cafe24.mhmall.vo.CacheEventVo;
+
+@Repository
+public class CacheChangelogDaoImpl implements CacheChangelogDao {
+
+	@Autowired
+	SqlSession sqlSession;
+
+
+	// 캐시 변경기록 추가
+	@Override
+	public Integer insert(CacheEventVo cacheEventVo) {
+		return sqlSession.insert("cachechangelog.insert", cacheEventVo);
+	}
+
+
+	// 마지막 변경기록 번호
+	@Override
+	public Long selectLastNo() {
+		return sqlSession.selectOne("cachechangelog.selectLastNo");
+	}
+
+
+	// 번호 이후 변경기록 리스트
+	@Override
+	public List<CacheEventVo> selectListAfter(Map<String, Object> map) {
+		return sqlSession.selectList("cachechangelog.selectListAfter", map);
+	}
+
+
+	// 번호로 변경기록 다시 확인
+	@Override
+	public List<CacheEventVo> selectListIn(Map<String, Object> map) {
+		return sqlSession.selectList("cachechangelog.selectListIn", map);
+	}
+
+
+	// 오래된 변경기록 삭제
+	@Override
+	public Integer deleteOld(Long retentionSeconds) {
+		return sqlSession.delete("cachechangelog.deleteOld", retentionSeconds);
+	}
+
+}
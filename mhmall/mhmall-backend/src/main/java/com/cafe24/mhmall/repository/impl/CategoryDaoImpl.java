@@ -2,11 +2,8 @@ package com.cafe24.mhmall.repository.impl;
 
 import java.util.List;
 
-import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.sleuth.Span;
-import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Repository;
 
 import com.cafe24.mhmall.repository.CategoryDao;
@@ -15,12 +12,6 @@ import com.cafe24.mhmall.vo.CategoryVo;
 @Repository
 public class CategoryDaoImpl implements CategoryDao {
 	
-	@Autowired
-	private Tracer tracer;
-	public void addTag(String queryId, Object parameter) {
-		String query = sqlSession.getConfiguration().getMappedStatement(queryId).getSqlSource().getBoundSql(parameter).getSql();
-		tracer.addTag("query", query);
-	}
 
 	@Autowired
 	SqlSession sqlSession;
@@ -30,7 +21,6 @@ public class CategoryDaoImpl implements CategoryDao {
 	@Override
 	public List<CategoryVo> getList() {
 		String queryId = "category.selectList";
-		addTag(queryId, null);
 		List<CategoryVo> list =  sqlSession.selectList(queryId);
 		return list;
 	}
@@ -40,7 +30,6 @@ public class CategoryDaoImpl implements CategoryDao {
 	@Override
 	public Integer insert(CategoryVo categoryVo) {
 		String queryId = "category.insert";
-		addTag(queryId, categoryVo);
 		Integer result =  sqlSession.insert(queryId, categoryVo);
 		return result;
 	}
@@ -50,7 +39,6 @@ public class CategoryDaoImpl implements CategoryDao {
 	@Override
 	public Integer update(CategoryVo categoryVo) {
 		String queryId = "category.update";
-		addTag(queryId, categoryVo);
 		Integer result = sqlSession.update(queryId, categoryVo);
 		return result;
 	}
@@ -60,7 +48,6 @@ public class CategoryDaoImpl implements CategoryDao {
 	@Override
 	public Integer delete(Long no) {
 		String queryId = "category.delete";
-		addTag(queryId, no);
 		Integer result = sqlSession.update(queryId, no);
 		return result;
 	}
@@ -70,7 +57,6 @@ public class CategoryDaoImpl implements CategoryDao {
 	@Override
 	public Integer countByNo(Long categoryNo) {
 		String queryId = "category.countbyno";
-		addTag(queryId, categoryNo);
 		Integer result = (Integer)sqlSession.selectOne(queryId, categoryNo);
 		return result;
 	}
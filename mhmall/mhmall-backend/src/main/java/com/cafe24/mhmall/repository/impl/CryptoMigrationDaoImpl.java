@@ -0,0 +1,39 @@
+package com.cafe24.mhmall.repository.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.cafe24.mhmall.repository.CryptoMigrationDao;
+
+@Repository
+public class CryptoMigrationDaoImpl implements CryptoMigrationDao {
+
+	@Autowired
+	SqlSession sqlSession;
+
+
+	// 현재 키 버전이 아닌 행
+	@Override
+	public List<Map<String, Object>> selectStale(Map<String, Object> map) {
+		return sqlSession.selectList("crypto.selectStale", map);
+	}
+
+
+	// 검색 인덱스가 비어있는 행
+	@Override
+	public List<Map<String, Object>> selectMissingIndex(Map<String, Object> map) {
+		return sqlSession.selectList("crypto.selectMissingIndex", map);
+	}
+
+
+	// 다시 암호화한 값으로 변경
+	@Override
+	public Integer updateRow(Map<String, Object> map) {
+		return sqlSession.update("crypto.updateRow", map);
+	}
+
+}
@@ -5,7 +5,6 @@ import java.util.Map;
 
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Repository;
 
 import com.cafe24.mhmall.repository.ItemDao;
@@ -15,12 +14,6 @@ import com.cafe24.mhmall.vo.MainImgVo;
 @Repository
 public class ItemDaoImpl implements ItemDao {
 	
-	@Autowired
-	private Tracer tracer;
-	public void addTag(String queryId, Object parameter) {
-		String query = sqlSession.getConfiguration().getMappedStatement(queryId).getSqlSource().getBoundSql(parameter).getSql();
-		tracer.addTag("basket.query", query);
-	}
 	
 	@Autowired
 	SqlSession sqlSession;
@@ -29,7 +22,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 카테고리번호에 해당하는 아이템 개수
 	@Override
 	public Integer countByCategory(Long categoryNo) {
-		addTag("item.countByCategory", categoryNo);
 		return (Integer)sqlSession.selectOne("item.countByCategory", categoryNo);
 	}
 
@@ -37,7 +29,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 상품 리스트
 	@Override
 	public List<ItemVo> selectList(ItemVo itemVo) {
-		addTag("item.selectList", itemVo);
 		return sqlSession.selectList("item.selectList", itemVo);
 	}
 
@@ -45,7 +36,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 상품 등록
 	@Override
 	public Integer insert(ItemVo itemVo) {
-		addTag("item.insert", itemVo);
 		return sqlSession.insert("item.insert", itemVo);
 	}
 
@@ -53,7 +43,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 상품 삭제
 	@Override
 	public Integer delete(Long no) {
-		addTag("item.delete", no);
 		return sqlSession.delete("item.delete", no);
 	}
 
@@ -61,7 +50,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 상품번호로 상품정보
 	@Override
 	public ItemVo selectOne(Long no) {
-		addTag("item.selectByNo", no);
 		return (ItemVo)sqlSession.selectOne("item.selectByNo", no);
 	}
 
@@ -69,7 +57,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 상품 수정
 	@Override
 	public Integer update(ItemVo itemVo) {
-		addTag("item.update", itemVo);
 		return sqlSession.update("item.update", itemVo);
 	}
 
@@ -77,7 +64,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 상품진열여부 수정
 	@Override
 	public Integer updateDisplay(ItemVo itemVo) {
-		addTag("item.updateDisplay", itemVo);
 		return sqlSession.update("item.updateDisplay", itemVo);
 	}
 
@@ -85,15 +71,27 @@ public class ItemDaoImpl implements ItemDao {
 	// 사용자 상품리스트
 	@Override
 	public List<ItemVo> selectListU(Map<String, Object> daoMap) {
-		addTag("item.selectListU", daoMap);
 		return sqlSession.selectList("item.selectListU", daoMap);
 	}
 
 
+	// 상품번호들로 진열중인 상품 리스트
+	@Override
+	public List<ItemVo> selectListByNos(List<Long> nos) {
+		return sqlSession.selectList("item.selectListByNos", nos);
+	}
+
+
+	// 사용자 상품리스트(커서)
+	@Override
+	public List<ItemVo> selectListSeek(Map<String, Object> map) {
+		return sqlSession.selectList("item.selectListSeek", map);
+	}
+
+
 	// 최근 상품리스트
 	@Override
 	public List<ItemVo> selectNewList(ItemVo vo) {
-		addTag("item.selectNewList", vo);
 		return sqlSession.selectList("item.selectNewList", vo);
 	}
 
@@ -101,7 +99,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 최근 메인 이미지 리스트 요청
 	@Override
 	public List<MainImgVo> getNewItemList(Integer showCnt) {
-		addTag("item.getNewItemList", showCnt);
 		return sqlSession.selectList("item.getNewItemList", showCnt);
 	}
 
@@ -109,7 +106,6 @@ public class ItemDaoImpl implements ItemDao {
 	// 회원 총 상품 개수
 	@Override
 	public Integer countU(Map<String, Object> mapCnt) {
-		addTag("item.selectCountU", mapCnt);
 		return sqlSession.selectOne("item.selectCountU", mapCnt);
 	}
 	
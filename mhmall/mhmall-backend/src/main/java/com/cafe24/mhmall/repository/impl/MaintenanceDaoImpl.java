@@ -0,0 +1,38 @@
+package com.cafe24.mhmall.repository.impl;
+
+import java.util.Map;
+
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.cafe24.mhmall.repository.MaintenanceDao;
+
+@Repository
+public class MaintenanceDaoImpl implements MaintenanceDao {
+
+	@Autowired
+	SqlSession sqlSession;
+
+
+	// 잠금 데이터가 없으면 추가
+	@Override
+	public Integer insertLock(String name) {
+		return sqlSession.insert("maintenance.insertLock", name);
+	}
+
+
+	// 잠금 획득(연장)
+	@Override
+	public Integer updateLock(Map<String, Object> map) {
+		return sqlSession.update("maintenance.updateLock", map);
+	}
+
+
+	// 잠금 해제
+	@Override
+	public Integer releaseLock(Map<String, Object> map) {
+		return sqlSession.update("maintenance.releaseLock", map);
+	}
+
+}
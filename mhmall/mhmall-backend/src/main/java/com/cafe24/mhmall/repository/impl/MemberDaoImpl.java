@@ -1,13 +1,11 @@
 package com.cafe24.mhmall.repository.impl;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Repository;
 
 import com.cafe24.mhmall.repository.MemberDao;
@@ -15,19 +13,12 @@ import com.cafe24.mhmall.vo.MemberVo;
 
 @Repository
 public class MemberDaoImpl implements MemberDao {
+	private static final int LIST_MAX = 1000;	// 회원 리스트 최대 개수(행마다 복호화하므로 제한)
 	
-	@Autowired
-	private Tracer tracer;
-	public void addTag(String queryId, Object parameter) {
-		String query = sqlSession.getConfiguration().getMappedStatement(queryId).getSqlSource().getBoundSql(parameter).getSql();
-		tracer.addTag("basket.query", query);
-	}
 	
 	@Autowired
 	SqlSession sqlSession;
 
-	// AES키 관리
-	private final String aesKey = "mhshop_key";
 	
 
 	// 아이디 중복확인
@@ -36,8 +27,6 @@ public class MemberDaoImpl implements MemberDao {
 		
 		MemberVo memberVo = new MemberVo();
 		memberVo.setId(id);
-		memberVo.setAesKey(aesKey);
-		addTag("member.countById", memberVo);
 		return (Integer)sqlSession.selectOne("member.countById", memberVo);
 	}
 
@@ -45,8 +34,6 @@ public class MemberDaoImpl implements MemberDao {
 	// 입력
 	@Override
 	public Integer insert(MemberVo memberVo) {
-		memberVo.setAesKey(aesKey);
-		addTag("member.inserts", memberVo);
 		return (Integer)sqlSession.insert("member.inserts", memberVo);
 	}
 
@@ -55,20 +42,18 @@ public class MemberDaoImpl implements MemberDao {
 	@Override
 	public MemberVo selectByIdAndPassword(MemberVo memberVo) {
 
-		memberVo.setAesKey(aesKey);
-		addTag("member.selectbyidandpassword", memberVo);
 		return (MemberVo)sqlSession.selectOne("member.selectbyidandpassword", memberVo);
 	}
 
 
 	// 회원 리스트
+	// 이름은 암호화되어 있어서 like 검색을 할 수 없으므로 검색 인덱스(name_bidx)로 같은 이름만 찾는다.
 	@Override
 	public List<MemberVo> selectList(String search) {
 		//System.out.println(search);
 		Map map = new HashMap();
-		map.put("aesKey", aesKey);
 		map.put("search", search);
-		addTag("member.selectlist", map);
+		map.put("maxCnt", LIST_MAX);
 		return sqlSession.selectList("member.selectlist", map);
 	}
 
@@ -76,8 +61,6 @@ public class MemberDaoImpl implements MemberDao {
 	// 아이디로 회원조회
 	@Override
 	public MemberVo selectOneById(MemberVo memberVo) {
-		memberVo.setAesKey(aesKey);
-		addTag("member.selectonebyid", memberVo);
 		return (MemberVo)sqlSession.selectOne("member.selectonebyid", memberVo);
 	}
 
@@ -88,8 +71,6 @@ public class MemberDaoImpl implements MemberDao {
 
 		MemberVo memberVo = new MemberVo();
 		memberVo.setId(id);
-		memberVo.setAesKey(aesKey);
-		addTag("member.delete", memberVo);
 		return (Integer)sqlSession.delete("member.delete", memberVo);
 	}
 
@@ -98,7 +79,6 @@ public class MemberDaoImpl implements MemberDao {
 	@Override
 	public MemberVo selectOneByNo(Long no) {
 
-		addTag("member.selectonebyno", no);
 		return (MemberVo)sqlSession.selectOne("member.selectonebyno", no);
 	}
 
@@ -107,8 +87,6 @@ public class MemberDaoImpl implements MemberDao {
 	@Override
 	public Integer update(MemberVo memberVo) {
 		
-		memberVo.setAesKey(aesKey);
-		addTag("member.update", memberVo);
 		return (Integer)sqlSession.delete("member.update", memberVo);
 	}
 
@@ -118,8 +96,6 @@ public class MemberDaoImpl implements MemberDao {
 	public MemberVo selectByMockToken(String mockToken) {
 		MemberVo memberVo = new MemberVo();
 		memberVo.setMockToken(mockToken);
-		memberVo.setAesKey(aesKey);
-		addTag("member.selectbymocktoken", memberVo);
 		return (MemberVo)sqlSession.selectOne("member.selectbymocktoken", memberVo);
 	}
 	
@@ -81,10 +81,17 @@ public class OptionDaoImpl implements OptionDao {
 	}
 
 
-	// 금액계산
+	// 옵션 재고 일괄 잠금
 	@Override
-	public Long selectSumMoney(Map<String, Object> map) {
-		return (Long)sqlSession.selectOne("option.selectSumMoney", map);
+	public List<OptionVo> selectCntForUpdate(List<Long> nos) {
+		return sqlSession.selectList("option.selectCntForUpdate", nos);
+	}
+
+
+	// 옵션 재고량 일괄 줄이기
+	@Override
+	public Integer updateCntAll(List<OptionVo> optionList) {
+		return sqlSession.update("option.updateCntAll", optionList);
 	}
 
 
@@ -95,6 +102,13 @@ public class OptionDaoImpl implements OptionDao {
 	}
 
 
+	// 주문번호들의 구매수량만큼 재고량 일괄 복구
+	@Override
+	public Integer updateRestoreByOrdersNos(List<String> ordersNos) {
+		return sqlSession.update("option.updateRestoreByOrdersNos", ordersNos);
+	}
+
+
 	// 판매중인 상품인지 확인
 	@Override
 	public String getItemDisplay(Long optionNo) {
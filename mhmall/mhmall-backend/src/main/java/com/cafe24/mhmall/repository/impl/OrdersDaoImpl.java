@@ -6,6 +6,8 @@ import java.util.Map;
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.cafe24.mhmall.repository.OrdersDao;
 import com.cafe24.mhmall.vo.GuestVo;
@@ -18,20 +20,17 @@ public class OrdersDaoImpl implements OrdersDao {
 	@Autowired
 	SqlSession sqlSession;
 
-	// AES키 관리
-	private final String aesKey = "mhshop_key";
 	
 	// 주문리스트
 	@Override
-	public List<OrdersVo> selectList() {
-		return sqlSession.selectList("orders.selectList", aesKey);
+	public List<OrdersVo> selectList(Map<String, Object> map) {
+		return sqlSession.selectList("orders.selectList", map);
 	}
 
 	
 	// 주문상세
 	@Override
 	public OrdersVo selectOne(OrdersVo ordersVo) {
-		ordersVo.setAesKey(aesKey);
 		return (OrdersVo)sqlSession.selectOne("orders.selectOne", ordersVo);
 	}
 	
@@ -53,8 +52,8 @@ public class OrdersDaoImpl implements OrdersDao {
 	// 주문작성
 	@Override
 	public String insert(OrdersVo ordersVo) {
-		ordersVo.setAesKey(aesKey);
-		return (String)sqlSession.selectOne("orders.insert", ordersVo);
+		Integer result = sqlSession.insert("orders.insert", ordersVo);
+		return result == 1 ? ordersVo.getOrdersNo() : null;
 	}
 
 
@@ -68,7 +67,6 @@ public class OrdersDaoImpl implements OrdersDao {
 	// 주문에 받는사람 정보를 변경하고 상태를 "입금대기"로 변경
 	@Override
 	public Integer orderUpdate(OrdersVo vo) {
-		vo.setAesKey(aesKey);
 		return sqlSession.update("orders.orderUpdate", vo);
 	}
 
@@ -76,7 +74,6 @@ public class OrdersDaoImpl implements OrdersDao {
 	// 존재하는 주문이고 상태가 "주문대기"인지 확인(회원)
 	@Override
 	public Integer isExistAndValidMember(OrdersVo ordersVo) {
-		ordersVo.setAesKey(aesKey);
 		return (Integer)sqlSession.selectOne("orders.isExistAndValidMember", ordersVo);
 	}
 
@@ -91,7 +88,6 @@ public class OrdersDaoImpl implements OrdersDao {
 	// 회원 주문 리스트
 	@Override
 	public List<OrdersVo> selectListById(OrdersVo ordersVo) {
-		ordersVo.setAesKey(aesKey);
 		return sqlSession.selectList("orders.selectListById", ordersVo);
 	}
 
@@ -99,7 +95,6 @@ public class OrdersDaoImpl implements OrdersDao {
 	// 존재하고 주문대기 상태가 아닌 것(회원)
 	@Override
 	public Integer isExistAndEnableMember(OrdersVo vo) {
-		vo.setAesKey(aesKey);
 		return (Integer)sqlSession.selectOne("orders.isExistAndEnableMember", vo);
 	}
 
@@ -111,12 +106,32 @@ public class OrdersDaoImpl implements OrdersDao {
 	}
 
 
-	// 시간이 초과된 주문대기 상태의 주문이 있는지 확인
+	// 시간이 초과된 주문대기 상태의 주문번호(잠금)
 	@Override
-	public Integer isExistTimeOverOrders(Long ordersTime) {
-		return (Integer)sqlSession.selectOne("orders.countTimeOver", ordersTime);
+	public List<String> selectTimeOverOrdersNos(Map<String, Object> map) {
+		return sqlSession.selectList("orders.selectTimeOverNos", map);
 	}
-	
-	
 
+
+	// 상태 일괄 변경
+	@Override
+	public Integer updateStatusAll(Map<String, Object> map) {
+		return sqlSession.update("orders.updateStatusAll", map);
+	}
+
+
+	// 해당 날짜의 마지막 주문번호 숫자부분
+	@Override
+	public Long selectLastNo(String day) {
+		return (Long)sqlSession.selectOne("orders.selectLastNo", day);
+	}
+
+
+	// 주문번호 블록 할당
+	// 주문 트랜잭션과 분리해서 orders_no_seq 잠금을 바로 풀어준다.
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@Override
+	public Long allocateNoBlock(Map<String, Object> map) {
+		return (Long)sqlSession.selectOne("orders.allocateNoBlock", map);
+	}
 }
@@ -0,0 +1,89 @@
+package com.cafe24.mhmall.repository.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.cafe24.mhmall.repository.OrdersIntakeDao;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+
+@Repository
+public class OrdersIntakeDaoImpl implements OrdersIntakeDao {
+
+	@Autowired
+	SqlSession sqlSession;
+
+
+	// 접수(요청한 사람에게 이미 있는 키면 0)
+	@Override
+	public Integer insert(OrdersIntakeVo vo) {
+		return sqlSession.insert("ordersintake.insert", vo);
+	}
+
+
+	// 요청한 사람의 키로 찾기
+	@Override
+	public OrdersIntakeVo selectByKey(Map<String, Object> map) {
+		return sqlSession.selectOne("ordersintake.selectByKey", map);
+	}
+
+
+	// 상태별 접수 개수
+	@Override
+	public Integer countByStatus(String status) {
+		return sqlSession.selectOne("ordersintake.countByStatus", status);
+	}
+
+
+	// 상태별 접수 개수(maxCnt 개까지)
+	@Override
+	public Integer countByStatusLimit(Map<String, Object> map) {
+		return sqlSession.selectOne("ordersintake.countByStatusLimit", map);
+	}
+
+
+	// 시간이 초과된 처리 전 접수
+	@Override
+	public List<OrdersIntakeVo> selectExpired(Map<String, Object> map) {
+		return sqlSession.selectList("ordersintake.selectExpired", map);
+	}
+
+
+	// 상태별 접수 리스트(잠금)
+	@Override
+	public List<OrdersIntakeVo> selectListByStatus(Map<String, Object> map) {
+		return sqlSession.selectList("ordersintake.selectListByStatus", map);
+	}
+
+
+	// 접수 하나 잠금
+	@Override
+	public OrdersIntakeVo selectByNoForUpdate(Map<String, Object> map) {
+		return sqlSession.selectOne("ordersintake.selectByNoForUpdate", map);
+	}
+
+
+	// 처리 결과 기록
+	@Override
+	public Integer updateStatus(Map<String, Object> map) {
+		return sqlSession.update("ordersintake.updateStatus", map);
+	}
+
+
+	// 다시 처리할 시간 기록
+	@Override
+	public Integer updateRetry(Map<String, Object> map) {
+		return sqlSession.update("ordersintake.updateRetry", map);
+	}
+
+
+	// 처리가 끝난 접수 삭제
+	@Override
+	public Integer deleteDone(Map<String, Object> map) {
+		return sqlSession.delete("ordersintake.deleteDone", map);
+	}
+
+}
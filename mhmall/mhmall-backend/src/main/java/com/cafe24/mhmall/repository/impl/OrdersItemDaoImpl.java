@@ -23,17 +23,24 @@ public class OrdersItemDaoImpl implements OrdersItemDao {
 	}
 
 	
-	// 주문내역 일괄 추가
+	// 주문번호들의 주문상품 리스트
 	@Override
-	public Integer insert(OrdersItemVo ordersItemVo) {
-		return sqlSession.insert("ordersitem.insert", ordersItemVo);
+	public List<OrdersItemVo> selectListByOrdersNos(List<String> ordersNos) {
+		return sqlSession.selectList("ordersitem.selectListByOrdersNos", ordersNos);
 	}
 	
-
-	// 초과된 주문의 번호에 해당하는 옵션번호와 수량 리스트를 받음
+	
+	// 주문상품 정보 한번에 조회
+	@Override
+	public List<OrdersItemVo> selectSnapshotList(List<Long> optionNos) {
+		return sqlSession.selectList("ordersitem.selectSnapshotList", optionNos);
+	}
+	
+	
+	// 주문내역 일괄 추가
 	@Override
-	public List<OrdersItemVo> getTimeOverList(Long ordersTime) {
-		return sqlSession.selectList("ordersitem.getTimeOverList", ordersTime);
+	public Integer insertAll(List<OrdersItemVo> ordersItemList) {
+		return sqlSession.insert("ordersitem.insertAll", ordersItemList);
 	}
 	
 }
@@ -0,0 +1,193 @@
+package com.cafe24.mhmall.scheduler;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cafe24.mhmall.repository.MaintenanceDao;
+import com.cafe24.mhmall.service.BasketService;
+import com.cafe24.mhmall.service.OrdersIntakeService;
+import com.cafe24.mhmall.service.OrdersService;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+
+// 정리 작업 스케줄러
+// 시간이 초과된 주문대기 주문 취소, 비회원 장바구니 삭제를 요청 쓰레드가 아닌 별도 쓰레드에서 batchSize 단위로 처리한다.
+// 주문 접수 큐에서 intake-expire-seconds 가 지나도록 처리되지 않은 접수는 실패로 바꾸고 줄였던 재고를 되돌린다.(접수 처리 작업이 꺼져있거나 계속 실패할 때)
+// 서버가 여러대여도 maintenance_lock 잠금을 가진 한 서버에서만 실행된다.
+@Component
+@ConditionalOnProperty(name = "mhmall.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class MaintenanceScheduler {
+
+	private static final String LOCK_NAME = "maintenance";
+	private final static Long ORDERS_TIME = 2592000L;	// 1개월
+	private final static Long BASKET_TIME = 2592000L;	// 1개월
+
+	@Autowired
+	MaintenanceDao maintenanceDao;
+
+	@Autowired
+	OrdersService ordersService;
+
+	@Autowired
+	BasketService basketService;
+
+	@Autowired
+	OrdersIntakeService ordersIntakeService;
+
+	@Value("${mhmall.maintenance.fixed-delay-ms:600000}")
+	long fixedDelay;
+
+	@Value("${mhmall.maintenance.batch-size:500}")
+	int batchSize;
+
+	@Value("${mhmall.maintenance.max-batches:100}")
+	int maxBatches;
+
+	@Value("${mhmall.maintenance.lease-seconds:600}")
+	long leaseSeconds;
+
+	@Value("${mhmall.orders.intake.expire-seconds:1800}")
+	long intakeExpireSeconds;
+
+	// 이 서버의 잠금 소유자 이름
+	private final String owner = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+	private volatile long lastEndTime = 0L;
+	private volatile Map<String, Object> lastRun = new HashMap<String, Object>();
+	private long totalOrders = 0L;
+	private long totalBaskets = 0L;
+	private long totalIntakes = 0L;
+	private long failedRuns = 0L;
+
+
+	@Scheduled(fixedDelayString = "${mhmall.maintenance.fixed-delay-ms:600000}", initialDelayString = "${mhmall.maintenance.initial-delay-ms:60000}")
+	public void run() {
+		long startTime = System.currentTimeMillis();
+
+		// 예정된 시간보다 늦게 시작한 시간
+		long lag = lastEndTime == 0L ? 0L : Math.max(0L, startTime - (lastEndTime + fixedDelay));
+
+		// 다른 서버가 실행중이면 넘어감
+		if(!tryLock()) {
+			lastEndTime = System.currentTimeMillis();
+			return;
+		}
+
+		int ordersCnt = 0;
+		int basketCnt = 0;
+		int intakeCnt = 0;
+		String error = null;
+		try {
+			// 시간이 초과된 주문대기 상태의 주문들 주문취소 처리
+			for(int i=0;i<maxBatches;i++) {
+				Integer count = ordersService.cancelTimeOverOrders(ORDERS_TIME, batchSize);
+				ordersCnt += count;
+				if(count < batchSize || !tryLock()) break;
+			}
+
+			// 시간이 초과된 비회원 장바구니들은 삭제
+			for(int i=0;i<maxBatches;i++) {
+				Integer count = basketService.deleteTimeOver(BASKET_TIME, batchSize);
+				basketCnt += count;
+				if(count < batchSize || !tryLock()) break;
+			}
+
+			// 시간이 초과된 주문 접수는 실패 처리(줄였던 재고 복구)
+			for(int i=0;i<maxBatches;i++) {
+				List<OrdersIntakeVo> list = ordersIntakeService.getExpiredList(intakeExpireSeconds, batchSize);
+				for(OrdersIntakeVo vo : list) {
+					if(ordersIntakeService.fail(vo.getNo(), "처리 시간 초과")) intakeCnt++;
+				}
+				if(list.size() < batchSize || !tryLock()) break;
+			}
+		} catch(RuntimeException e) {
+			// 실패는 실행 결과(error, totalFailedRuns)로 확인한다.
+			error = e.getClass().getSimpleName() + " : " + e.getMessage();
+		} finally {
+			releaseLock();
+		}
+
+		long endTime = System.currentTimeMillis();
+		lastEndTime = endTime;
+
+		// 실행 결과 기록
+		Map<String, Object> run = new HashMap<String, Object>();
+		run.put("owner", owner);
+		run.put("startTime", startTime);
+		run.put("durationMs", endTime - startTime);
+		run.put("lagMs", lag);
+		run.put("canceledOrders", ordersCnt);
+		run.put("deletedBaskets", basketCnt);
+		run.put("expiredIntakes", intakeCnt);
+		run.put("error", error);
+		synchronized(this) {
+			totalOrders += ordersCnt;
+			totalBaskets += basketCnt;
+			totalIntakes += intakeCnt;
+			if(error != null) failedRuns++;
+			run.put("totalCanceledOrders", totalOrders);
+			run.put("totalDeletedBaskets", totalBaskets);
+			run.put("totalExpiredIntakes", totalIntakes);
+			run.put("totalFailedRuns", failedRuns);
+		}
+		lastRun = run;
+	}
+
+
+	// 마지막 실행 결과
+	public Map<String, Object> getLastRun() {
+		return lastRun;
+	}
+
+
+	@PreDestroy
+	public void destroy() {
+		releaseLock();
+	}
+
+
+	// 잠금 획득(이미 가지고 있으면 연장)
+	private boolean tryLock() {
+		maintenanceDao.insertLock(LOCK_NAME);
+		return maintenanceDao.updateLock(lockMap()) == 1;
+	}
+
+
+	// 잠금 해제
+	private void releaseLock() {
+		try {
+			maintenanceDao.releaseLock(lockMap());
+		} catch(RuntimeException e) {
+			// 잠금시간이 지나면 자동으로 풀린다.
+		}
+	}
+
+
+	private Map<String, Object> lockMap() {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("name", LOCK_NAME);
+		map.put("owner", owner);
+		map.put("leaseSeconds", leaseSeconds);
+		return map;
+	}
+
+
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch(Exception e) {
+			return "unknown";
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.cafe24.mhmall.scheduler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.cafe24.mhmall.service.OrdersIntakeService;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+
+// 주문 접수 큐 처리
+// 처리 전인 접수를 batchSize 개씩 한 트랜잭션으로 처리하고, 배치가 실패하면 하나씩 다시 처리해서 실패한 접수만 "실패"(재고 복구)로 남긴다.
+// 일시적인 오류(교착, 잠금 대기시간 초과, 연결 끊김)는 retry-delay-seconds 부터 두배씩 늘려가며 max-attempts 번까지 다시 처리한다.
+// 서버가 여러대여도 접수 행을 잠그고 처리하므로 같은 접수를 두번 처리하지 않는다.
+@Component
+@ConditionalOnProperty(name = "mhmall.orders.intake.enabled", havingValue = "true", matchIfMissing = true)
+public class OrdersIntakeWorker {
+	private static final int MAX_RETRY_DELAY_SECONDS = 600;
+
+	@Autowired
+	OrdersIntakeService ordersIntakeService;
+
+	@Value("${mhmall.orders.intake.batch-size:100}")
+	int batchSize;
+
+	@Value("${mhmall.orders.intake.max-batches:50}")
+	private int maxBatches;
+
+	@Value("${mhmall.orders.intake.retention-seconds:86400}")
+	private long retentionSeconds;
+
+	@Value("${mhmall.orders.intake.max-attempts:8}")
+	int maxAttempts;
+
+	@Value("${mhmall.orders.intake.retry-delay-seconds:5}")
+	int retryDelaySeconds;
+
+	private final AtomicLong processedCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+	private final AtomicLong retryCount = new AtomicLong();
+	private final AtomicLong batchCount = new AtomicLong();
+	private final AtomicLong fallbackCount = new AtomicLong();
+	private volatile long lastRunTime = 0L;
+	private volatile String lastError = null;
+
+
+	@Scheduled(fixedDelayString = "${mhmall.orders.intake.poll-ms:200}", initialDelayString = "${mhmall.orders.intake.poll-ms:200}")
+	public void run() {
+		try {
+			for(int i=0;i<maxBatches;i++) {
+				int count;
+				try {
+					count = ordersIntakeService.processBatch(batchSize);
+					processedCount.addAndGet(count);
+				} catch(RuntimeException e) {
+					lastError = e.getMessage();
+					fallbackCount.incrementAndGet();
+					count = processEach();
+				}
+				if(count > 0) batchCount.incrementAndGet();
+				if(count < batchSize) break;
+			}
+
+			// 처리가 끝난 접수 정리
+			ordersIntakeService.deleteDone(retentionSeconds, batchSize);
+		} catch(RuntimeException e) {
+			// 다음 실행에서 다시 처리(getStats 의 lastError)
+			lastError = e.getClass().getSimpleName() + " : " + e.getMessage();
+		}
+		lastRunTime = System.currentTimeMillis();
+	}
+
+
+	// 하나씩 처리(일시적인 오류는 나중에 다시, 그 외 오류는 실패로 기록)
+	int processEach() {
+		List<OrdersIntakeVo> list = ordersIntakeService.getWaitList(batchSize);
+		for(OrdersIntakeVo vo : list) {
+			try {
+				if(ordersIntakeService.process(vo.getNo())) processedCount.incrementAndGet();
+			} catch(RuntimeException e) {
+				int attempts = vo.getAttempts() == null ? 0 : vo.getAttempts();
+				if(isTransient(e) && attempts + 1 < maxAttempts) {
+					if(ordersIntakeService.retry(vo.getNo(), e.getMessage(), retryDelay(attempts))) retryCount.incrementAndGet();
+				}else {
+					if(ordersIntakeService.fail(vo.getNo(), e.getMessage())) failedCount.incrementAndGet();
+				}
+				lastError = vo.getOrdersNo() + " : " + e.getClass().getSimpleName() + " : " + e.getMessage();
+			}
+		}
+		return list.size();
+	}
+
+
+	// 다시 처리하면 성공할 수 있는 오류(교착, 잠금 대기시간 초과, 연결 끊김)
+	// 잘못된 주문 정보, 제약조건 위반 등은 다시 해도 같으므로 바로 실패
+	static boolean isTransient(Throwable e) {
+		for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if(cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+					|| cause instanceof DataAccessResourceFailureException || cause instanceof CannotCreateTransactionException) return true;
+		}
+		return false;
+	}
+
+
+	// 다시 처리할 때까지 기다리는 시간(두배씩, 최대 MAX_RETRY_DELAY_SECONDS)
+	private int retryDelay(int attempts) {
+		return (int)Math.min((long)retryDelaySeconds << Math.min(attempts, 20), MAX_RETRY_DELAY_SECONDS);
+	}
+
+
+	// 처리 전인 접수 개수, 처리/실패 수
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("waitCount", ordersIntakeService.countWait());
+		stats.put("processedCount", processedCount.get());
+		stats.put("failedCount", failedCount.get());
+		stats.put("retryCount", retryCount.get());
+		stats.put("batchCount", batchCount.get());
+		stats.put("fallbackCount", fallbackCount.get());
+		stats.put("lastRunTime", lastRunTime);
+		stats.put("lastError", lastError);
+		return stats;
+	}
+
+}
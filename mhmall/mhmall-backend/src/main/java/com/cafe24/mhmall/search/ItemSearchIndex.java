@@ -0,0 +1,365 @@
+package com.cafe24.mhmall.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cafe24.mhmall.cache.CacheInvalidationBus;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
+import com.cafe24.mhmall.repository.ItemDao;
+import com.cafe24.mhmall.vo.ItemVo;
+
+// 상품 검색 색인(상품명, 상품설명)
+// 글자 단위 1-gram, 2-gram 으로 색인해서 한글도 띄어쓰기 없이 부분 검색이 되도록 한다.
+// 서버 시작 후 전체 상품으로 만들고, 상품 등록/수정/삭제/진열여부 수정 때 해당 상품만 다시 색인한다.
+// 다른 서버의 상품 수정은 CacheInvalidationBus 의 ITEM 알림으로 받는다.
+// 공백으로 나눈 단어가 모두 상품명이나 상품설명에 있는 상품을 찾는다.
+// 색인을 쓰지 않을 때(색인 준비 전, mhmall.search.enabled=false)는 이전과 같이 DB 에서 상품명에 검색어 전체가 있는 상품을 찾으므로 결과가 다를 수 있다.
+@Component
+public class ItemSearchIndex {
+
+	private static final int NAME_SCORE = 10;		// 상품명에 검색어가 있을 때 점수
+	private static final int NAME_START_SCORE = 5;	// 상품명이 검색어로 시작할 때 추가 점수
+	private static final int DESCRIPTION_SCORE = 1;	// 상품설명에 검색어가 있을 때 점수(횟수만큼)
+
+	@Autowired
+	ItemDao itemDao;
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
+	@Value("${mhmall.search.enabled:true}")
+	boolean enabled;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Doc> docs = new HashMap<Long, Doc>();
+	private final Map<String, Set<Long>> postings = new HashMap<String, Set<Long>>();
+	private volatile boolean built = false;
+
+	private volatile long buildTimeMs = 0L;
+	private volatile long lastBuildTime = 0L;
+	private final AtomicLong buildCount = new AtomicLong();
+	private final AtomicLong searchCount = new AtomicLong();
+	private final AtomicLong updateCount = new AtomicLong();
+
+
+	@PostConstruct
+	public void init() {
+		// 다른 서버에서 수정된 상품 다시 색인
+		cacheInvalidationBus.subscribe(Region.ITEM.name(), key -> {
+			if(key == null) rebuild();
+			else reload(Long.valueOf(key));
+		});
+	}
+
+
+	// 서버 시작 후 전체 색인
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		if(enabled) rebuild();
+	}
+
+
+	// 검색 가능한 상태인지
+	public boolean isAvailable() {
+		return enabled && built;
+	}
+
+
+	// 전체 상품 다시 색인
+	public void rebuild() {
+		long startTime = System.currentTimeMillis();
+		List<ItemVo> itemList = itemDao.selectList(new ItemVo());
+
+		lock.writeLock().lock();
+		try {
+			docs.clear();
+			postings.clear();
+			for(ItemVo itemVo : itemList) addDoc(itemVo);
+			built = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		// 색인 상품수, 시간은 getStats 로 확인
+		buildTimeMs = System.currentTimeMillis() - startTime;
+		lastBuildTime = startTime;
+		buildCount.incrementAndGet();
+	}
+
+
+	// 상품 하나 다시 색인(등록, 수정, 진열여부 수정, 삭제)
+	// 트랜잭션 안이면 커밋된 뒤에 DB에서 다시 읽는다.
+	public void update(final Long no) {
+		if(no == null || !enabled) return;
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					reload(no);
+				}
+			});
+			return;
+		}
+		reload(no);
+	}
+
+
+	// 검색(categoryNo가 null이면 전체 카테고리), 진열중인 상품만
+	// 점수 순(같으면 최근 상품 순)으로 정렬된 상품번호 중 startNum 부터 cnt 개와 전체 개수
+	public SearchResult search(String kwd, Long categoryNo, int startNum, int cnt) {
+		searchCount.incrementAndGet();
+		List<String> words = words(kwd);
+		if(words.isEmpty()) return new SearchResult(new ArrayList<Long>(), 0);
+
+		// 검색어의 모든 n-gram 이 들어있는 상품 후보
+		Set<String> grams = new LinkedHashSet<String>();
+		for(String word : words) grams.addAll(queryGrams(word));
+
+		List<Scored> scoredList = new ArrayList<Scored>();
+		lock.readLock().lock();
+		try {
+			Set<Long> candidates = candidates(grams);
+			for(Long no : candidates) {
+				Doc doc = docs.get(no);
+				if(!doc.display) continue;
+				if(categoryNo != null && !categoryNo.equals(doc.categoryNo)) continue;
+
+				int score = score(doc, words);
+				if(score > 0) scoredList.add(new Scored(no, score));
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		Collections.sort(scoredList, (a, b) -> a.score != b.score ? Integer.compare(b.score, a.score) : Long.compare(b.no, a.no));
+
+		List<Long> nos = new ArrayList<Long>();
+		for(int i=Math.max(startNum, 0);i<scoredList.size() && nos.size()<cnt;i++) nos.add(scoredList.get(i).no);
+		return new SearchResult(nos, scoredList.size());
+	}
+
+
+	// 색인 상태
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		lock.readLock().lock();
+		try {
+			stats.put("docCount", docs.size());
+			stats.put("termCount", postings.size());
+		} finally {
+			lock.readLock().unlock();
+		}
+		stats.put("enabled", enabled);
+		stats.put("built", built);
+		stats.put("buildTimeMs", buildTimeMs);
+		stats.put("lastBuildTime", lastBuildTime);
+		stats.put("buildCount", buildCount.get());
+		stats.put("searchCount", searchCount.get());
+		stats.put("updateCount", updateCount.get());
+		return stats;
+	}
+
+
+	// DB에서 상품 하나를 읽어서 색인 교체
+	private void reload(Long no) {
+		if(!built) return;
+		ItemVo itemVo = itemDao.selectOne(no);
+
+		lock.writeLock().lock();
+		try {
+			removeDoc(no);
+			if(itemVo != null) addDoc(itemVo);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		updateCount.incrementAndGet();
+	}
+
+
+	private void addDoc(ItemVo itemVo) {
+		Doc doc = new Doc(itemVo.getNo(), itemVo.getCategoryNo(), "TRUE".equals(itemVo.getDisplay()),
+				normalize(itemVo.getName()), normalize(itemVo.getDescription()));
+		docs.put(doc.no, doc);
+		for(String gram : doc.grams()) {
+			Set<Long> nos = postings.get(gram);
+			if(nos == null) {
+				nos = new HashSet<Long>();
+				postings.put(gram, nos);
+			}
+			nos.add(doc.no);
+		}
+	}
+
+
+	private void removeDoc(Long no) {
+		Doc doc = docs.remove(no);
+		if(doc == null) return;
+		for(String gram : doc.grams()) {
+			Set<Long> nos = postings.get(gram);
+			if(nos == null) continue;
+			nos.remove(no);
+			if(nos.isEmpty()) postings.remove(gram);
+		}
+	}
+
+
+	// 가장 작은 목록부터 교집합
+	private Set<Long> candidates(Set<String> grams) {
+		List<Set<Long>> lists = new ArrayList<Set<Long>>();
+		for(String gram : grams) {
+			Set<Long> nos = postings.get(gram);
+			if(nos == null) return Collections.emptySet();
+			lists.add(nos);
+		}
+		Collections.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+		Set<Long> result = new HashSet<Long>(lists.get(0));
+		for(int i=1;i<lists.size() && !result.isEmpty();i++) result.retainAll(lists.get(i));
+		return result;
+	}
+
+
+	// n-gram 은 후보만 거르므로 검색어 전체가 실제로 들어있는지 확인하면서 점수 계산
+	private int score(Doc doc, List<String> words) {
+		int score = 0;
+		for(String word : words) {
+			int wordScore = 0;
+			if(doc.name.contains(word)) {
+				wordScore += NAME_SCORE;
+				if(doc.name.startsWith(word)) wordScore += NAME_START_SCORE;
+			}
+			wordScore += DESCRIPTION_SCORE * count(doc.description, word);
+
+			// 모든 검색어가 들어있어야 함
+			if(wordScore == 0) return 0;
+			score += wordScore;
+		}
+		return score;
+	}
+
+
+	private static int count(String text, String word) {
+		int count = 0;
+		int index = text.indexOf(word);
+		while(index != -1) {
+			count++;
+			index = text.indexOf(word, index + word.length());
+		}
+		return count;
+	}
+
+
+	// 소문자, 한글 자모 합치기(NFKC)
+	static String normalize(String text) {
+		if(text == null) return "";
+		return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+	}
+
+
+	// 검색어를 공백으로 나눈 단어들
+	static List<String> words(String kwd) {
+		List<String> words = new ArrayList<String>();
+		for(String word : normalize(kwd).split("\\s+")) {
+			if(!word.isEmpty() && !words.contains(word)) words.add(word);
+		}
+		return words;
+	}
+
+
+	// 검색어 단어의 n-gram(한글자면 1-gram, 아니면 2-gram)
+	static List<String> queryGrams(String word) {
+		List<String> grams = new ArrayList<String>();
+		if(word.length() == 1) {
+			grams.add(word);
+			return grams;
+		}
+		for(int i=0;i<word.length()-1;i++) grams.add(word.substring(i, i + 2));
+		return grams;
+	}
+
+
+	// 색인할 n-gram(단어별 1-gram, 2-gram)
+	static Set<String> indexGrams(String text) {
+		Set<String> grams = new HashSet<String>();
+		for(String word : text.split("\\s+")) {
+			for(int i=0;i<word.length();i++) {
+				grams.add(word.substring(i, i + 1));
+				if(i < word.length() - 1) grams.add(word.substring(i, i + 2));
+			}
+		}
+		return grams;
+	}
+
+
+	// 검색 결과(현재 페이지의 상품번호, 전체 개수)
+	public static class SearchResult {
+		private final List<Long> nos;
+		private final int total;
+
+		public SearchResult(List<Long> nos, int total) {
+			this.nos = nos;
+			this.total = total;
+		}
+		public List<Long> getNos() {
+			return nos;
+		}
+		public int getTotal() {
+			return total;
+		}
+	}
+
+
+	private static class Doc {
+		private final Long no;
+		private final Long categoryNo;
+		private final boolean display;
+		private final String name;
+		private final String description;
+
+		private Doc(Long no, Long categoryNo, boolean display, String name, String description) {
+			this.no = no;
+			this.categoryNo = categoryNo;
+			this.display = display;
+			this.name = name;
+			this.description = description;
+		}
+
+		private Set<String> grams() {
+			Set<String> grams = indexGrams(name);
+			grams.addAll(indexGrams(description));
+			return grams;
+		}
+	}
+
+
+	private static class Scored {
+		private final Long no;
+		private final int score;
+
+		private Scored(Long no, int score) {
+			this.no = no;
+			this.score = score;
+		}
+	}
+
+}
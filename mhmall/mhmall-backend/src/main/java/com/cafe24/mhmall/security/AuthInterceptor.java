@@ -19,6 +19,9 @@ public class AuthInterceptor extends HandlerInterceptorAdapter {
 	
 	@Autowired
 	MemberService memberService;
+	
+	@Autowired
+	AuthMemberCache authMemberCache;
 
 	@Override
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
@@ -81,9 +84,16 @@ public class AuthInterceptor extends HandlerInterceptorAdapter {
 		memberVo.setId(auth_split[0]);
 		memberVo.setPassword(auth_split[1]);
 		
-		// 회원정보가 없으면 실패
+		// 캐시에 없으면 회원정보 조회
 		//MemberVo authMember = memberService.login(memberVo);
-		MemberVo authMember = memberService.getById(memberVo);
+		MemberVo authMember = authMemberCache.get(basic_split[1]);
+		if(authMember == null) {
+			long stamp = authMemberCache.stamp();
+			authMember = memberService.getById(memberVo);
+			if(authMember != null) authMemberCache.put(basic_split[1], authMember, stamp);
+		}
+		
+		// 회원정보가 없으면 실패
 		if(authMember == null) {
 			response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
 			response.setHeader("WWW-Authenticate", "Basic realm=\"id:password\"");
@@ -91,6 +101,10 @@ public class AuthInterceptor extends HandlerInterceptorAdapter {
 		}
 		
 		
+		// 같은 요청의 @AuthUser에서 다시 조회하지 않도록 저장
+		request.setAttribute(AuthMemberCache.REQUEST_ATTRIBUTE, authMember);
+		
+		
 		//7. Role 가져오기
 		Auth.Role role = auth.role();
 		
@@ -0,0 +1,189 @@
+package com.cafe24.mhmall.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cafe24.mhmall.cache.CacheInvalidationBus;
+import com.cafe24.mhmall.vo.MemberVo;
+
+// 인증정보(MyAuthorization) -> 회원정보 캐시
+// 인증정보는 해시값으로만 보관하고, 최대개수(LRU)와 유효시간을 넘으면 지운다.
+// 회원수정/삭제로 지울 때는 CacheInvalidationBus 로 다른 서버에도 알린다.
+// 지우기 전에 읽은 회원정보가 지운 뒤에 저장되지 않도록, 읽기 전에 stamp() 를 받아서 put 에 넘긴다.
+// (그 사이에 지운 적이 있으면 저장하지 않음)
+@Component
+public class AuthMemberCache {
+
+	// 한 요청안에서 인터셉터와 ArgumentResolver가 같이 쓰는 회원정보
+	public static final String REQUEST_ATTRIBUTE = "mhmall.authMember";
+	private static final String REGION = "MEMBER";
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
+	@Value("${mhmall.auth-cache.max-size:10000}")
+	private int maxSize;
+
+	@Value("${mhmall.auth-cache.ttl-seconds:300}")
+	private long ttlSeconds;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong invalidateCount = new AtomicLong();
+
+	private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > maxSize;
+		}
+	};
+
+
+	@PostConstruct
+	public void init() {
+		// 다른 서버에서 지운 회원 지우기
+		cacheInvalidationBus.subscribe(REGION, idHash -> invalidateLocal(idHash));
+	}
+
+
+	// 인증정보로 회원정보 찾기(없거나 유효시간이 지나면 null)
+	public MemberVo get(String credential) {
+		String key = hash(credential);
+		Entry entry;
+		synchronized(cache) {
+			entry = cache.get(key);
+			if(entry != null && entry.expireTime < System.currentTimeMillis()) {
+				cache.remove(key);
+				entry = null;
+			}
+		}
+
+		if(entry == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+
+		hitCount.incrementAndGet();
+		return copy(entry.memberVo);
+	}
+
+
+	// 회원정보를 읽기 전에 받는 값(put 에 넘김)
+	public long stamp() {
+		return invalidateCount.get();
+	}
+
+
+	// 회원정보 저장(stamp 이후에 지운 적이 있으면 저장하지 않음)
+	public void put(String credential, MemberVo memberVo, long stamp) {
+		Entry entry = new Entry(copy(memberVo), hash(memberVo.getId()), System.currentTimeMillis() + ttlSeconds * 1000);
+		String key = hash(credential);
+		synchronized(cache) {
+			if(invalidateCount.get() != stamp) return;
+			cache.put(key, entry);
+		}
+	}
+
+
+	// 회원 아이디로 캐시 지우기(회원수정, 회원삭제)
+	public void invalidate(String id) {
+		if(id == null) return;
+		// 다른 서버에는 아이디 원문 대신 해시값으로 알린다.
+		final String idHash = hash(id);
+		invalidateLocal(idHash);
+
+		// 트랜잭션 안이면 끝난 뒤 한번 더 지운다.(커밋 전에 다른 요청이 이전 값을 다시 캐시하는 것 방지)
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					invalidateLocal(idHash);
+				}
+			});
+		}
+		cacheInvalidationBus.publish(REGION, idHash);
+	}
+
+
+	// 이 서버의 캐시만 지우기(idHash가 null이면 전체)
+	private void invalidateLocal(String idHash) {
+		synchronized(cache) {
+			invalidateCount.incrementAndGet();
+			if(idHash == null) {
+				cache.clear();
+				return;
+			}
+
+			// 아이디 해시는 저장할 때 계산해둔 값으로 비교
+			Iterator<Entry> iterator = cache.values().iterator();
+			while(iterator.hasNext()) {
+				if(idHash.equals(iterator.next().idHash)) iterator.remove();
+			}
+		}
+	}
+
+
+	// 캐시 상태
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		synchronized(cache) {
+			stats.put("size", cache.size());
+		}
+		stats.put("maxSize", maxSize);
+		stats.put("ttlSeconds", ttlSeconds);
+		stats.put("hitCount", hitCount.get());
+		stats.put("missCount", missCount.get());
+		return stats;
+	}
+
+
+	// 인증정보 원문은 보관하지 않는다.
+	private String hash(String credential) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(credential.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	// 캐시된 객체를 호출하는 쪽에서 바꾸지 못하도록 복사해서 사용
+	private MemberVo copy(MemberVo memberVo) {
+		MemberVo newMemberVo = new MemberVo(memberVo.getId(), memberVo.getPassword(), memberVo.getName(), memberVo.getPhone(),
+				memberVo.getEmail(), memberVo.getZipcode(), memberVo.getAddr(), memberVo.getRegDate(), memberVo.getRole(), null);
+		newMemberVo.setMockToken(memberVo.getMockToken());
+		return newMemberVo;
+	}
+
+
+	private static class Entry {
+		private final MemberVo memberVo;
+		private final String idHash;
+		private final long expireTime;
+
+		private Entry(MemberVo memberVo, String idHash, long expireTime) {
+			this.memberVo = memberVo;
+			this.idHash = idHash;
+			this.expireTime = expireTime;
+		}
+	}
+
+}
@@ -22,6 +22,9 @@ public class AuthUserHandlerMethodArgumentResolver implements HandlerMethodArgum
 
 	@Autowired
 	MemberService memberService;
+	
+	@Autowired
+	AuthMemberCache authMemberCache;
 
 	@Override
 	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
@@ -33,6 +36,12 @@ public class AuthUserHandlerMethodArgumentResolver implements HandlerMethodArgum
 		
 		// @AuthUser가 붙어있음
 		HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+		
+		// 인터셉터에서 이미 조회한 회원정보
+		Object requestMember = request.getAttribute(AuthMemberCache.REQUEST_ATTRIBUTE);
+		if(requestMember != null) {
+			return requestMember;
+		}
 
 		String MyAuthorization = request.getHeader("MyAuthorization");
 		
@@ -57,9 +66,14 @@ public class AuthUserHandlerMethodArgumentResolver implements HandlerMethodArgum
 		memberVo.setId(auth_split[0]);
 		memberVo.setPassword(auth_split[1]);
 		
-		// 회원정보
+		// 회원정보(캐시에 없으면 조회)
 		//MemberVo authMember = memberService.login(memberVo);
-		MemberVo authMember = memberService.getById(memberVo);
+		MemberVo authMember = authMemberCache.get(basic_split[1]);
+		if(authMember == null) {
+			long stamp = authMemberCache.stamp();
+			authMember = memberService.getById(memberVo);
+			if(authMember != null) authMemberCache.put(basic_split[1], authMember, stamp);
+		}
 		return authMember;
 	}
 
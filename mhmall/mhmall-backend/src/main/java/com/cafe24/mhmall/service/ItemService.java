@@ -17,6 +17,7 @@ public interface ItemService {
 	boolean edit(ItemVo itemVo);					// 상품 수정
 	boolean editDisplay(Long no, String display);	// 상품진열여부 수정
 	ItemsVo getListU(Optional<Long> categoryNo, Optional<Integer> pages, Optional<String> kwd);			// 사용자 상품리스트
+	ItemsVo getListSeek(Long categoryNo, String cursor, String kwd);										// 사용자 상품리스트(커서, 잘못된 커서면 null)
 	List<ItemVo> getNewList(ItemVo vo);				// 최근 상품리스트
 	List<MainImgVo> getNewImgList(Integer showCnt);	// 최근 메인 이미지 리스트 요청
 
@@ -15,7 +15,8 @@ public interface OptionService {
 	OptionVo getByNo(Long no);										// 옵션번호로 옵션하나 받아오기
 	boolean isExistAllOption(Long[] optionNos);						// 존재하는 옵션들인지 확인
 	boolean isExistAllCnt(Long[] optionNos, Integer[] optionCnts);	// 옵션의 재고가 있는지 확인
-	Long moneySum(Long[] optionNos, Integer[] optionCnts);			// 금액계산
+	List<Long> reserveAllCnt(Long[] optionNos, Integer[] optionCnts);	// 옵션 재고 일괄 예약(재고가 부족한 옵션번호 리턴)
+	Long moneySum(List<OrdersItemVo> ordersItemList);				// 금액계산(주문상품 정보의 가격 x 수량)
 	boolean restoreCnt(List<OrdersItemVo> ordersItemList);			// 구매한 수량만큼 재고량 복구
 	boolean isExistOption(Long optionNos);							// 존재하는 옵션인지 확인
 	boolean isExistCnt(Long optionNos, Long optionCnts);			// 옵션의 재고가 수량만큼 존재하는지 확인
@@ -0,0 +1,25 @@
+package com.cafe24.mhmall.service;
+
+import java.util.List;
+
+import com.cafe24.mhmall.vo.OrdersIntakePayloadVo;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+
+public interface OrdersIntakeService {
+
+	String scope(String memberId, String guestName, String guestPhone);		// 요청한 사람(회원 아이디, 비회원 이름+전화번호)
+	String requestHash(Long[] optionNos, Integer[] optionCnts, OrdersIntakePayloadVo payload);	// 요청 내용 해시
+	OrdersIntakeVo getByKey(String scope, String idempotencyKey, String guestPassword);	// 요청한 사람의 키로 접수 찾기(비회원은 비밀번호 확인)
+	OrdersIntakeVo getAccepted(String scope, String idempotencyKey);			// 같은 키로 먼저 접수된 요청
+	boolean isFull();															// 처리 전인 접수가 최대개수 이상인지
+	Integer countWait();														// 처리 전인 접수 개수
+	String accept(String scope, String idempotencyKey, String requestHash, String memberId, OrdersIntakePayloadVo payload);	// 접수(주문번호 리턴, 이미 있는 키면 null)
+	Integer processBatch(Integer batchSize);									// 처리 전인 접수 batchSize개를 한 트랜잭션으로 처리
+	List<OrdersIntakeVo> getWaitList(Integer batchSize);						// 처리 전인 접수 리스트(잠금 없이)
+	List<OrdersIntakeVo> getExpiredList(Long expireSeconds, Integer batchSize);	// 시간이 초과된 처리 전 접수 리스트
+	boolean process(Long no);													// 접수 하나 처리
+	boolean retry(Long no, String error, Integer delaySeconds);				// 일시적인 오류(delaySeconds 뒤에 다시 처리)
+	boolean fail(Long no, String error);										// 처리 실패(재고 복구)
+	Integer deleteDone(Long retentionSeconds, Integer batchSize);				// 처리가 끝난 접수 삭제
+
+}
@@ -3,11 +3,13 @@ package com.cafe24.mhmall.service;
 import java.util.List;
 
 import com.cafe24.mhmall.vo.OrdersItemVo;
+import com.cafe24.mhmall.vo.OrdersVo;
 
 public interface OrdersItemService {
 
 	List<OrdersItemVo> getListByOrdersNo(String ordersNo);					// 주문번호로 주문상품 리스트
-	boolean add(String ordersNo, Long[] optionNos, Integer[] optionCnts);	// 주문내역 일괄 추가
-	List<OrdersItemVo> getTimeOverList(Long ordersTime);					// 초과된 주문의 번호에 해당하는 옵션번호와 수량 리스트를 받음
+	List<OrdersVo> fillOrdersItemList(List<OrdersVo> ordersList);			// 주문리스트에 주문상품 리스트 채우기
+	List<OrdersItemVo> getSnapshotList(Long[] optionNos, Integer[] optionCnts);	// 주문상품 정보(상품명, 옵션명, 가격)를 주문수량과 함께 받기
+	boolean add(String ordersNo, List<OrdersItemVo> ordersItemList);			// 주문내역 일괄 추가
 
 }
@@ -8,11 +8,12 @@ import com.cafe24.mhmall.vo.OrdersVo;
 
 public interface OrdersService {
 
-	List<OrdersVo> getList();													// 주문리스트
+	List<OrdersVo> getList(String lastOrdersNo);								// 주문리스트(lastOrdersNo 다음부터 LIST_CNT개)
 	OrdersVo getByOrdersNo(String ordersNo);									// 주문상세
 	boolean changeStatus(String ordersNo, String status);						// 상태 변경
 	boolean changeTrackingNum(String ordersNo, String trackingNum);				// 운송장번호 변경
 	String guestOrdersAdd(Long money, String memberId);							// 주문 데이터 추가
+	String ordersAdd(String ordersNo, Long money, String memberId);				// 주문번호를 정해서 주문 데이터 추가
 	boolean isExistAndValid(GuestVo vo);										// 존재하는 주문이고 상태가 "주문대기"인지 확인
 	boolean ordersPost(String ordersNo, OrdersVo vo);							// 주문에 받는사람 정보를 변경하고 상태를 "입금대기"로 변경
 	boolean isExistAndValidMember(String ordersNo, String id);					// 존재하는 주문이고 상태가 "주문대기"인지 확인(회원)
@@ -20,6 +21,6 @@ public interface OrdersService {
 	List<OrdersVo> getListByMemberId(String id);								// 회원 주문 리스트
 	boolean isExistAndEnableMember(OrdersVo vo, String id);						// 존재하고 주문대기 상태가 아닌 것(회원)
 	boolean equalsStatus(String ordersNo, String string);						// 상태가 입금 대기중인지 확인
-	boolean isExistTimeOverOrders(Long ordersTime);								// 시간이 초과된 주문대기 상태의 주문이 있는지 확인
+	Integer cancelTimeOverOrders(Long ordersTime, Integer batchSize);			// 시간이 초과된 주문대기 상태의 주문 일괄 취소(처리한 개수 리턴)
 	
 }
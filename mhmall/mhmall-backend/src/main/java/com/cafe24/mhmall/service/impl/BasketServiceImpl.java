@@ -1,6 +1,8 @@
 package com.cafe24.mhmall.service.impl;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -170,8 +172,11 @@ public class BasketServiceImpl implements BasketService {
 
 	// 시간이 초과된 비회원 장바구니들은 삭제
 	@Override
-	public Integer deleteTimeOver(Long basketTime) {
-		return basketDao.deleteTimeOver(basketTime);
+	public Integer deleteTimeOver(Long basketTime, Integer batchSize) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("basketTime", basketTime);
+		map.put("batchSize", batchSize);
+		return basketDao.deleteTimeOver(map);
 	}
 
 
@@ -1,6 +1,7 @@
 package com.cafe24.mhmall.service.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,8 @@ import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Service;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
 import com.cafe24.mhmall.repository.CategoryDao;
 import com.cafe24.mhmall.service.CategoryService;
 import com.cafe24.mhmall.vo.CategoryVo;
@@ -18,18 +21,22 @@ public class CategoryServiceImpl implements CategoryService {
 	
 	@Autowired
 	CategoryDao categoryDao;
+	
+	@Autowired
+	CatalogCache catalogCache;
 
 	// 카테고리 리스트 조회
 	@Override
 	public List<CategoryVo> getList() {
 
-		return categoryDao.getList();
+		return catalogCache.get(Region.CATEGORY, "list", () -> Collections.unmodifiableList(categoryDao.getList()));
 	}
 
 	// 카테고리 추가
 	@Override
 	public boolean add(CategoryVo categoryVo) {
 		Integer result = categoryDao.insert(categoryVo);
+		catalogCache.invalidateAll(Region.CATEGORY);
 		return result == 1;
 	}
 
@@ -37,6 +44,7 @@ public class CategoryServiceImpl implements CategoryService {
 	@Override
 	public boolean edit(CategoryVo categoryVo) {
 		Integer result = categoryDao.update(categoryVo);
+		catalogCache.invalidateAll(Region.CATEGORY);
 		return result == 1;
 	}
 
@@ -44,6 +52,7 @@ public class CategoryServiceImpl implements CategoryService {
 	@Override
 	public boolean delete(Long no) {
 		Integer result = categoryDao.delete(no);
+		catalogCache.invalidateAll(Region.CATEGORY);
 		return result == 1;
 	}
 
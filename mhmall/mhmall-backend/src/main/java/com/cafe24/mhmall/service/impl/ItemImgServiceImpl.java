@@ -1,11 +1,14 @@
 package com.cafe24.mhmall.service.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
 import com.cafe24.mhmall.repository.ItemImgDao;
 import com.cafe24.mhmall.service.ItemImgService;
 import com.cafe24.mhmall.vo.CategoryVo;
@@ -17,11 +20,14 @@ public class ItemImgServiceImpl implements ItemImgService {
 	@Autowired
 	ItemImgDao itemImgDao;
 	
+	@Autowired
+	CatalogCache catalogCache;
+	
 
 	// 상품번호에 속한 상품이미지 리스트
 	@Override
-	public List<ItemImgVo> getListByItemNo(Long itemNo) {
-		return itemImgDao.selectList(itemNo);
+	public List<ItemImgVo> getListByItemNo(final Long itemNo) {
+		return catalogCache.get(Region.ITEM_IMG, itemNo, () -> Collections.unmodifiableList(itemImgDao.selectList(itemNo)));
 	}
 
 
@@ -29,6 +35,7 @@ public class ItemImgServiceImpl implements ItemImgService {
 	@Override
 	public boolean add(ItemImgVo itemImgVo) {
 		Integer result = itemImgDao.insert(itemImgVo);
+		catalogCache.invalidate(Region.ITEM_IMG, itemImgVo.getItemNo());
 		return result == 1;
 	}
 
@@ -37,6 +44,9 @@ public class ItemImgServiceImpl implements ItemImgService {
 	@Override
 	public boolean delete(Long no) {
 		Integer result = itemImgDao.delete(no);
+		
+		// 이미지번호로는 상품번호를 모르므로 상품이미지 캐시 전체 지우기
+		catalogCache.invalidateAll(Region.ITEM_IMG);
 		return result == 1;
 	}
 	
@@ -1,6 +1,8 @@
 package com.cafe24.mhmall.service.impl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,7 +11,12 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
+import com.cafe24.mhmall.cache.ItemCountCache;
 import com.cafe24.mhmall.repository.ItemDao;
+import com.cafe24.mhmall.search.ItemSearchIndex;
+import com.cafe24.mhmall.search.ItemSearchIndex.SearchResult;
 import com.cafe24.mhmall.service.ItemService;
 import com.cafe24.mhmall.vo.ItemVo;
 import com.cafe24.mhmall.vo.ItemsVo;
@@ -20,10 +27,21 @@ import com.cafe24.mhmall.vo.Paging;
 public class ItemServiceImpl implements ItemService {
 	public static final int BOARD_CNT = 12;	//한번에 보여질 게시글
 	public static final int PAGE_CNT = 5;	//페이지 버튼 개수
+	private static final String CURSOR_NO = "n";	//커서 종류 : 마지막 상품번호
+	private static final String CURSOR_RANK = "r";	//커서 종류 : 검색 순위 위치
 	
 	@Autowired
 	ItemDao itemDao;
 	
+	@Autowired
+	CatalogCache catalogCache;
+	
+	@Autowired
+	ItemSearchIndex itemSearchIndex;
+	
+	@Autowired
+	ItemCountCache itemCountCache;
+	
 	
 	// 카테고리번호에 해당하는 아이템이 있는지?
 	@Override
@@ -46,6 +64,11 @@ public class ItemServiceImpl implements ItemService {
 	public boolean add(ItemVo itemVo) {
 		itemVo.setDisplay("FALSE");
 		Integer result = itemDao.insert(itemVo);
+		
+		// 다른 서버의 검색 색인에도 알리기 위해 캐시 지우기
+		catalogCache.invalidate(Region.ITEM, itemVo.getNo());
+		itemSearchIndex.update(itemVo.getNo());
+		itemCountCache.invalidate();
 		return result == 1;
 	}
 
@@ -54,14 +77,17 @@ public class ItemServiceImpl implements ItemService {
 	@Override
 	public boolean delete(Long no) {
 		Integer result = itemDao.delete(no);
+		catalogCache.invalidateItem(no);
+		itemSearchIndex.update(no);
+		itemCountCache.invalidate();
 		return result == 1;
 	}
 
 
 	// 상품번호로 상품정보
 	@Override
-	public ItemVo getByNo(Long no) {
-		return itemDao.selectOne(no);
+	public ItemVo getByNo(final Long no) {
+		return catalogCache.get(Region.ITEM, no, () -> itemDao.selectOne(no));
 	}
 
 
@@ -69,6 +95,9 @@ public class ItemServiceImpl implements ItemService {
 	@Override
 	public boolean edit(ItemVo itemVo) {
 		Integer result = itemDao.update(itemVo);
+		catalogCache.invalidate(Region.ITEM, itemVo.getNo());
+		itemSearchIndex.update(itemVo.getNo());
+		itemCountCache.invalidate();
 		return result == 1;
 	}
 
@@ -80,6 +109,9 @@ public class ItemServiceImpl implements ItemService {
 		itemVo.setNo(no);
 		itemVo.setDisplay(display);
 		Integer result = itemDao.updateDisplay(itemVo);
+		catalogCache.invalidate(Region.ITEM, no);
+		itemSearchIndex.update(no);
+		itemCountCache.invalidate();
 		return result == 1;
 	}
 
@@ -95,13 +127,20 @@ public class ItemServiceImpl implements ItemService {
 		if(kwd.isPresent()) kwdPath = kwd.get();
 		
 		if(categoryNoPath == -1L) categoryNoPath = null;
+		if(kwdPath != null && kwdPath.trim().isEmpty()) kwdPath = null;
 		
 		
-		// 회원 총 상품 개수
-		Map<String, Object> mapCnt = new HashMap<String, Object>();
-		mapCnt.put("categoryNo", categoryNoPath);
-		mapCnt.put("kwd", kwdPath);
-		int count = itemDao.countU(mapCnt);
+		// 검색어가 있으면 검색 색인에서 상품번호와 개수를 한번에 구함
+		SearchResult searchResult = null;
+		if(kwdPath != null && itemSearchIndex.isAvailable()) {
+			searchResult = itemSearchIndex.search(kwdPath, categoryNoPath, (pagesPath-1) * BOARD_CNT, BOARD_CNT);
+		}
+		
+		
+		// 회원 총 상품 개수(캐시, 페이지만 바뀌면 DB를 읽지 않음)
+		int count;
+		if(searchResult != null) count = searchResult.getTotal();
+		else count = itemCountCache.get(categoryNoPath, kwdPath);
 		//System.out.println("----------------------------------------- count : " + count);
 
 		
@@ -117,16 +156,118 @@ public class ItemServiceImpl implements ItemService {
 		
 		
 		// 리스트 구하기
-		Map<String, Object> daoMap = new HashMap<String, Object>();
-		daoMap.put("startNum", startNum);
-		daoMap.put("boardCnt", BOARD_CNT);
-		daoMap.put("kwd", kwdPath);
-		daoMap.put("categoryNo", categoryNoPath);
-		List<ItemVo> itemList = itemDao.selectListU(daoMap);
+		List<ItemVo> itemList;
+		if(searchResult != null) {
+			itemList = listByNos(searchResult.getNos());
+		} else {
+			Map<String, Object> daoMap = new HashMap<String, Object>();
+			daoMap.put("startNum", startNum);
+			daoMap.put("boardCnt", BOARD_CNT);
+			daoMap.put("kwd", kwdPath);
+			daoMap.put("categoryNo", categoryNoPath);
+			itemList = itemDao.selectListU(daoMap);
+		}
 		//System.out.println("----------------------------------------- itemList : " + itemList);
 		
 		return new ItemsVo(itemList, paging);
 	}
+	
+	
+	// 사용자 상품리스트(커서)
+	// 번호로 이어서 읽으므로 몇번째 페이지든 같은 비용, 전체 개수는 캐시된 대략적인 개수
+	// 이어서 읽는 방법은 커서 종류로 정하므로 중간에 검색 색인 상태가 바뀌어도 받은 커서는 계속 사용할 수 있다.
+	@Override
+	public ItemsVo getListSeek(Long categoryNo, String cursor, String kwd) {
+		if(categoryNo != null && categoryNo == -1L) categoryNo = null;
+		if(kwd != null && kwd.trim().isEmpty()) kwd = null;
+		
+		// 커서 종류(순위 위치, 마지막 상품번호)
+		Long offset = null;
+		Long lastNo = null;
+		if(cursor != null) {
+			offset = cursorValue(cursor, CURSOR_RANK);
+			lastNo = cursorValue(cursor, CURSOR_NO);
+			if(offset == null && lastNo == null) return null;
+		}
+		
+		List<ItemVo> itemList;
+		int count;
+		String nextCursor = null;
+		
+		if(offset != null || (cursor == null && kwd != null && itemSearchIndex.isAvailable())) {
+			// 순위 위치로 이어서 읽음
+			if(offset == null) offset = 0L;
+			
+			if(kwd != null && itemSearchIndex.isAvailable()) {
+				// 검색 색인 : 점수 순서
+				SearchResult searchResult = itemSearchIndex.search(kwd, categoryNo, offset.intValue(), BOARD_CNT);
+				itemList = listByNos(searchResult.getNos());
+				count = searchResult.getTotal();
+			} else {
+				// 색인을 쓸 수 없게 된 경우 DB 목록(상품명 검색)에서 위치로 읽음
+				Map<String, Object> daoMap = new HashMap<String, Object>();
+				daoMap.put("startNum", offset.intValue());
+				daoMap.put("boardCnt", BOARD_CNT);
+				daoMap.put("kwd", kwd);
+				daoMap.put("categoryNo", categoryNo);
+				itemList = itemDao.selectListU(daoMap);
+				count = itemCountCache.get(categoryNo, kwd);
+			}
+			long nextOffset = offset + itemList.size();
+			if(!itemList.isEmpty() && nextOffset < count) nextCursor = makeCursor(CURSOR_RANK, nextOffset);
+		} else {
+			// 마지막 상품번호보다 작은 번호부터 한개 더 읽어서 다음 페이지 확인
+			Map<String, Object> daoMap = new HashMap<String, Object>();
+			daoMap.put("categoryNo", categoryNo);
+			daoMap.put("kwd", kwd);
+			daoMap.put("lastNo", lastNo);
+			daoMap.put("boardCnt", BOARD_CNT + 1);
+			itemList = itemDao.selectListSeek(daoMap);
+			if(itemList.size() > BOARD_CNT) {
+				itemList = new ArrayList<ItemVo>(itemList.subList(0, BOARD_CNT));
+				nextCursor = makeCursor(CURSOR_NO, itemList.get(BOARD_CNT - 1).getNo());
+			}
+			count = itemCountCache.get(categoryNo, kwd);
+		}
+		
+		Paging paging = new Paging(count, null, null, null, BOARD_CNT, null, categoryNo == null ? -1L : categoryNo, null, kwd == null ? "" : kwd);
+		paging.setNextCursor(nextCursor);
+		return new ItemsVo(itemList, paging);
+	}
+	
+	
+	// 커서 만들기(종류:값 을 base64)
+	private static String makeCursor(String type, long value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString((type + ":" + value).getBytes(StandardCharsets.UTF_8));
+	}
+	
+	
+	// 커서의 값(종류가 다르거나 잘못된 커서면 null)
+	private static Long cursorValue(String cursor, String type) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if(!decoded.startsWith(type + ":")) return null;
+			long value = Long.parseLong(decoded.substring(type.length() + 1));
+			return value < 0 ? null : value;
+		} catch(IllegalArgumentException e) {
+			return null;
+		}
+	}
+	
+	
+	// 검색 색인의 상품번호 순서대로 상품정보 채우기
+	private List<ItemVo> listByNos(List<Long> nos) {
+		List<ItemVo> itemList = new ArrayList<ItemVo>();
+		if(nos.isEmpty()) return itemList;
+		
+		Map<Long, ItemVo> itemMap = new HashMap<Long, ItemVo>();
+		for(ItemVo itemVo : itemDao.selectListByNos(nos)) itemMap.put(itemVo.getNo(), itemVo);
+		for(Long no : nos) {
+			ItemVo itemVo = itemMap.get(no);
+			if(itemVo != null) itemList.add(itemVo);
+		}
+		return itemList;
+	}
 
 
 	// 최근 상품리스트
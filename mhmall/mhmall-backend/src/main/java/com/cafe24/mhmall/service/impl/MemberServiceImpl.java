@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import com.cafe24.mhmall.repository.MemberDao;
 import com.cafe24.mhmall.security.Auth;
+import com.cafe24.mhmall.security.AuthMemberCache;
 import com.cafe24.mhmall.service.MemberService;
 import com.cafe24.mhmall.vo.MemberVo;
 
@@ -19,6 +20,9 @@ public class MemberServiceImpl implements MemberService {
 
 	@Autowired
 	MemberDao memberDao;
+	
+	@Autowired
+	AuthMemberCache authMemberCache;
 
 
 	
@@ -87,6 +91,9 @@ public class MemberServiceImpl implements MemberService {
 	public boolean delete(String id) {
 
 		int result = memberDao.delete(id);
+		
+		// 인증 캐시 삭제
+		authMemberCache.invalidate(id);
 		return result == 1;
 	}
 
@@ -95,6 +102,9 @@ public class MemberServiceImpl implements MemberService {
 	@Override
 	public boolean edit(MemberVo memberVo) {
 		int result = memberDao.update(memberVo);
+		
+		// 인증 캐시 삭제
+		authMemberCache.invalidate(memberVo.getId());
 		return result == 1;
 	}
 
@@ -102,7 +112,13 @@ public class MemberServiceImpl implements MemberService {
 	// 인증
 	@Override
 	public MemberVo getByMockToken(String mockToken) {
-		MemberVo memberVo = memberDao.selectByMockToken(mockToken);
+		// 메모리에 있으면 DB 조회 안함
+		MemberVo memberVo = authMemberCache.get("mockToken:" + mockToken);
+		if(memberVo != null) return memberVo;
+		
+		long stamp = authMemberCache.stamp();
+		memberVo = memberDao.selectByMockToken(mockToken);
+		if(memberVo != null) authMemberCache.put("mockToken:" + mockToken, memberVo, stamp);
 		return memberVo;
 	}
 
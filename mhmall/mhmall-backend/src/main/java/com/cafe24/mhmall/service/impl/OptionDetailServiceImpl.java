@@ -6,6 +6,8 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
 import com.cafe24.mhmall.repository.OptionDetailDao;
 import com.cafe24.mhmall.service.OptionDetailService;
 import com.cafe24.mhmall.vo.OptionDetailVo;
@@ -15,6 +17,9 @@ public class OptionDetailServiceImpl implements OptionDetailService {
 
 	@Autowired
 	OptionDetailDao optionDetailDao;
+	
+	@Autowired
+	CatalogCache catalogCache;
 		
 
 
@@ -38,6 +43,8 @@ public class OptionDetailServiceImpl implements OptionDetailService {
 	@Override
 	public boolean delete(Long no) {
 		Integer result = optionDetailDao.delete(no);
+		// 옵션 리스트에 상세옵션 이름이 들어있으므로 옵션 캐시 지우기
+		catalogCache.invalidateAll(Region.OPTION);
 		return result == 1;
 	}
 
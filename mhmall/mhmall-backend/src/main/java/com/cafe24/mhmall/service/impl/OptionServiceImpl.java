@@ -1,9 +1,13 @@
 package com.cafe24.mhmall.service.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +15,8 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
 import com.cafe24.mhmall.repository.OptionDao;
 import com.cafe24.mhmall.service.OptionService;
 import com.cafe24.mhmall.vo.OptionVo;
@@ -22,14 +28,18 @@ public class OptionServiceImpl implements OptionService {
 	@Autowired
 	OptionDao optionDao;
 	
+	@Autowired
+	CatalogCache catalogCache;
+	
 	
 	
 
 	// 상품번호에 속한 레벨별 옵션 리스트
 	@Override
-	public List<OptionVo> getListByItemNo(OptionVo optionVo) {
+	public List<OptionVo> getListByItemNo(final OptionVo optionVo) {
 		if(optionVo.getOptionDetailNo1() == -1) optionVo.setOptionDetailNo1(null);
-		return optionDao.selectListLevel(optionVo);
+		String key = CatalogCache.optionKey(optionVo.getItemNo(), "level:" + optionVo.getOptionDetailNo1());
+		return catalogCache.get(Region.OPTION, key, () -> Collections.unmodifiableList(optionDao.selectListLevel(optionVo)));
 	}
 
 
@@ -37,6 +47,7 @@ public class OptionServiceImpl implements OptionService {
 	@Override
 	public boolean add(OptionVo optionVo) {
 		Integer result = optionDao.insert(optionVo);
+		catalogCache.invalidateOption(optionVo.getItemNo());
 		return result == 1;
 	}
 
@@ -44,7 +55,12 @@ public class OptionServiceImpl implements OptionService {
 	// 옵션 삭제
 	@Override
 	public boolean delete(Long no) {
+		OptionVo optionVo = optionDao.selectOne(no);
 		Integer result = optionDao.delete(no);
+		
+		// 상품번호를 모르면 옵션 캐시 전체 지우기
+		if(optionVo != null) catalogCache.invalidateOption(optionVo.getItemNo());
+		else catalogCache.invalidateAll(Region.OPTION);
 		return result == 1;
 	}
 
@@ -59,8 +75,8 @@ public class OptionServiceImpl implements OptionService {
 
 	// 상품번호에 속한 옵션 리스트
 	@Override
-	public List<OptionVo> getListByItemNo(Long no) {
-		return optionDao.selectList(no);
+	public List<OptionVo> getListByItemNo(final Long no) {
+		return catalogCache.get(Region.OPTION, CatalogCache.optionKey(no, "all"), () -> Collections.unmodifiableList(optionDao.selectList(no)));
 	}
 
 
@@ -92,41 +108,89 @@ public class OptionServiceImpl implements OptionService {
 	//@Transactional(rollbackFor=Exception.class)
 	@Override
 	public boolean isExistAllCnt(Long[] optionNos, Integer[] optionCnts) {
+		List<Long> shortOptionNos = reserveAllCnt(optionNos, optionCnts);
+		return shortOptionNos != null && shortOptionNos.isEmpty();
+	}
+	
+	
+	// 옵션 재고 일괄 예약(재고가 부족한 옵션번호 리턴)
+	// 호출하는 쪽의 트랜잭션 안에서 실행되어야 하며 부족한 옵션이 있으면 재고를 하나도 줄이지 않는다.
+	// 잘못된 접근이면 null 리턴
+	@Override
+	public List<Long> reserveAllCnt(Long[] optionNos, Integer[] optionCnts) {
 		// 잘못된 접근은 무조건 없는 재고
-		if(optionNos.length == 0) return false;
-		if(optionNos.length != optionCnts.length) return false;
-		// 옵션 재고량 줄이기
+		if(optionNos == null || optionCnts == null) return null;
+		if(optionNos.length == 0) return null;
+		if(optionNos.length != optionCnts.length) return null;
+		
+		// 같은 옵션은 수량을 합치고 옵션번호 순으로 정렬(잠금 순서를 고정해서 데드락 방지)
+		Map<Long, Integer> reserveMap = new TreeMap<Long, Integer>();
 		for(int i=0;i<optionNos.length;i++) {
-			Integer count = optionDao.selectCnt(optionNos[i]);
+			if(optionNos[i] == null || optionCnts[i] == null || optionCnts[i] < 1) return null;
+			Integer cnt = reserveMap.get(optionNos[i]);
+			reserveMap.put(optionNos[i], cnt == null ? optionCnts[i] : cnt + optionCnts[i]);
+		}
+		
+		// 한번의 쿼리로 옵션번호 순서대로 잠금
+		List<OptionVo> lockedList = optionDao.selectCntForUpdate(new ArrayList<Long>(reserveMap.keySet()));
+		Map<Long, Integer> stockMap = new HashMap<Long, Integer>();
+		Set<Long> itemNos = new HashSet<Long>();
+		for(OptionVo optionVo : lockedList) {
+			stockMap.put(optionVo.getNo(), optionVo.getCnt());
+			itemNos.add(optionVo.getItemNo());
+		}
+		
+		// 부족한 옵션과 줄일 옵션 나누기
+		List<Long> shortOptionNos = new ArrayList<Long>();
+		List<OptionVo> updateList = new ArrayList<OptionVo>();
+		for(Map.Entry<Long, Integer> entry : reserveMap.entrySet()) {
+			Integer stock = stockMap.get(entry.getKey());
 			
-			// 비 재고상품이 아닐 때
-			if(count != -1) {
-				Map<String, Object> map = new HashMap<String, Object>();
-				map.put("no", optionNos[i]);
-				map.put("cnt", optionCnts[i]);
-				Integer result = 0;
-				result = optionDao.updateCnt(map);
-				
-				if(result != 1) {
-					// Exception을 발생시켜 롤백시키기
-					return false;
-				}
+			// 없는 옵션
+			if(stock == null) {
+				shortOptionNos.add(entry.getKey());
+				continue;
+			}
+			
+			// 비 재고상품은 지나감
+			if(stock == -1) continue;
+			
+			if(stock < entry.getValue()) {
+				shortOptionNos.add(entry.getKey());
+				continue;
 			}
+			
+			OptionVo optionVo = new OptionVo();
+			optionVo.setNo(entry.getKey());
+			optionVo.setCnt(entry.getValue());
+			updateList.add(optionVo);
 		}
 		
-		return true;
+		// 하나라도 부족하면 아무것도 줄이지 않음
+		if(!shortOptionNos.isEmpty()) return shortOptionNos;
+		
+		// 옵션 재고량 한번에 줄이기
+		if(!updateList.isEmpty()) {
+			Integer result = optionDao.updateCntAll(updateList);
+			if(result != updateList.size()) {
+				// 잠금 이후에 바뀔 수 없지만 혹시 모르니 전부 부족한 것으로 처리
+				for(OptionVo optionVo : updateList) shortOptionNos.add(optionVo.getNo());
+			}
+			
+			// 재고가 바뀐 상품들의 옵션 캐시 지우기
+			catalogCache.invalidateOptions(itemNos);
+		}
+		
+		return shortOptionNos;
 	}
 
 
 	// 금액계산
 	@Override
-	public Long moneySum(Long[] optionNos, Integer[] optionCnts) {
+	public Long moneySum(List<OrdersItemVo> ordersItemList) {
 		Long moneySum = 0L;
-		for(int i=0;i<optionNos.length;i++) {
-			Map<String, Object> map = new HashMap<String, Object>();
-			map.put("no", optionNos[i]);
-			map.put("cnt", optionCnts[i]);
-			moneySum += optionDao.selectSumMoney(map);
+		for(OrdersItemVo ordersItemVo : ordersItemList) {
+			moneySum += ordersItemVo.getMoney() * ordersItemVo.getCnt();
 		}
 		
 		return moneySum;
@@ -142,6 +206,8 @@ public class OptionServiceImpl implements OptionService {
 			optionDao.updateRestore(ordersItemVo);
 		}
 		
+		// 주문상품에는 상품번호가 없으므로 옵션 캐시 전체 지우기
+		catalogCache.invalidateAll(Region.OPTION);
 		return true;
 	}
 
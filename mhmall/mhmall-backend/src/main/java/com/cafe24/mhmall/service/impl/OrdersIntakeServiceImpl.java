@@ -0,0 +1,307 @@
+package com.cafe24.mhmall.service.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cafe24.mhmall.repository.OrdersIntakeDao;
+import com.cafe24.mhmall.service.BasketService;
+import com.cafe24.mhmall.service.GuestService;
+import com.cafe24.mhmall.service.OptionService;
+import com.cafe24.mhmall.service.OrdersIntakeService;
+import com.cafe24.mhmall.service.OrdersItemService;
+import com.cafe24.mhmall.service.OrdersService;
+import com.cafe24.mhmall.util.OrdersNoGenerator;
+import com.cafe24.mhmall.vo.BasketVo;
+import com.cafe24.mhmall.vo.GuestVo;
+import com.cafe24.mhmall.vo.OrdersIntakePayloadVo;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 주문 접수 큐(orders_intake)
+// 요청 쓰레드에서는 재고를 줄이고 접수만 기록하고, 주문/비회원/주문상품 추가와 장바구니 삭제는
+// OrdersIntakeWorker 가 batchSize 개씩 한 트랜잭션으로 처리한다.
+// 요청 키(Idempotency-Key)는 요청한 사람(scope)마다 따로 쓰고, 같은 키로 다른 내용을 보냈는지는 요청 내용 해시로 확인한다.
+@Service
+public class OrdersIntakeServiceImpl implements OrdersIntakeService {
+	public static final String WAIT = "접수";
+	public static final String DONE = "완료";
+	public static final String FAIL = "실패";
+	private static final int ERROR_LENGTH = 255;
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	@Autowired
+	OrdersIntakeDao ordersIntakeDao;
+
+	@Autowired
+	OrdersNoGenerator ordersNoGenerator;
+
+	@Autowired
+	OrdersService ordersService;
+
+	@Autowired
+	GuestService guestService;
+
+	@Autowired
+	OrdersItemService ordersItemService;
+
+	@Autowired
+	BasketService basketService;
+
+	@Autowired
+	OptionService optionService;
+
+	@Value("${mhmall.orders.intake.max-pending:10000}")
+	int maxPending;
+
+	@Value("${mhmall.orders.intake.count-refresh-ms:1000}")
+	long countRefreshMs;
+
+	// 처리 전인 접수 개수(countRefreshMs 마다 한번 센다)
+	private volatile int waitCount = 0;
+	private volatile long waitCountTime = 0L;
+
+
+	// 요청한 사람(회원은 아이디, 비회원은 이름+전화번호, 검색 인덱스로 저장)
+	@Override
+	public String scope(String memberId, String guestName, String guestPhone) {
+		return memberId != null ? "m:" + memberId : "g:" + guestName + ":" + guestPhone;
+	}
+
+
+	// 요청 내용 해시(옵션, 수량, 비회원 정보)
+	@Override
+	public String requestHash(Long[] optionNos, Integer[] optionCnts, OrdersIntakePayloadVo payload) {
+		String request = Arrays.toString(optionNos) + "\n" + Arrays.toString(optionCnts) + "\n"
+				+ payload.getGuestName() + "\n" + payload.getGuestPhone() + "\n" + payload.getGuestPassword() + "\n" + payload.getGuestSession();
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	// 요청한 사람의 키로 접수 찾기(비회원은 비밀번호 확인)
+	@Override
+	public OrdersIntakeVo getByKey(String scope, String idempotencyKey, String guestPassword) {
+		return ordersIntakeDao.selectByKey(keyMap(scope, idempotencyKey, guestPassword, false));
+	}
+
+
+	// 같은 키로 먼저 접수된 요청(먼저 들어온 트랜잭션이 쓴 행을 잠금 읽기로 읽는다)
+	@Override
+	public OrdersIntakeVo getAccepted(String scope, String idempotencyKey) {
+		return ordersIntakeDao.selectByKey(keyMap(scope, idempotencyKey, null, true));
+	}
+
+
+	// 처리 전인 접수가 최대개수 이상인지
+	// 접수 요청마다 세지 않고 countRefreshMs 마다 maxPending 개까지만 센 값으로 판단한다.
+	@Override
+	public boolean isFull() {
+		long now = System.currentTimeMillis();
+		if(now - waitCountTime >= countRefreshMs) {
+			waitCountTime = now;
+			Map<String, Object> map = new HashMap<String, Object>();
+			map.put("status", WAIT);
+			map.put("maxCnt", maxPending);
+			waitCount = ordersIntakeDao.countByStatusLimit(map);
+		}
+		return waitCount >= maxPending;
+	}
+
+
+	// 처리 전인 접수 개수
+	@Override
+	public Integer countWait() {
+		return ordersIntakeDao.countByStatus(WAIT);
+	}
+
+
+	// 접수(주문번호 리턴, 이미 있는 키면 null)
+	// 같은 키로 동시에 들어오면 먼저 들어온 트랜잭션이 끝날 때까지 기다렸다가 null
+	@Override
+	public String accept(String scope, String idempotencyKey, String requestHash, String memberId, OrdersIntakePayloadVo payload) {
+		String ordersNo = ordersNoGenerator.next();
+		Integer result = ordersIntakeDao.insert(new OrdersIntakeVo(scope, idempotencyKey, requestHash, ordersNo, memberId, payload.getGuestPassword(), writePayload(payload), WAIT));
+		return result == 1 ? ordersNo : null;
+	}
+
+
+	// 처리 전인 접수 batchSize개를 한 트랜잭션으로 처리(하나라도 실패하면 모두 롤백)
+	@Transactional(rollbackFor=Exception.class)
+	@Override
+	public Integer processBatch(Integer batchSize) {
+		List<OrdersIntakeVo> list = ordersIntakeDao.selectListByStatus(listMap(batchSize, true));
+		if(list.isEmpty()) return 0;
+
+		Long[] nos = new Long[list.size()];
+		for(int i=0;i<nos.length;i++) {
+			write(list.get(i));
+			nos[i] = list.get(i).getNo();
+		}
+
+		// 다른 서버가 먼저 처리한 접수가 있으면 롤백
+		if(updateStatus(nos, DONE, null) != nos.length) throw new IllegalStateException("이미 처리된 접수가 있습니다.");
+		return nos.length;
+	}
+
+
+	// 처리 전인 접수 리스트(잠금 없이)
+	@Override
+	public List<OrdersIntakeVo> getWaitList(Integer batchSize) {
+		return ordersIntakeDao.selectListByStatus(listMap(batchSize, false));
+	}
+
+
+	// 접수하고 expireSeconds 가 지나도록 처리되지 않은 접수 리스트(MaintenanceScheduler 가 실패 처리)
+	@Override
+	public List<OrdersIntakeVo> getExpiredList(Long expireSeconds, Integer batchSize) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("status", WAIT);
+		map.put("expireSeconds", expireSeconds);
+		map.put("batchSize", batchSize);
+		return ordersIntakeDao.selectExpired(map);
+	}
+
+
+	// 접수 하나 처리
+	@Transactional(rollbackFor=Exception.class)
+	@Override
+	public boolean process(Long no) {
+		OrdersIntakeVo vo = ordersIntakeDao.selectByNoForUpdate(noMap(no));
+		if(vo == null) return false;
+
+		write(vo);
+		return updateStatus(new Long[] {no}, DONE, null) == 1;
+	}
+
+
+	// 일시적인 오류(delaySeconds 뒤에 다시 처리, 재고는 그대로)
+	@Override
+	public boolean retry(Long no, String error, Integer delaySeconds) {
+		Map<String, Object> map = noMap(no);
+		map.put("error", error != null && error.length() > ERROR_LENGTH ? error.substring(0, ERROR_LENGTH) : error);
+		map.put("delaySeconds", delaySeconds);
+		return ordersIntakeDao.updateRetry(map) == 1;
+	}
+
+
+	// 처리 실패(줄였던 재고 복구)
+	@Transactional(rollbackFor=Exception.class)
+	@Override
+	public boolean fail(Long no, String error) {
+		OrdersIntakeVo vo = ordersIntakeDao.selectByNoForUpdate(noMap(no));
+		if(vo == null) return false;
+
+		try {
+			optionService.restoreCnt(readPayload(vo).getOrdersItemList());
+		} catch (IllegalStateException e) {
+			error = "재고 복구 실패(" + e.getMessage() + ") : " + error;
+		}
+		if(error != null && error.length() > ERROR_LENGTH) error = error.substring(0, ERROR_LENGTH);
+		return updateStatus(new Long[] {no}, FAIL, error) == 1;
+	}
+
+
+	// 처리가 끝난 접수 삭제
+	@Override
+	public Integer deleteDone(Long retentionSeconds, Integer batchSize) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("status", WAIT);
+		map.put("retentionSeconds", retentionSeconds);
+		map.put("batchSize", batchSize);
+		return ordersIntakeDao.deleteDone(map);
+	}
+
+
+	// 주문 데이터 추가(상태:주문대기), 장바구니 삭제, 비회원 데이터 추가, 주문내역 일괄 추가
+	private void write(OrdersIntakeVo vo) {
+		OrdersIntakePayloadVo payload = readPayload(vo);
+		String ordersNo = vo.getOrdersNo();
+
+		ordersService.ordersAdd(ordersNo, payload.getMoney(), vo.getMemberId());
+
+		if(vo.getMemberId() == null) {
+			BasketVo basketVo = new BasketVo();
+			basketVo.setGuestSession(payload.getGuestSession());
+			basketService.deleteAllByOptionNoG(payload.getOptionNos(), basketVo);
+			guestService.add(ordersNo, new GuestVo(null, payload.getGuestName(), payload.getGuestPhone(), payload.getGuestPassword(), null));
+		}else {
+			basketService.deleteAllByOptionNoM(payload.getOptionNos(), vo.getMemberId());
+		}
+
+		if(!ordersItemService.add(ordersNo, payload.getOrdersItemList())) throw new IllegalStateException("주문내역 추가 실패 : " + ordersNo);
+	}
+
+
+	private Integer updateStatus(Long[] nos, String status, String error) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("nos", nos);
+		map.put("status", status);
+		map.put("error", error);
+		map.put("fromStatus", WAIT);
+		return ordersIntakeDao.updateStatus(map);
+	}
+
+
+	private Map<String, Object> keyMap(String scope, String idempotencyKey, String guestPassword, boolean lock) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("scope", scope);
+		map.put("idempotencyKey", idempotencyKey);
+		map.put("guestPassword", guestPassword);
+		map.put("lock", lock);
+		return map;
+	}
+
+
+	private Map<String, Object> listMap(Integer batchSize, boolean lock) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("status", WAIT);
+		map.put("batchSize", batchSize);
+		map.put("lock", lock);
+		return map;
+	}
+
+
+	private Map<String, Object> noMap(Long no) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("no", no);
+		map.put("status", WAIT);
+		return map;
+	}
+
+
+	private String writePayload(OrdersIntakePayloadVo payload) {
+		try {
+			return OBJECT_MAPPER.writeValueAsString(payload);
+		} catch (IOException e) {
+			throw new IllegalStateException("주문 접수 정보 저장 실패", e);
+		}
+	}
+
+
+	private OrdersIntakePayloadVo readPayload(OrdersIntakeVo vo) {
+		try {
+			return OBJECT_MAPPER.readValue(vo.getPayload(), OrdersIntakePayloadVo.class);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalStateException("주문 접수 정보 읽기 실패 : " + vo.getOrdersNo(), e);
+		}
+	}
+
+}
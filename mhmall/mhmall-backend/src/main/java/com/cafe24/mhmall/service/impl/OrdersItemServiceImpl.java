@@ -1,7 +1,11 @@
 package com.cafe24.mhmall.service.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -9,9 +13,11 @@ import org.springframework.stereotype.Service;
 import com.cafe24.mhmall.repository.OrdersItemDao;
 import com.cafe24.mhmall.service.OrdersItemService;
 import com.cafe24.mhmall.vo.OrdersItemVo;
+import com.cafe24.mhmall.vo.OrdersVo;
 
 @Service
 public class OrdersItemServiceImpl implements OrdersItemService {
+	public static final int IN_CNT = 500;	//한번의 in 조회에 넣을 주문번호 개수
 
 	@Autowired
 	OrdersItemDao ordersItemDao;
@@ -23,27 +29,64 @@ public class OrdersItemServiceImpl implements OrdersItemService {
 	}
 
 	
-	// 주문내역 일괄 추가
+	// 주문리스트에 주문상품 리스트 채우기
+	// 주문 개수만큼 조회하지 않고 IN_CNT개씩 묶어서 조회한 뒤 주문번호별로 나눈다.
 	@Override
-	public boolean add(String ordersNo, Long[] optionNos, Integer[] optionCnts) {
+	public List<OrdersVo> fillOrdersItemList(List<OrdersVo> ordersList) {
+		Map<String, List<OrdersItemVo>> itemMap = new HashMap<String, List<OrdersItemVo>>();
+		for(OrdersVo ordersVo : ordersList) itemMap.put(ordersVo.getOrdersNo(), new ArrayList<OrdersItemVo>());
+		
+		List<String> ordersNos = new ArrayList<String>(itemMap.keySet());
+		for(int i=0;i<ordersNos.size();i+=IN_CNT) {
+			List<String> subNos = ordersNos.subList(i, Math.min(i + IN_CNT, ordersNos.size()));
+			for(OrdersItemVo ordersItemVo : ordersItemDao.selectListByOrdersNos(subNos))
+				itemMap.get(ordersItemVo.getOrdersNo()).add(ordersItemVo);
+		}
+		
+		for(OrdersVo ordersVo : ordersList) ordersVo.setOrdersItemList(itemMap.get(ordersVo.getOrdersNo()));
+		return ordersList;
+	}
+	
+	
+	// 주문상품 정보(상품명, 옵션명, 가격)를 주문수량과 함께 받기
+	// 옵션 개수와 상관없이 한번의 쿼리로 조회하고 주문한 순서대로 리턴
+	@Override
+	public List<OrdersItemVo> getSnapshotList(Long[] optionNos, Integer[] optionCnts) {
+		List<Long> distinctNos = new ArrayList<Long>(new LinkedHashSet<Long>(Arrays.asList(optionNos)));
+		
+		Map<Long, OrdersItemVo> snapshotMap = new HashMap<Long, OrdersItemVo>();
+		for(OrdersItemVo snapshot : ordersItemDao.selectSnapshotList(distinctNos))
+			snapshotMap.put(snapshot.getOptionNo(), snapshot);
+		
+		List<OrdersItemVo> ordersItemList = new ArrayList<OrdersItemVo>();
 		for(int i=0;i<optionNos.length;i++) {
+			OrdersItemVo snapshot = snapshotMap.get(optionNos[i]);
+			if(snapshot == null) continue;
+			
 			OrdersItemVo ordersItemVo = new OrdersItemVo();
-			ordersItemVo.setOrdersNo(ordersNo);
-			ordersItemVo.setOptionNo(optionNos[i]);
+			ordersItemVo.setOptionNo(snapshot.getOptionNo());
+			ordersItemVo.setItemName(snapshot.getItemName());
+			ordersItemVo.setItemThumbnail(snapshot.getItemThumbnail());
+			ordersItemVo.setItemOptionDetail1(snapshot.getItemOptionDetail1());
+			ordersItemVo.setItemOptionDetail2(snapshot.getItemOptionDetail2());
+			ordersItemVo.setMoney(snapshot.getMoney());
 			ordersItemVo.setCnt(optionCnts[i].longValue());
-			
-			Integer result = ordersItemDao.insert(ordersItemVo);
-			if(result != 1) return false;
+			ordersItemList.add(ordersItemVo);
 		}
 		
-		return true;
+		return ordersItemList;
 	}
-	
 
-	// 초과된 주문의 번호에 해당하는 옵션번호와 수량 리스트를 받음
+	
+	// 주문내역 일괄 추가
 	@Override
-	public List<OrdersItemVo> getTimeOverList(Long ordersTime) {
-		return ordersItemDao.getTimeOverList(ordersTime);
+	public boolean add(String ordersNo, List<OrdersItemVo> ordersItemList) {
+		if(ordersItemList.isEmpty()) return false;
+		
+		for(OrdersItemVo ordersItemVo : ordersItemList) ordersItemVo.setOrdersNo(ordersNo);
+		
+		Integer result = ordersItemDao.insertAll(ordersItemList);
+		return result == ordersItemList.size();
 	}
 
 
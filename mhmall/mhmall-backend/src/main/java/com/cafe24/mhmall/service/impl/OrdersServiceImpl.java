@@ -7,24 +7,42 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
+import com.cafe24.mhmall.repository.OptionDao;
 import com.cafe24.mhmall.repository.OrdersDao;
 import com.cafe24.mhmall.service.OrdersService;
+import com.cafe24.mhmall.util.OrdersNoGenerator;
 import com.cafe24.mhmall.vo.GuestVo;
 import com.cafe24.mhmall.vo.OrdersItemVo;
 import com.cafe24.mhmall.vo.OrdersVo;
 
 @Service
 public class OrdersServiceImpl implements OrdersService {
+	public static final int LIST_CNT = 50;	//관리자 주문리스트 한번에 보여질 주문
 
 	@Autowired
 	OrdersDao ordersDao;
+	
+	@Autowired
+	OrdersNoGenerator ordersNoGenerator;
+	
+	@Autowired
+	OptionDao optionDao;
+	
+	@Autowired
+	CatalogCache catalogCache;
 
 	
 	// 주문리스트
 	@Override
-	public List<OrdersVo> getList() {
-		return ordersDao.selectList();
+	public List<OrdersVo> getList(String lastOrdersNo) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("lastOrdersNo", lastOrdersNo);
+		map.put("listCnt", LIST_CNT);
+		return ordersDao.selectList(map);
 	}
 
 
@@ -62,6 +80,14 @@ public class OrdersServiceImpl implements OrdersService {
 	// 주문 데이터 추가
 	@Override
 	public String guestOrdersAdd(Long money, String memberId) {
+		// 주문번호 생성
+		return ordersAdd(ordersNoGenerator.next(), money, memberId);
+	}
+
+
+	// 주문번호를 정해서 주문 데이터 추가(주문 접수 큐는 접수할 때 주문번호를 미리 받는다)
+	@Override
+	public String ordersAdd(String ordersNo, Long money, String memberId) {
 		OrdersVo ordersVo = new OrdersVo();
 		ordersVo.setMoney(money);
 		ordersVo.setMemberId(memberId);
@@ -71,6 +97,8 @@ public class OrdersServiceImpl implements OrdersService {
 		ordersVo.setBankNum("123-45-678910");
 		ordersVo.setStatus("주문대기");
 		
+		ordersVo.setOrdersNo(ordersNo);
+		
 		return ordersDao.insert(ordersVo);
 	}
 
@@ -138,11 +166,29 @@ public class OrdersServiceImpl implements OrdersService {
 	}
 
 
-	// 시간이 초과된 주문대기 상태의 주문이 있는지 확인
+	// 시간이 초과된 주문대기 상태의 주문 일괄 취소(처리한 개수 리턴)
+	// 한번에 batchSize개 까지만 잠그고 재고복구와 상태변경은 각각 한번의 쿼리로 처리
+	@Transactional(rollbackFor=Exception.class)
 	@Override
-	public boolean isExistTimeOverOrders(Long ordersTime) {
-		Integer count = ordersDao.isExistTimeOverOrders(ordersTime);
-		return count != 0; 
+	public Integer cancelTimeOverOrders(Long ordersTime, Integer batchSize) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("ordersTime", ordersTime);
+		map.put("batchSize", batchSize);
+		
+		// 초과된 주문번호 잠금
+		List<String> ordersNos = ordersDao.selectTimeOverOrdersNos(map);
+		if(ordersNos.isEmpty()) return 0;
+		
+		// 옵션의 상품수량 복구
+		optionDao.updateRestoreByOrdersNos(ordersNos);
+		catalogCache.invalidateAll(Region.OPTION);
+		
+		// 상태를 취소로 변경
+		map.put("ordersNos", ordersNos);
+		map.put("status", "취소");
+		ordersDao.updateStatusAll(map);
+		
+		return ordersNos.size();
 	}
 
 
@@ -0,0 +1,98 @@
+package com.cafe24.mhmall.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cafe24.mhmall.repository.OrdersDao;
+
+// 주문번호 생성기(yyyyMMdd_NNNNN)
+// 블록크기가 0이면 하루에 한번 DB의 마지막 주문번호(주문, 주문 접수 큐 중 큰 값)로 시작값을 잡고 메모리에서 번호를 증가시킨다.(서버 1대)
+// 블록크기가 0보다 크면 orders_no_seq 테이블에서 블록크기만큼 번호를 할당 받아서 사용한다.(서버 여러대)
+@Component
+public class OrdersNoGenerator {
+
+	private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+	@Autowired
+	OrdersDao ordersDao;
+
+	@Value("${mhmall.orders.no-block-size:0}")
+	int blockSize;
+
+	// 현재 사용중인 번호 구간
+	private volatile Sequence sequence;
+
+
+	// 다음 주문번호
+	public String next() {
+		String day = LocalDate.now().format(DAY_FORMAT);
+
+		while(true) {
+			Sequence current = sequence;
+
+			// 같은 날이고 구간이 남아있으면 잠금없이 번호 받기
+			if(current != null && current.day.equals(day)) {
+				long no = current.next.getAndIncrement();
+				if(no <= current.last) return format(day, no);
+			}
+
+			// 날짜가 바뀌었거나 구간을 다 쓴 경우 한 쓰레드만 새로 할당
+			synchronized(this) {
+				if(sequence == current) sequence = allocate(day, current);
+			}
+		}
+	}
+
+
+	// 새 번호 구간 할당
+	private Sequence allocate(String day, Sequence before) {
+		// 서버 1대 : 그날 처음 한번만 DB에서 시작값을 읽는다.
+		if(blockSize <= 0) {
+			return new Sequence(day, selectLastNo(day) + 1, Long.MAX_VALUE);
+		}
+
+		// 서버 여러대 : 블록 단위로 할당 받는다.
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("day", day);
+		map.put("seed", before != null && before.day.equals(day) ? 0L : selectLastNo(day));
+		map.put("blockSize", blockSize);
+		Long last = ordersDao.allocateNoBlock(map);
+
+		return new Sequence(day, last - blockSize + 1, last);
+	}
+
+
+	// 해당 날짜의 마지막 주문번호의 숫자부분
+	private long selectLastNo(String day) {
+		Long lastNo = ordersDao.selectLastNo(day);
+		return lastNo == null ? 0L : lastNo;
+	}
+
+
+	// 99999를 넘으면 자릿수가 늘어난다.(시작값은 숫자로 비교해서 잡는다.)
+	private String format(String day, long no) {
+		return String.format("%s_%05d", day, no);
+	}
+
+
+	// 날짜별 번호 구간 [next, last]
+	private static class Sequence {
+		private final String day;
+		private final AtomicLong next;
+		private final long last;
+
+		private Sequence(String day, long first, long last) {
+			this.day = day;
+			this.next = new AtomicLong(first);
+			this.last = last;
+		}
+	}
+
+}
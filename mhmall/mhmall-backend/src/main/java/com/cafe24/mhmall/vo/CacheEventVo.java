@@ -0,0 +1,52 @@
+package com.cafe24.mhmall.vo;
+
+public class CacheEventVo {
+	private Long no;
+	private String node;
+	private String region;
+	private String cacheKey;
+	private String regDate;
+	
+	public CacheEventVo() {}
+	public CacheEventVo(String node, String region, String cacheKey) {
+		this.node = node;
+		this.region = region;
+		this.cacheKey = cacheKey;
+	}
+	public Long getNo() {
+		return no;
+	}
+	public void setNo(Long no) {
+		this.no = no;
+	}
+	public String getNode() {
+		return node;
+	}
+	public void setNode(String node) {
+		this.node = node;
+	}
+	public String getRegion() {
+		return region;
+	}
+	public void setRegion(String region) {
+		this.region = region;
+	}
+	public String getCacheKey() {
+		return cacheKey;
+	}
+	public void setCacheKey(String cacheKey) {
+		this.cacheKey = cacheKey;
+	}
+	public String getRegDate() {
+		return regDate;
+	}
+	public void setRegDate(String regDate) {
+		this.regDate = regDate;
+	}
+	@Override
+	public String toString() {
+		return "CacheEventVo [no=" + no + ", node=" + node + ", region=" + region + ", cacheKey=" + cacheKey
+				+ ", regDate=" + regDate + "]";
+	}
+	
+}
@@ -0,0 +1,59 @@
+package com.cafe24.mhmall.vo;
+
+import java.util.List;
+
+// 주문 접수 큐(orders_intake.payload)에 암호화해서 저장하는 나머지 주문 쓰기 정보
+public class OrdersIntakePayloadVo {
+	private Long money;
+	private Long[] optionNos;
+	private String guestName;
+	private String guestPhone;
+	private String guestPassword;
+	private String guestSession;
+	private List<OrdersItemVo> ordersItemList;
+	
+	public OrdersIntakePayloadVo() {}
+	public Long getMoney() {
+		return money;
+	}
+	public void setMoney(Long money) {
+		this.money = money;
+	}
+	public Long[] getOptionNos() {
+		return optionNos;
+	}
+	public void setOptionNos(Long[] optionNos) {
+		this.optionNos = optionNos;
+	}
+	public String getGuestName() {
+		return guestName;
+	}
+	public void setGuestName(String guestName) {
+		this.guestName = guestName;
+	}
+	public String getGuestPhone() {
+		return guestPhone;
+	}
+	public void setGuestPhone(String guestPhone) {
+		this.guestPhone = guestPhone;
+	}
+	public String getGuestPassword() {
+		return guestPassword;
+	}
+	public void setGuestPassword(String guestPassword) {
+		this.guestPassword = guestPassword;
+	}
+	public String getGuestSession() {
+		return guestSession;
+	}
+	public void setGuestSession(String guestSession) {
+		this.guestSession = guestSession;
+	}
+	public List<OrdersItemVo> getOrdersItemList() {
+		return ordersItemList;
+	}
+	public void setOrdersItemList(List<OrdersItemVo> ordersItemList) {
+		this.ordersItemList = ordersItemList;
+	}
+	
+}
@@ -0,0 +1,108 @@
+package com.cafe24.mhmall.vo;
+
+public class OrdersIntakeVo {
+	private Long no;
+	private String scope;
+	private String idempotencyKey;
+	private String requestHash;
+	private String ordersNo;
+	private String memberId;
+	private String guestPassword;
+	private String payload;
+	private String status;
+	private String error;
+	private Integer attempts;
+	private String regDate;
+	private String doneDate;
+	
+	public OrdersIntakeVo() {}
+	public OrdersIntakeVo(String scope, String idempotencyKey, String requestHash, String ordersNo, String memberId, String guestPassword, String payload, String status) {
+		this.scope = scope;
+		this.idempotencyKey = idempotencyKey;
+		this.requestHash = requestHash;
+		this.ordersNo = ordersNo;
+		this.memberId = memberId;
+		this.guestPassword = guestPassword;
+		this.payload = payload;
+		this.status = status;
+	}
+	public Long getNo() {
+		return no;
+	}
+	public void setNo(Long no) {
+		this.no = no;
+	}
+	public String getScope() {
+		return scope;
+	}
+	public void setScope(String scope) {
+		this.scope = scope;
+	}
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+	public String getRequestHash() {
+		return requestHash;
+	}
+	public void setRequestHash(String requestHash) {
+		this.requestHash = requestHash;
+	}
+	public String getOrdersNo() {
+		return ordersNo;
+	}
+	public void setOrdersNo(String ordersNo) {
+		this.ordersNo = ordersNo;
+	}
+	public String getMemberId() {
+		return memberId;
+	}
+	public void setMemberId(String memberId) {
+		this.memberId = memberId;
+	}
+	public String getGuestPassword() {
+		return guestPassword;
+	}
+	public void setGuestPassword(String guestPassword) {
+		this.guestPassword = guestPassword;
+	}
+	public String getPayload() {
+		return payload;
+	}
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+	public String getStatus() {
+		return status;
+	}
+	public void setStatus(String status) {
+		this.status = status;
+	}
+	public String getError() {
+		return error;
+	}
+	public void setError(String error) {
+		this.error = error;
+	}
+	public Integer getAttempts() {
+		return attempts;
+	}
+	public void setAttempts(Integer attempts) {
+		this.attempts = attempts;
+	}
+	public String getRegDate() {
+		return regDate;
+	}
+	public void setRegDate(String regDate) {
+		this.regDate = regDate;
+	}
+	public String getDoneDate() {
+		return doneDate;
+	}
+	public void setDoneDate(String doneDate) {
+		this.doneDate = doneDate;
+	}
+	
+}
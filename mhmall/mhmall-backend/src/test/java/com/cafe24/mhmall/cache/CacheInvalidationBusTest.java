@@ -0,0 +1,201 @@
+package com.cafe24.mhmall.cache;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cafe24.mhmall.cache.CatalogCache.Region;
+import com.cafe24.mhmall.repository.CacheChangelogDao;
+import com.cafe24.mhmall.vo.CacheEventVo;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CacheInvalidationBusTest {
+
+	// 한 서버에서 상품을 수정하면 다른 서버의 캐시도 지워지는지
+	@Test
+	public void testA메모리알림() throws Exception {
+		InMemoryCacheInvalidationBus bus1 = new InMemoryCacheInvalidationBus();
+		InMemoryCacheInvalidationBus bus2 = new InMemoryCacheInvalidationBus();
+		bus1.connect(bus2);
+
+		CatalogCache cache1 = catalogCache(bus1);
+		CatalogCache cache2 = catalogCache(bus2);
+
+		final AtomicInteger loadCount = new AtomicInteger();
+		cache1.get(Region.ITEM, 1L, () -> "item" + loadCount.incrementAndGet());
+		cache2.get(Region.ITEM, 1L, () -> "item" + loadCount.incrementAndGet());
+		assertEquals("item2", cache2.get(Region.ITEM, 1L, () -> "item" + loadCount.incrementAndGet()));
+
+		// 1번 서버에서 수정
+		cache1.invalidate(Region.ITEM, 1L);
+
+		// 2번 서버도 다시 읽는지
+		assertEquals("item3", cache2.get(Region.ITEM, 1L, () -> "item" + loadCount.incrementAndGet()));
+		assertEquals(1L, bus2.getStats().get("receiveCount"));
+	}
+
+
+	// 옵션은 상품번호로 시작하는 키만 지워지는지
+	@Test
+	public void testB옵션알림() throws Exception {
+		InMemoryCacheInvalidationBus bus1 = new InMemoryCacheInvalidationBus();
+		InMemoryCacheInvalidationBus bus2 = new InMemoryCacheInvalidationBus();
+		bus1.connect(bus2);
+
+		CatalogCache cache1 = catalogCache(bus1);
+		CatalogCache cache2 = catalogCache(bus2);
+
+		cache2.get(Region.OPTION, CatalogCache.optionKey(1L, "all"), () -> "old1");
+		cache2.get(Region.OPTION, CatalogCache.optionKey(11L, "all"), () -> "old11");
+
+		// 1번 상품 재고 변경
+		cache1.invalidateOptions(Arrays.asList(1L));
+
+		assertEquals("new1", cache2.get(Region.OPTION, CatalogCache.optionKey(1L, "all"), () -> "new1"));
+		assertEquals("old11", cache2.get(Region.OPTION, CatalogCache.optionKey(11L, "all"), () -> "new11"));
+	}
+
+
+	// DB 변경기록 : 다른 서버의 기록만, 건너뛴 번호는 그 번호만 다시 확인하는지
+	@Test
+	public void testCDB변경기록() throws Exception {
+		CacheChangelogDao cacheChangelogDao = Mockito.mock(CacheChangelogDao.class);
+		DbCacheInvalidationBus bus = new DbCacheInvalidationBus();
+		bus.cacheChangelogDao = cacheChangelogDao;
+		bus.lookbackSeconds = 10;
+		bus.retentionSeconds = 3600;
+
+		final List<String> received = new ArrayList<String>();
+		bus.subscribe("ITEM", key -> received.add(key));
+
+		// 처음에는 마지막 번호만 읽음
+		Mockito.when(cacheChangelogDao.selectLastNo()).thenReturn(5L);
+		bus.poll();
+
+		// 다른 서버의 6번, 이 서버의 7번, 다른 서버의 10번(8, 9번은 아직 커밋 안됨)
+		Mockito.when(cacheChangelogDao.selectListAfter(Mockito.anyMapOf(String.class, Object.class)))
+			.thenReturn(Arrays.asList(event(6L, "other", "1"), event(7L, bus.getNodeId(), "2"), event(10L, "other", "3")));
+		bus.poll();
+		assertEquals(Arrays.asList("1", "3"), received);
+		assertEquals(2, bus.getStats().get("gapCount"));
+
+		// 늦게 커밋된 8번은 건너뛴 번호로만 다시 확인
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass((Class<Map<String, Object>>)(Class<?>)Map.class);
+		Mockito.when(cacheChangelogDao.selectListIn(Mockito.anyMapOf(String.class, Object.class)))
+			.thenReturn(Arrays.asList(event(8L, "other", "4")));
+		Mockito.when(cacheChangelogDao.selectListAfter(Mockito.anyMapOf(String.class, Object.class)))
+			.thenReturn(Arrays.asList(event(11L, "other", "5")));
+		bus.poll();
+		Mockito.verify(cacheChangelogDao).selectListIn(captor.capture());
+		assertEquals(Arrays.asList(8L, 9L), captor.getValue().get("nos"));
+		assertEquals(Arrays.asList("1", "3", "4", "5"), received);
+		assertEquals(11L, bus.getStats().get("lastNo"));
+		assertEquals(1, bus.getStats().get("gapCount"));
+
+		// 다시 확인할 시간이 지난 9번(롤백)은 버림
+		bus.lookbackSeconds = 0;
+		Thread.sleep(5);
+		Mockito.when(cacheChangelogDao.selectListIn(Mockito.anyMapOf(String.class, Object.class)))
+			.thenReturn(new ArrayList<CacheEventVo>());
+		Mockito.when(cacheChangelogDao.selectListAfter(Mockito.anyMapOf(String.class, Object.class)))
+			.thenReturn(new ArrayList<CacheEventVo>());
+		bus.poll();
+		assertEquals(0, bus.getStats().get("gapCount"));
+		assertEquals(Arrays.asList("1", "3", "4", "5"), received);
+	}
+
+
+	// 리스너 실패와 변경기록 읽기 실패는 통계에 횟수로 남기고 다음 poll 에서 이어서 읽는지
+	@Test
+	public void testD실패통계() throws Exception {
+		CacheChangelogDao cacheChangelogDao = Mockito.mock(CacheChangelogDao.class);
+		DbCacheInvalidationBus bus = new DbCacheInvalidationBus();
+		bus.cacheChangelogDao = cacheChangelogDao;
+		bus.lookbackSeconds = 10;
+		bus.retentionSeconds = 3600;
+
+		bus.subscribe("ITEM", key -> { throw new IllegalStateException("리스너 오류"); });
+
+		Mockito.when(cacheChangelogDao.selectLastNo()).thenReturn(5L);
+		bus.poll();
+
+		// 읽기 실패 두번
+		Mockito.when(cacheChangelogDao.selectListAfter(Mockito.anyMapOf(String.class, Object.class)))
+			.thenThrow(new IllegalStateException("DB 오류"));
+		bus.poll();
+		bus.poll();
+		assertEquals(2L, bus.getStats().get("failCount"));
+
+		// 다시 읽히면 리스너 실패만 기록
+		Mockito.reset(cacheChangelogDao);
+		Mockito.when(cacheChangelogDao.selectListAfter(Mockito.anyMapOf(String.class, Object.class)))
+			.thenReturn(Arrays.asList(event(6L, "other", "1")));
+		bus.poll();
+		assertEquals(1L, bus.getStats().get("deliverFailCount"));
+		assertEquals(6L, bus.getStats().get("lastNo"));
+	}
+
+
+	// 주문 한번의 재고 변경은 알림 하나로 보내고, 받은 서버는 상품 전부 지우는지
+	@Test
+	public void testE재고알림묶음() throws Exception {
+		InMemoryCacheInvalidationBus bus1 = new InMemoryCacheInvalidationBus();
+		InMemoryCacheInvalidationBus bus2 = new InMemoryCacheInvalidationBus();
+		bus1.connect(bus2);
+
+		CatalogCache cache1 = catalogCache(bus1);
+		CatalogCache cache2 = catalogCache(bus2);
+
+		for(long itemNo = 1; itemNo <= 3; itemNo++) {
+			final long no = itemNo;
+			cache2.get(Region.OPTION, CatalogCache.optionKey(itemNo, "all"), () -> "old" + no);
+		}
+
+		cache1.invalidateOptions(Arrays.asList(1L, 2L, 2L, 3L));
+
+		assertEquals(1L, bus1.getStats().get("publishCount"));
+		assertEquals(1L, bus2.getStats().get("receiveCount"));
+		for(long itemNo = 1; itemNo <= 3; itemNo++) {
+			final long no = itemNo;
+			assertEquals("new" + no, cache2.get(Region.OPTION, CatalogCache.optionKey(itemNo, "all"), () -> "new" + no));
+		}
+
+		// 키가 길면 나눠서 보냄(알림 키 200자)
+		List<Long> itemNos = new ArrayList<Long>();
+		for(long itemNo = 1000000; itemNo < 1000100; itemNo++) itemNos.add(itemNo);
+		cache1.invalidateOptions(itemNos);
+		assertEquals(5L, bus1.getStats().get("publishCount"));
+	}
+
+
+	private CatalogCache catalogCache(CacheInvalidationBus bus) {
+		CatalogCache catalogCache = new CatalogCache();
+		for(String name : new String[] {"itemMaxSize", "itemImgMaxSize", "optionMaxSize", "categoryMaxSize"})
+			ReflectionTestUtils.setField(catalogCache, name, 100L);
+		for(String name : new String[] {"itemTtlSeconds", "itemImgTtlSeconds", "optionTtlSeconds", "categoryTtlSeconds"})
+			ReflectionTestUtils.setField(catalogCache, name, 600L);
+		catalogCache.cacheInvalidationBus = bus;
+		catalogCache.init();
+		return catalogCache;
+	}
+
+
+	private CacheEventVo event(Long no, String node, String key) {
+		CacheEventVo cacheEventVo = new CacheEventVo(node, "ITEM", key);
+		cacheEventVo.setNo(no);
+		return cacheEventVo;
+	}
+
+}
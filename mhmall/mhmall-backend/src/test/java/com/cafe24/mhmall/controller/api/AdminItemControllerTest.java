@@ -289,6 +289,14 @@ public class AdminItemControllerTest {
 		.andExpect(status().isBadRequest());
 		
 		
+		// 상품 상세 조회(캐시에 저장)
+		resultActions = mockMvc.perform(get("/api/item/1")
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk());
+		
+		
 		// 성공
 		resultActions = mockMvc.perform(put("/api/admin/item")
 				.param("no", "1")
@@ -312,6 +320,15 @@ public class AdminItemControllerTest {
 		.andExpect(status().isOk())
 		.andExpect(jsonPath("$.data", is(true)));
 		
+		
+		// 수정 후 상품 상세가 캐시된 이전 값이 아닌지
+		resultActions = mockMvc.perform(get("/api/item/1")
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.name", is("change!!")));
+		
 	}
 	
 
@@ -348,6 +365,38 @@ public class AdminItemControllerTest {
 		resultActions
 		.andExpect(status().isOk())
 		.andExpect(jsonPath("$.data", is(true)));
+		
+		
+		// 사용자 상품리스트 개수(캐시에 저장)
+		MvcResult mvcResult = mockMvc.perform(get("/api/item/list/{categoryNo}/{pages}", 1L, 1L)
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn();
+		int count = new JsonParser().parse(mvcResult.getResponse().getContentAsString())
+				.getAsJsonObject().getAsJsonObject("data").getAsJsonObject("paging").get("count").getAsInt();
+		
+		
+		// 진열 안함으로 수정
+		resultActions = mockMvc.perform(put("/api/admin/item/display")
+				.header("MyAuthorization", "Basic " + myAuthorization)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{"
+						+ "\"no\":\"1\","
+						+ "\"display\":\"FALSE\""
+						+ "}"));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data", is(true)));
+		
+		
+		// 캐시된 상품 개수도 줄었는지
+		resultActions = mockMvc.perform(get("/api/item/list/{categoryNo}/{pages}", 1L, 1L)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.paging.count", is(count - 1)));
 	}
 	
 	
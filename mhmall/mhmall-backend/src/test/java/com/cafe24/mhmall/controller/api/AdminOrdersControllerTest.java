@@ -244,4 +244,20 @@ public class AdminOrdersControllerTest {
 		.andExpect(jsonPath("$.data[0].cnt", is(1)));
 	}
 	
+	
+	// 주문 리스트 다음 페이지(마지막 주문번호 다음부터)
+	@Test
+	public void testG주문리스트다음페이지() throws Exception {
+		ResultActions resultActions;
+		
+		resultActions = mockMvc.perform(get("/api/admin/orders/list/{lastOrdersNo}", "2019-07-11_000256")
+				.header("MyAuthorization", "Basic " + myAuthorization)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지, 기준 주문번호는 포함되지 않는지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data[*].ordersNo", not(hasItem("2019-07-11_000256"))))
+		.andExpect(jsonPath("$.data.length()", lessThanOrEqualTo(50)));
+	}
+	
 }
@@ -6,6 +6,10 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 import org.hamcrest.Matchers;
 
@@ -41,6 +45,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.WebApplicationContext;
 
 
+import com.cafe24.mhmall.repository.ItemDao;
+import com.cafe24.mhmall.vo.ItemVo;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -221,6 +227,211 @@ public class ItemControllerTest {
 	}
 	
 	
+	// 사용자 상품 리스트(커서)
+	@Test
+	public void testG사용자상품리스트커서() throws Exception {
+		ResultActions resultActions;
+		
+		
+		// 처음 페이지
+		resultActions = mockMvc.perform(get("/api/item/list/seek/{categoryNo}", 1L)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.itemList[0].no", is(1)))
+		.andExpect(jsonPath("$.data.itemList[0].name", is("test_item1")))
+		.andExpect(jsonPath("$.data.paging.categoryNo", is(1)))
+		.andExpect(jsonPath("$.data.paging.count", greaterThanOrEqualTo(1)));
+		
+		
+		// 잘못된 커서
+		resultActions = mockMvc.perform(get("/api/item/list/seek/{categoryNo}", 1L)
+				.param("cursor", "wrong")
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 400 인지
+		resultActions
+		.andExpect(status().isBadRequest());
+		
+	}
+	
+	
+	// 사용자 상품리스트 커서로 다음 페이지 이어 읽기
+	@Test
+	public void testG2사용자상품리스트커서이어읽기() throws Exception {
+		ResultActions resultActions;
+		
+		// 한 페이지(12개)를 넘도록 1번 카테고리에 상품 추가(테스트 후 롤백)
+		ItemDao itemDao = webApplicationContext.getBean(ItemDao.class);
+		for(int i=1;i<=13;i++)
+			itemDao.insert(new ItemVo(null, "seek_item" + i, "seek_description", 1000L, "seek_thumbnail", "TRUE", 1L, null, null));
+		
+		
+		// 처음 페이지
+		resultActions = mockMvc.perform(get("/api/item/list/seek/{categoryNo}", 1L)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 이고 다음 커서가 있는지
+		MvcResult mvcResult = resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.itemList", hasSize(12)))
+		.andExpect(jsonPath("$.data.itemList[0].name", is("seek_item13")))
+		.andExpect(jsonPath("$.data.itemList[11].name", is("seek_item2")))
+		.andExpect(jsonPath("$.data.paging.nextCursor", notNullValue()))
+		.andReturn();
+		JsonObject jsonObj = (JsonObject) new JsonParser().parse(mvcResult.getResponse().getContentAsString());
+		String nextCursor = jsonObj.get("data").getAsJsonObject().get("paging").getAsJsonObject().get("nextCursor").getAsString();
+		
+		
+		// 다음 커서로 두번째 페이지
+		resultActions = mockMvc.perform(get("/api/item/list/seek/{categoryNo}", 1L)
+				.param("cursor", nextCursor)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 이고 이어지는 상품과 마지막 페이지인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.itemList", hasSize(2)))
+		.andExpect(jsonPath("$.data.itemList[0].name", is("seek_item1")))
+		.andExpect(jsonPath("$.data.itemList[1].no", is(1)))
+		.andExpect(jsonPath("$.data.paging.nextCursor", nullValue()));
+		
+		
+		// 검색 색인 상태가 바뀌어도 순위 위치 커서를 받는지
+		String rankCursor = Base64.getUrlEncoder().withoutPadding().encodeToString("r:12".getBytes(StandardCharsets.UTF_8));
+		resultActions = mockMvc.perform(get("/api/item/list/seek/{categoryNo}", 1L)
+				.param("cursor", rankCursor)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 이고 13번째 상품부터인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.itemList[0].name", is("seek_item1")));
+		
+	}
+	
+	
+	// 상품 상세(ETag)
+	@Test
+	public void testH상품상세ETag() throws Exception {
+		ResultActions resultActions;
+		
+		
+		// 처음 요청
+		resultActions = mockMvc.perform(get("/api/item/{no}",1L)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 이고 ETag 만 있는지(Last-Modified 는 초 단위라 쓰지 않음)
+		MvcResult mvcResult = resultActions
+		.andExpect(status().isOk())
+		.andExpect(header().string("ETag", startsWith("\"item-1-")))
+		.andExpect(header().doesNotExist("Last-Modified"))
+		.andReturn();
+		String eTag = mvcResult.getResponse().getHeader("ETag");
+		
+		
+		// 같은 ETag
+		resultActions = mockMvc.perform(get("/api/item/{no}",1L)
+				.header("If-None-Match", eTag)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 304 인지
+		resultActions
+		.andExpect(status().isNotModified());
+		
+		
+		// 다른 ETag
+		resultActions = mockMvc.perform(get("/api/item/{no}",1L)
+				.header("If-None-Match", "\"item-1-0\"")
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.no", is(1)));
+		
+		
+		// If-Modified-Since 만 보내면
+		resultActions = mockMvc.perform(get("/api/item/{no}",1L)
+				.header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT")
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 304 가 아니라 200 인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data.no", is(1)));
+		
+	}
+	
+	
+	// 상품이미지 리스트(ETag)
+	@Test
+	public void testI상품이미지리스트ETag() throws Exception {
+		ResultActions resultActions;
+		
+		
+		// 처음 요청
+		resultActions = mockMvc.perform(get("/api/item/img/{itemNo}",1L)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 이고 ETag 가 있는지
+		MvcResult mvcResult = resultActions
+		.andExpect(status().isOk())
+		.andExpect(header().string("ETag", startsWith("\"item_img-1-")))
+		.andReturn();
+		String eTag = mvcResult.getResponse().getHeader("ETag");
+		
+		
+		// 같은 ETag
+		resultActions = mockMvc.perform(get("/api/item/img/{itemNo}",1L)
+				.header("If-None-Match", eTag)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 304 인지
+		resultActions
+		.andExpect(status().isNotModified());
+		
+		
+		// 다른 ETag
+		resultActions = mockMvc.perform(get("/api/item/img/{itemNo}",1L)
+				.header("If-None-Match", "\"item_img-1-0\"")
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk());
+		
+	}
+	
+	
+	// 옵션 리스트(ETag)
+	@Test
+	public void testJ옵션리스트ETag() throws Exception {
+		ResultActions resultActions;
+		
+		
+		// 처음 요청
+		resultActions = mockMvc.perform(get("/api/item/option/list/{itemNo}/{optionDetailNo1}", 1L, -1L)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 이고 ETag 가 있는지
+		MvcResult mvcResult = resultActions
+		.andExpect(status().isOk())
+		.andExpect(header().string("ETag", startsWith("\"option-1-")))
+		.andReturn();
+		String eTag = mvcResult.getResponse().getHeader("ETag");
+		
+		
+		// 같은 ETag
+		resultActions = mockMvc.perform(get("/api/item/option/list/{itemNo}/{optionDetailNo1}", 1L, -1L)
+				.header("If-None-Match", eTag)
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 304 인지
+		resultActions
+		.andExpect(status().isNotModified());
+		
+		
+		// 다른 ETag
+		resultActions = mockMvc.perform(get("/api/item/option/list/{itemNo}/{optionDetailNo1}", 1L, -1L)
+				.header("If-None-Match", "\"option-1-0\"")
+				.contentType(MediaType.APPLICATION_JSON));
+		// 응답이 200 인지
+		resultActions
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.data[0].itemNo", is(1)));
+		
+	}
+	
+	
 	
 	
 }
@@ -123,9 +123,27 @@ public class OrdersControllerTest {
 						+ "\"optionNos\":[1],"
 						+ "\"optionCnts\":[11]"
 						+ "}"));
-		// 응답이 400 인지
+		// 응답이 400 인지, 부족한 옵션번호를 리턴하는지
 		resultActions
-		.andExpect(status().isBadRequest());
+		.andExpect(status().isBadRequest())
+		.andExpect(jsonPath("$.data", contains(1)));
+		
+		
+		// 같은 옵션이 나눠서 들어와도 합친 수량으로 재고를 확인하는지
+		resultActions = mockMvc.perform(post("/api/orders/guest")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{"
+						+ "\"guestSession\":\"ODIJOSAIDPBV132012ID9V823V\","
+						+ "\"guestName\":\"guest\","
+						+ "\"guestPhone\":\"01000000001\","
+						+ "\"guestPassword\":\"snrnsnrn1!\","
+						+ "\"optionNos\":[1,1],"
+						+ "\"optionCnts\":[6,5]"
+						+ "}"));
+		// 응답이 400 인지, 부족한 옵션번호를 리턴하는지
+		resultActions
+		.andExpect(status().isBadRequest())
+		.andExpect(jsonPath("$.data", contains(1)));
 		
 		
 		// 판매중인 상품이 아닐 때
@@ -752,5 +770,140 @@ public class OrdersControllerTest {
 	
 	
 	
+
+	// 주문 접수(비동기), 같은 요청 키
+	@Test
+	public void testM주문접수() throws Exception {
+		ResultActions resultActions;
+		String guestBody = "{"
+				+ "\"guestSession\":\"ODIJOSAIDPBV132012ID9V823V\","
+				+ "\"guestName\":\"guest\","
+				+ "\"guestPhone\":\"01000000001\","
+				+ "\"guestPassword\":\"snrnsnrn1!\","
+				+ "\"optionNos\":[1,2],"
+				+ "\"optionCnts\":[1,1]"
+				+ "}";
+
+		// 잘못된 요청 키
+		resultActions = mockMvc.perform(post("/api/orders/guest/intake")
+				.header("Idempotency-Key", "bad")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(guestBody));
+		// 응답이 400 인지
+		resultActions
+		.andExpect(status().isBadRequest());
+
+
+		// 접수, 주문번호를 리턴하는지
+		resultActions = mockMvc.perform(post("/api/orders/guest/intake")
+				.header("Idempotency-Key", "intake-test-0001")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(guestBody));
+		// 응답이 202 인지
+		MvcResult mvcResult = resultActions
+		.andExpect(status().isAccepted())
+		.andExpect(jsonPath("$.data.status", is("접수")))
+		.andExpect(jsonPath("$.data.ordersNo", Matchers.notNullValue()))
+		.andReturn();
+		String ordersNo = new JsonParser().parse(mvcResult.getResponse().getContentAsString())
+				.getAsJsonObject().get("data").getAsJsonObject().get("ordersNo").getAsString();
+
+
+		// 같은 키, 같은 요청 : 새로 주문하지 않고 처음 접수한 주문
+		resultActions = mockMvc.perform(post("/api/orders/guest/intake")
+				.header("Idempotency-Key", "intake-test-0001")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(guestBody));
+		// 응답이 202 인지
+		resultActions
+		.andExpect(status().isAccepted())
+		.andExpect(jsonPath("$.data.ordersNo", is(ordersNo)));
+
+
+		// 같은 키, 다른 요청
+		resultActions = mockMvc.perform(post("/api/orders/guest/intake")
+				.header("Idempotency-Key", "intake-test-0001")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(guestBody.replace("\"optionCnts\":[1,1]", "\"optionCnts\":[1,2]")));
+		// 응답이 422 인지
+		resultActions
+		.andExpect(status().isUnprocessableEntity());
+
+
+		// 다른 사람(회원)은 같은 키를 따로 쓴다.
+		resultActions = mockMvc.perform(post("/api/orders/member/intake")
+				.header("MyAuthorization", "Basic " + myAuthorization)
+				.header("Idempotency-Key", "intake-test-0001")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{"
+						+ "\"optionNos\":[1],"
+						+ "\"optionCnts\":[1]"
+						+ "}"));
+		// 응답이 202 인지
+		resultActions
+		.andExpect(status().isAccepted())
+		.andExpect(jsonPath("$.data.ordersNo", not(ordersNo)));
+
+
+		// 회원 접수 결과
+		resultActions = mockMvc.perform(get("/api/orders/member/intake/intake-test-0001")
+				.header("MyAuthorization", "Basic " + myAuthorization));
+		// 응답이 202 인지
+		resultActions
+		.andExpect(status().isAccepted())
+		.andExpect(jsonPath("$.data.status", is("접수")));
+
+
+		// 회원에게 없는 키
+		resultActions = mockMvc.perform(get("/api/orders/member/intake/intake-test-0002")
+				.header("MyAuthorization", "Basic " + myAuthorization));
+		// 응답이 404 인지
+		resultActions
+		.andExpect(status().isNotFound());
+
+
+		// 비회원 접수 결과 : 비밀번호 없음
+		resultActions = mockMvc.perform(post("/api/orders/guest/intake/intake-test-0001/view")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{"
+						+ "\"guestName\":\"guest\","
+						+ "\"guestPhone\":\"01000000001\""
+						+ "}"));
+		// 응답이 400 인지
+		resultActions
+		.andExpect(status().isBadRequest());
+
+
+		// 비회원 접수 결과 : 다른 비밀번호
+		resultActions = mockMvc.perform(post("/api/orders/guest/intake/intake-test-0001/view")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{"
+						+ "\"guestName\":\"guest\","
+						+ "\"guestPhone\":\"01000000001\","
+						+ "\"guestPassword\":\"snrnsnrn2!\""
+						+ "}"));
+		// 응답이 404 인지
+		resultActions
+		.andExpect(status().isNotFound());
+
+
+		// 비회원 접수 결과
+		resultActions = mockMvc.perform(post("/api/orders/guest/intake/intake-test-0001/view")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{"
+						+ "\"guestName\":\"guest\","
+						+ "\"guestPhone\":\"01000000001\","
+						+ "\"guestPassword\":\"snrnsnrn1!\""
+						+ "}"));
+		// 응답이 202 인지
+		resultActions
+		.andExpect(status().isAccepted())
+		.andExpect(jsonPath("$.data.status", is("접수")))
+		.andExpect(jsonPath("$.data.ordersNo", is(ordersNo)));
+
+	}
+	
+	
+	
 	
 }
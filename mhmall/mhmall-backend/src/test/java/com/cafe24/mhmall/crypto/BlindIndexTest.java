@@ -0,0 +1,59 @@
+package com.cafe24.mhmall.crypto;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BlindIndexTest {
+
+	@After
+	public void tearDown() {
+		BlindIndex.configure("mhshop_index_key");
+	}
+
+
+	// 같은 값은 같은 인덱스, 다른 값은 다른 인덱스
+	@Test
+	public void testA인덱스() throws Exception {
+		byte[] hash = BlindIndex.hash("test1234");
+		assertEquals(BlindIndex.LENGTH, hash.length);
+		assertArrayEquals(hash, BlindIndex.hash("test1234"));
+		assertFalse(Arrays.equals(hash, BlindIndex.hash("test1235")));
+		assertNull(BlindIndex.hash(null));
+	}
+
+
+	// 키가 바뀌면 인덱스도 바뀌고, 암호화 키 버전과는 상관없다.
+	@Test
+	public void testB키() throws Exception {
+		byte[] hash = BlindIndex.hash("홍길동");
+
+		FieldCrypto.configure(Collections.singletonMap(2, "new_key"), 2);
+		try {
+			assertArrayEquals(hash, BlindIndex.hash("홍길동"));
+		} finally {
+			FieldCrypto.configure(Collections.singletonMap(0, "mhshop_key"), 0);
+		}
+
+		BlindIndex.configure("other_index_key");
+		assertFalse(Arrays.equals(hash, BlindIndex.hash("홍길동")));
+	}
+
+
+	// 빈 키
+	@Test(expected = IllegalArgumentException.class)
+	public void testC빈키() throws Exception {
+		BlindIndex.configure("");
+	}
+
+}
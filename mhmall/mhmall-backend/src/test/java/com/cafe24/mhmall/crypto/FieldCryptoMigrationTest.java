@@ -0,0 +1,97 @@
+package com.cafe24.mhmall.crypto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cafe24.mhmall.repository.BasketDao;
+import com.cafe24.mhmall.repository.CryptoMigrationDao;
+import com.cafe24.mhmall.service.OrdersService;
+import com.cafe24.mhmall.vo.BasketVo;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Rollback(value = true)
+@Transactional
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class FieldCryptoMigrationTest {
+
+	@Autowired
+	private FieldCryptoMigration fieldCryptoMigration;
+
+	@Autowired
+	private CryptoMigrationDao cryptoMigrationDao;
+
+	@Autowired
+	private OrdersService ordersService;
+
+	@Autowired
+	private BasketDao basketDao;
+
+
+	@Before
+	public void setup() {
+		Map<Integer, String> keys = new HashMap<Integer, String>();
+		keys.put(0, "mhshop_key");
+		keys.put(1, "mhshop_key_1");
+		FieldCrypto.configure(keys, 1);
+	}
+
+
+	@After
+	public void tearDown() {
+		FieldCrypto.configure(Collections.singletonMap(0, "mhshop_key"), 0);
+	}
+
+
+	// null 컬럼이 있는 행(비회원 주문 : 회원 아이디, 배송정보 없음 / 비회원 장바구니 : 회원 아이디 없음)이 있어도 끝까지 다시 암호화
+	@Test
+	public void testA빈컬럼이있는행() throws Exception {
+		assertNotNull(ordersService.ordersAdd("2026-10-17_crypto1", 1000L, null));
+
+		BasketVo basketVo = new BasketVo();
+		basketVo.setOptionNo(1L);
+		basketVo.setGuestSession("CRYPTOMIGRATIONTEST");
+		basketVo.setCnt(1L);
+		assertEquals(Integer.valueOf(1), basketDao.insertGuest(basketVo));
+
+		fieldCryptoMigration.migrate();
+
+		// 현재 버전이 아닌 값이 남아있지 않고, 다시 실행해도 바꿀 행이 없다.
+		assertTrue(cryptoMigrationDao.selectStale(staleMap("orders", "orders_no", "to_name", "to_phone", "to_zipcode", "to_addr", "member_id")).isEmpty());
+		assertTrue(cryptoMigrationDao.selectStale(staleMap("basket", "no", "member_id")).isEmpty());
+
+		Map<String, Object> result = fieldCryptoMigration.migrate();
+		assertEquals(0, ((Map<?, ?>)result.get("orders")).get("reencrypted"));
+		assertEquals(0, ((Map<?, ?>)result.get("basket")).get("reencrypted"));
+	}
+
+
+	private Map<String, Object> staleMap(String table, String pk, String... columns) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("table", table);
+		map.put("pk", pk);
+		map.put("columns", Arrays.asList(columns));
+		map.put("version", 1);
+		map.put("batchSize", 500);
+		return map;
+	}
+
+}
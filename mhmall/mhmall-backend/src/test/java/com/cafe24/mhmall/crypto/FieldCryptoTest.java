@@ -0,0 +1,110 @@
+package com.cafe24.mhmall.crypto;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.junit.After;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class FieldCryptoTest {
+
+	@After
+	public void tearDown() {
+		FieldCrypto.configure(Collections.singletonMap(0, "mhshop_key"), 0);
+	}
+
+
+	// 암호화 -> 복호화, 같은 평문은 같은 암호문(where 비교)
+	@Test
+	public void testA암호화복호화() throws Exception {
+		byte[] encrypted = FieldCrypto.encrypt("홍길동");
+		assertEquals(16, encrypted.length);
+		assertEquals(0, FieldCrypto.version(encrypted));
+		assertEquals("홍길동", FieldCrypto.decrypt(encrypted));
+		assertArrayEquals(encrypted, FieldCrypto.encrypt("홍길동"));
+
+		assertEquals(32, FieldCrypto.encrypt("0123456789abcdef").length);
+		assertEquals("", FieldCrypto.decrypt(FieldCrypto.encrypt("")));
+		assertNull(FieldCrypto.encrypt(null));
+		assertNull(FieldCrypto.decrypt(null));
+	}
+
+
+	// MySQL AES_ENCRYPT 키 : 16바이트를 넘는 키는 XOR 로 접는다.
+	@Test
+	public void testB키접기() throws Exception {
+		byte[] key = FieldCrypto.mysqlKey("0123456789abcdef0").getEncoded();
+		assertEquals(16, key.length);
+		assertEquals(0, key[0]);
+		assertEquals('1', key[1]);
+
+		key = FieldCrypto.mysqlKey("mhshop_key").getEncoded();
+		assertEquals('m', key[0]);
+		assertEquals(0, key[15]);
+	}
+
+
+	// 키 버전 변경 : 새 값은 버전 바이트를 붙이고, 예전 값도 읽을 수 있다.
+	@Test
+	public void testC키버전() throws Exception {
+		byte[] legacy = FieldCrypto.encrypt("test1234");
+
+		Map<Integer, String> keys = new HashMap<Integer, String>();
+		keys.put(0, "mhshop_key");
+		keys.put(3, "new_key");
+		FieldCrypto.configure(keys, 3);
+
+		byte[] encrypted = FieldCrypto.encrypt("test1234");
+		assertEquals(17, encrypted.length);
+		assertEquals(3, FieldCrypto.version(encrypted));
+		assertEquals("test1234", FieldCrypto.decrypt(encrypted));
+		assertEquals("test1234", FieldCrypto.decrypt(legacy));
+
+		// 다시 암호화(이미 현재 버전이면 null)
+		assertArrayEquals(encrypted, FieldCrypto.reencrypt(legacy));
+		assertNull(FieldCrypto.reencrypt(encrypted));
+	}
+
+
+	// 없는 키 버전
+	@Test(expected = IllegalArgumentException.class)
+	public void testD없는키버전() throws Exception {
+		FieldCrypto.configure(Collections.singletonMap(0, "mhshop_key"), 1);
+	}
+
+
+	// 설정 문자열
+	@Test
+	public void testE설정() throws Exception {
+		Map<Integer, String> keys = FieldCryptoConfig.parse("0:mhshop_key, 1:a:b,");
+		assertEquals(2, keys.size());
+		assertEquals("mhshop_key", keys.get(0));
+		assertEquals("a:b", keys.get(1));
+	}
+
+
+	// MySQL 과 같은 값 : select hex(aes_encrypt('...', 'mhshop_key')) (aes-128-ecb, PKCS7)
+	// 예전 행과 where 비교가 그대로 되려면 바이트 단위로 같아야 한다.
+	@Test
+	public void testFMySQL암호문() throws Exception {
+		// 16바이트 이하(블록 1개)
+		assertArrayEquals(DatatypeConverter.parseHexBinary("97F5A1708482E728A54710D5A37757EC"), FieldCrypto.encrypt("test1234"));
+		assertArrayEquals(DatatypeConverter.parseHexBinary("EB9DB2D75956A5626E2B5468F3D76C12"), FieldCrypto.encrypt("홍길동"));
+
+		// 16바이트 초과(블록 2개)
+		byte[] mysql = DatatypeConverter.parseHexBinary("9F82A9F610E6847C459BF01E089AF33621169D5E9A8828064B564D591CD8A07B");
+		assertArrayEquals(mysql, FieldCrypto.encrypt("0123456789abcdef_test_id1"));
+		assertEquals("0123456789abcdef_test_id1", FieldCrypto.decrypt(mysql));
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.cafe24.mhmall.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.cafe24.mhmall.crypto.AesStringTypeHandler;
+import com.cafe24.mhmall.crypto.BlindIndexTypeHandler;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DbLatencyMonitorTest {
+
+	private DbLatencyMonitor dbLatencyMonitor;
+
+
+	@Before
+	public void setup() {
+		dbLatencyMonitor = new DbLatencyMonitor();
+	}
+
+
+	// 정렬 기준별 상위 목록
+	@Test
+	public void testA상위목록() throws Exception {
+		// 반복문 안에서 번호만 바꿔서 부르는 구문
+		for(long no=1;no<=100;no++) {
+			dbLatencyMonitor.record("option.countByNo", TimeUnit.MILLISECONDS.toNanos(1), 1);
+			dbLatencyMonitor.recordParams("option.countByNo", no);
+		}
+		// 한번에 많이 읽는 느린 구문
+		dbLatencyMonitor.record("item.selectList", TimeUnit.MILLISECONDS.toNanos(500), 1000);
+		dbLatencyMonitor.recordParams("item.selectList", 7);
+
+		List<Map<String, Object>> top = dbLatencyMonitor.top("total", 10);
+		assertEquals("item.selectList", top.get(0).get("statement"));
+		assertEquals("option.countByNo", top.get(1).get("statement"));
+
+		top = dbLatencyMonitor.top("count", 1);
+		assertEquals(1, top.size());
+		assertEquals("option.countByNo", top.get(0).get("statement"));
+		assertEquals(100L, top.get(0).get("count"));
+		assertEquals("100", top.get(0).get("distinctParams"));
+
+		top = dbLatencyMonitor.top("rows", 10);
+		assertEquals("item.selectList", top.get(0).get("statement"));
+		assertEquals(1000L, top.get(0).get("rows"));
+
+		// 실행시간은 한곳에만 기록
+		assertEquals(100L, ((Map<?, ?>)dbLatencyMonitor.getStats().get("option.countByNo")).get("count"));
+	}
+
+
+	// 느린 호출은 최근 5개만 남김
+	@Test
+	public void testB느린호출() throws Exception {
+		for(int i=0;i<7;i++) {
+			dbLatencyMonitor.recordSlow("orders.selectList", TimeUnit.MILLISECONDS.toNanos(400), "select * from orders where no = ?", Arrays.<Object>asList(String.valueOf(i)));
+		}
+
+		Map<String, Object> profile = dbLatencyMonitor.top("total", 10).get(0);
+		List<?> samples = (List<?>)profile.get("slowSamples");
+		assertEquals(7L, profile.get("slowCount"));
+		assertEquals(5, samples.size());
+		assertEquals(Arrays.asList("6"), ((Map<?, ?>)samples.get(4)).get("params"));
+
+		dbLatencyMonitor.reset();
+		assertTrue(dbLatencyMonitor.top("total", 10).isEmpty());
+	}
+
+
+	// 느린 호출 파라미터 : 암호화, 검색 인덱스 컬럼 값과 비밀번호는 가림
+	@Test
+	public void testC파라미터가림() throws Exception {
+		Configuration configuration = new Configuration();
+		List<ParameterMapping> parameterMappings = Arrays.asList(
+				new ParameterMapping.Builder(configuration, "id", new AesStringTypeHandler()).build(),
+				new ParameterMapping.Builder(configuration, "id", new BlindIndexTypeHandler()).build(),
+				new ParameterMapping.Builder(configuration, "password", String.class).build(),
+				new ParameterMapping.Builder(configuration, "no", Long.class).build());
+
+		Map<String, Object> parameter = new HashMap<String, Object>();
+		parameter.put("id", "test_id1");
+		parameter.put("password", "test");
+		parameter.put("no", 3L);
+		BoundSql boundSql = new BoundSql(configuration, "select no from member where id = ? and id_bidx = ? and password = ? and no = ?", parameterMappings, parameter);
+
+		assertEquals(Arrays.<Object>asList("****", "****", "****", "3"), StatementProfilerPlugin.params(configuration, boundSql));
+	}
+
+
+	// 파라미터 값 기록 : 처음에는 모두, 호출이 많아지면 일부만, 종류가 다 차면 기록하지 않음
+	@Test
+	public void testD파라미터표본() throws Exception {
+		for(long no=1;no<=1000;no++) {
+			assertTrue(dbLatencyMonitor.sampleParams("option.countByNo"));
+			dbLatencyMonitor.record("option.countByNo", TimeUnit.MILLISECONDS.toNanos(1), 1);
+			dbLatencyMonitor.recordParams("option.countByNo", no);
+		}
+
+		// 호출수가 넘으면 일부만
+		int sampled = 0;
+		for(int i=0;i<1600;i++) if(dbLatencyMonitor.sampleParams("option.countByNo")) sampled++;
+		assertTrue(sampled > 0 && sampled < 1600);
+
+		// 종류가 다 차면 기록하지 않음
+		for(long no=1001;no<=1024;no++) dbLatencyMonitor.recordParams("option.countByNo", no);
+		assertEquals("1024+", dbLatencyMonitor.top("total", 10).get(0).get("distinctParams"));
+		for(int i=0;i<1600;i++) assertFalse(dbLatencyMonitor.sampleParams("option.countByNo"));
+	}
+
+}
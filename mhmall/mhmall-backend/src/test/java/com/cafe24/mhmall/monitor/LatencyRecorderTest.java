@@ -0,0 +1,67 @@
+package com.cafe24.mhmall.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class LatencyRecorderTest {
+
+	// 값이 들어간 구간의 최대값이 값 이상이고 오차가 1/16 이내인지
+	@Test
+	public void testA구간오차() throws Exception {
+		for(long micros = 0; micros < 10000000L; micros = micros * 3 / 2 + 1) {
+			long upper = LatencyRecorder.upperBound(LatencyRecorder.index(micros));
+			assertTrue(micros + " <= " + upper, micros <= upper);
+			assertTrue(micros + " ~ " + upper, upper - micros <= Math.max(1, micros / 16));
+		}
+	}
+
+
+	// 백분위, 평균, 최대
+	@Test
+	public void testB백분위() throws Exception {
+		LatencyRecorder recorder = new LatencyRecorder();
+		for(int i=1;i<=1000;i++) recorder.record(TimeUnit.MILLISECONDS.toNanos(i));
+
+		long[] percentiles = recorder.percentiles(0.5, 0.99, 1.0);
+		assertEquals(1000, recorder.getCount());
+		assertEquals(1000000, recorder.getMaxMicros());
+		assertEquals(500500000, recorder.getTotalMicros());
+		assertTrue(Math.abs(percentiles[0] - 500000) <= 500000 / 16);
+		assertTrue(Math.abs(percentiles[1] - 990000) <= 990000 / 16);
+		assertEquals(1000000, percentiles[2]);
+
+		// 비어있으면 0
+		assertEquals(0, new LatencyRecorder().percentiles(0.5)[0]);
+	}
+
+
+	// 여러 스레드에서 기록해도 개수가 맞는지
+	@Test
+	public void testC동시기록() throws Exception {
+		final LatencyRecorder recorder = new LatencyRecorder();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		final CountDownLatch latch = new CountDownLatch(8);
+		for(int t=0;t<8;t++) {
+			executor.execute(() -> {
+				for(int i=0;i<10000;i++) recorder.record(i * 1000L);
+				latch.countDown();
+			});
+		}
+		latch.await();
+		executor.shutdown();
+
+		assertEquals(80000, recorder.getCount());
+		assertEquals(9999, recorder.getMaxMicros());
+	}
+
+}
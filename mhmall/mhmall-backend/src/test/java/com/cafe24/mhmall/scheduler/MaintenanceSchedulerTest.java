@@ -0,0 +1,117 @@
+package com.cafe24.mhmall.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.mockito.Mockito;
+
+import com.cafe24.mhmall.repository.MaintenanceDao;
+import com.cafe24.mhmall.service.BasketService;
+import com.cafe24.mhmall.service.OrdersIntakeService;
+import com.cafe24.mhmall.service.OrdersService;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MaintenanceSchedulerTest {
+
+	private MaintenanceScheduler scheduler;
+
+
+	@Before
+	public void setup() {
+		scheduler = new MaintenanceScheduler();
+		scheduler.maintenanceDao = Mockito.mock(MaintenanceDao.class);
+		scheduler.ordersService = Mockito.mock(OrdersService.class);
+		scheduler.basketService = Mockito.mock(BasketService.class);
+		scheduler.ordersIntakeService = Mockito.mock(OrdersIntakeService.class);
+		scheduler.fixedDelay = 600000L;
+		scheduler.batchSize = 2;
+		scheduler.maxBatches = 10;
+		scheduler.leaseSeconds = 600L;
+		scheduler.intakeExpireSeconds = 1800L;
+
+		Mockito.when(scheduler.maintenanceDao.updateLock(Mockito.<Map<String, Object>>any())).thenReturn(1);
+	}
+
+
+	// 배치가 가득 차면 다음 배치를 이어서 처리하고 실행 결과에 개수를 기록
+	@Test
+	public void testA배치처리() throws Exception {
+		Mockito.when(scheduler.ordersService.cancelTimeOverOrders(Mockito.anyLong(), Mockito.eq(2))).thenReturn(2, 2, 1);
+		Mockito.when(scheduler.basketService.deleteTimeOver(Mockito.anyLong(), Mockito.eq(2))).thenReturn(0);
+
+		scheduler.run();
+
+		Mockito.verify(scheduler.ordersService, Mockito.times(3)).cancelTimeOverOrders(Mockito.anyLong(), Mockito.eq(2));
+		Mockito.verify(scheduler.basketService, Mockito.times(1)).deleteTimeOver(Mockito.anyLong(), Mockito.eq(2));
+		Mockito.verify(scheduler.maintenanceDao).releaseLock(Mockito.<Map<String, Object>>any());
+
+		Map<String, Object> run = scheduler.getLastRun();
+		assertEquals(5, run.get("canceledOrders"));
+		assertEquals(0, run.get("deletedBaskets"));
+		assertEquals(5L, run.get("totalCanceledOrders"));
+		assertEquals(0L, run.get("totalFailedRuns"));
+		assertNull(run.get("error"));
+	}
+
+
+	// 다른 서버가 잠금을 가지고 있으면 실행하지 않는다.
+	@Test
+	public void testB잠금실패() throws Exception {
+		Mockito.when(scheduler.maintenanceDao.updateLock(Mockito.<Map<String, Object>>any())).thenReturn(0);
+
+		scheduler.run();
+
+		Mockito.verify(scheduler.ordersService, Mockito.never()).cancelTimeOverOrders(Mockito.anyLong(), Mockito.anyInt());
+		Mockito.verify(scheduler.basketService, Mockito.never()).deleteTimeOver(Mockito.anyLong(), Mockito.anyInt());
+	}
+
+
+	// 실패하면 잠금을 풀고 실행 결과에 오류와 실패 횟수를 기록
+	@Test
+	public void testC실패기록() throws Exception {
+		Mockito.when(scheduler.ordersService.cancelTimeOverOrders(Mockito.anyLong(), Mockito.anyInt())).thenThrow(new IllegalStateException("DB 오류"));
+
+		scheduler.run();
+		scheduler.run();
+
+		Mockito.verify(scheduler.maintenanceDao, Mockito.times(2)).releaseLock(Mockito.<Map<String, Object>>any());
+
+		Map<String, Object> run = scheduler.getLastRun();
+		assertNotNull(run.get("error"));
+		assertEquals(2L, run.get("totalFailedRuns"));
+	}
+
+
+	// 처리되지 않고 시간이 초과된 주문 접수는 실패 처리(재고 복구)
+	@Test
+	public void testD주문접수만료() throws Exception {
+		Mockito.when(scheduler.ordersIntakeService.getExpiredList(1800L, 2)).thenReturn(Arrays.asList(intake(1L), intake(2L)), Arrays.asList(intake(3L)));
+		Mockito.when(scheduler.ordersIntakeService.fail(Mockito.anyLong(), Mockito.anyString())).thenReturn(true, true, false);
+
+		scheduler.run();
+
+		Mockito.verify(scheduler.ordersIntakeService, Mockito.times(2)).getExpiredList(1800L, 2);
+		Mockito.verify(scheduler.ordersIntakeService).fail(Mockito.eq(3L), Mockito.anyString());
+
+		Map<String, Object> run = scheduler.getLastRun();
+		assertEquals(2, run.get("expiredIntakes"));
+		assertEquals(2L, run.get("totalExpiredIntakes"));
+	}
+
+
+	private OrdersIntakeVo intake(Long no) {
+		OrdersIntakeVo vo = new OrdersIntakeVo();
+		vo.setNo(no);
+		return vo;
+	}
+
+}
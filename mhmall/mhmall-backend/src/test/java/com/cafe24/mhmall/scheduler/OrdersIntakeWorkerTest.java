@@ -0,0 +1,95 @@
+package com.cafe24.mhmall.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.mockito.Mockito;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.cafe24.mhmall.service.OrdersIntakeService;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class OrdersIntakeWorkerTest {
+
+	private OrdersIntakeWorker worker;
+	private OrdersIntakeService ordersIntakeService;
+
+
+	@Before
+	public void setup() {
+		worker = new OrdersIntakeWorker();
+		worker.ordersIntakeService = ordersIntakeService = Mockito.mock(OrdersIntakeService.class);
+		worker.batchSize = 100;
+		worker.maxAttempts = 8;
+		worker.retryDelaySeconds = 5;
+
+		Mockito.when(ordersIntakeService.retry(Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt())).thenReturn(true);
+		Mockito.when(ordersIntakeService.fail(Mockito.anyLong(), Mockito.anyString())).thenReturn(true);
+	}
+
+
+	// 교착, 잠금 대기시간 초과는 실패로 기록하지 않고(재고 그대로) 나중에 다시 처리
+	@Test
+	public void testA일시적인오류() throws Exception {
+		Mockito.when(ordersIntakeService.getWaitList(100)).thenReturn(Arrays.asList(intake(1L, 0), intake(2L, 3)));
+		Mockito.when(ordersIntakeService.process(1L)).thenThrow(new DeadlockLoserDataAccessException("deadlock", null));
+		Mockito.when(ordersIntakeService.process(2L)).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+		assertEquals(2, worker.processEach());
+
+		Mockito.verify(ordersIntakeService).retry(Mockito.eq(1L), Mockito.anyString(), Mockito.eq(5));
+		Mockito.verify(ordersIntakeService).retry(Mockito.eq(2L), Mockito.anyString(), Mockito.eq(40));
+		Mockito.verify(ordersIntakeService, Mockito.never()).fail(Mockito.anyLong(), Mockito.anyString());
+		assertEquals(2L, worker.getStats().get("retryCount"));
+	}
+
+
+	// 다시 해도 같은 오류(잘못된 주문 정보, 제약조건 위반)와 다시 처리 횟수를 넘긴 접수는 실패(재고 복구)
+	@Test
+	public void testB실패() throws Exception {
+		Mockito.when(ordersIntakeService.getWaitList(100)).thenReturn(Arrays.asList(intake(1L, 0), intake(2L, 0), intake(3L, 7)));
+		Mockito.when(ordersIntakeService.process(1L)).thenThrow(new IllegalStateException("주문 접수 정보 읽기 실패"));
+		Mockito.when(ordersIntakeService.process(2L)).thenThrow(new DataIntegrityViolationException("duplicate"));
+		Mockito.when(ordersIntakeService.process(3L)).thenThrow(new DeadlockLoserDataAccessException("deadlock", null));
+
+		worker.processEach();
+
+		Mockito.verify(ordersIntakeService).fail(Mockito.eq(1L), Mockito.anyString());
+		Mockito.verify(ordersIntakeService).fail(Mockito.eq(2L), Mockito.anyString());
+		Mockito.verify(ordersIntakeService).fail(Mockito.eq(3L), Mockito.anyString());
+		Mockito.verify(ordersIntakeService, Mockito.never()).retry(Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt());
+		assertEquals(3L, worker.getStats().get("failedCount"));
+	}
+
+
+	// 일시적인 오류 구분(원인까지 확인)
+	@Test
+	public void testC오류구분() throws Exception {
+		assertTrue(OrdersIntakeWorker.isTransient(new CannotCreateTransactionException("connection", new SQLTransientConnectionException())));
+		assertTrue(OrdersIntakeWorker.isTransient(new RuntimeException(new DeadlockLoserDataAccessException("deadlock", null))));
+		assertFalse(OrdersIntakeWorker.isTransient(new IllegalStateException("주문내역 추가 실패")));
+		assertFalse(OrdersIntakeWorker.isTransient(new DataIntegrityViolationException("duplicate")));
+	}
+
+
+	private OrdersIntakeVo intake(Long no, int attempts) {
+		OrdersIntakeVo vo = new OrdersIntakeVo();
+		vo.setNo(no);
+		vo.setOrdersNo("20261017_0000" + no);
+		vo.setAttempts(attempts);
+		return vo;
+	}
+
+}
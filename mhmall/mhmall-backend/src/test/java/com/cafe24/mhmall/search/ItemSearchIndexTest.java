@@ -0,0 +1,102 @@
+package com.cafe24.mhmall.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.mockito.Mockito;
+
+import com.cafe24.mhmall.cache.InMemoryCacheInvalidationBus;
+import com.cafe24.mhmall.repository.ItemDao;
+import com.cafe24.mhmall.search.ItemSearchIndex.SearchResult;
+import com.cafe24.mhmall.vo.ItemVo;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ItemSearchIndexTest {
+
+	private ItemDao itemDao;
+	private ItemSearchIndex itemSearchIndex;
+
+
+	@Before
+	public void setup() {
+		List<ItemVo> itemList = new ArrayList<ItemVo>();
+		itemList.add(item(1L, "반팔 티셔츠", "여름용 면 티셔츠", "TRUE", 1L));
+		itemList.add(item(2L, "긴팔티셔츠", "가을용", "TRUE", 1L));
+		itemList.add(item(3L, "청바지", "티셔츠와 어울리는 바지", "TRUE", 2L));
+		itemList.add(item(4L, "티셔츠 세트", "진열 안함", "FALSE", 1L));
+		itemList.add(item(5L, "Black Shirt", "basic", "TRUE", 2L));
+
+		itemDao = Mockito.mock(ItemDao.class);
+		Mockito.when(itemDao.selectList(Mockito.any(ItemVo.class))).thenReturn(itemList);
+
+		itemSearchIndex = new ItemSearchIndex();
+		itemSearchIndex.itemDao = itemDao;
+		itemSearchIndex.cacheInvalidationBus = new InMemoryCacheInvalidationBus();
+		itemSearchIndex.enabled = true;
+		itemSearchIndex.init();
+		itemSearchIndex.rebuild();
+	}
+
+
+	// 띄어쓰기 없이 부분 검색, 상품명이 설명보다 먼저, 진열 안한 상품 제외
+	@Test
+	public void testA한글부분검색() throws Exception {
+		SearchResult result = itemSearchIndex.search("티셔츠", null, 0, 12);
+		assertEquals(3, result.getTotal());
+		assertEquals(Arrays.asList(1L, 2L, 3L), result.getNos());
+
+		// 한글자
+		assertEquals(2, itemSearchIndex.search("팔", null, 0, 12).getTotal());
+
+		// 없는 단어
+		assertEquals(0, itemSearchIndex.search("셔티", null, 0, 12).getTotal());
+
+		// 색인 결과는 통계로 확인
+		assertEquals(5, itemSearchIndex.getStats().get("docCount"));
+		assertEquals(1L, itemSearchIndex.getStats().get("buildCount"));
+	}
+
+
+	// 카테고리, 여러 단어, 대소문자, 페이지
+	@Test
+	public void testB검색조건() throws Exception {
+		assertEquals(Arrays.asList(3L), itemSearchIndex.search("티셔츠", 2L, 0, 12).getNos());
+		assertEquals(Arrays.asList(1L), itemSearchIndex.search("반팔 면", null, 0, 12).getNos());
+		assertEquals(Arrays.asList(5L), itemSearchIndex.search("SHIRT", null, 0, 12).getNos());
+
+		SearchResult result = itemSearchIndex.search("티셔츠", null, 1, 1);
+		assertEquals(3, result.getTotal());
+		assertEquals(Arrays.asList(2L), result.getNos());
+	}
+
+
+	// 수정, 진열, 삭제 후 다시 색인
+	@Test
+	public void testC상품하나다시색인() throws Exception {
+		Mockito.when(itemDao.selectOne(4L)).thenReturn(item(4L, "티셔츠 세트", "진열중", "TRUE", 1L));
+		itemSearchIndex.update(4L);
+		assertTrue(itemSearchIndex.search("티셔츠", null, 0, 12).getNos().contains(4L));
+
+		Mockito.when(itemDao.selectOne(1L)).thenReturn(item(1L, "반바지", "여름용", "TRUE", 1L));
+		itemSearchIndex.update(1L);
+		assertEquals(Arrays.asList(4L, 2L, 3L), itemSearchIndex.search("티셔츠", null, 0, 12).getNos());
+
+		Mockito.when(itemDao.selectOne(2L)).thenReturn(null);
+		itemSearchIndex.update(2L);
+		assertEquals(Arrays.asList(4L, 3L), itemSearchIndex.search("티셔츠", null, 0, 12).getNos());
+	}
+
+
+	private ItemVo item(Long no, String name, String description, String display, Long categoryNo) {
+		return new ItemVo(no, name, description, 10000L, "thumbnail", display, categoryNo, null, null);
+	}
+
+}
@@ -0,0 +1,180 @@
+package com.cafe24.mhmall.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.cafe24.mhmall.repository.OrdersIntakeDao;
+import com.cafe24.mhmall.service.BasketService;
+import com.cafe24.mhmall.service.GuestService;
+import com.cafe24.mhmall.service.OptionService;
+import com.cafe24.mhmall.service.OrdersItemService;
+import com.cafe24.mhmall.service.OrdersService;
+import com.cafe24.mhmall.util.OrdersNoGenerator;
+import com.cafe24.mhmall.vo.BasketVo;
+import com.cafe24.mhmall.vo.GuestVo;
+import com.cafe24.mhmall.vo.OrdersIntakePayloadVo;
+import com.cafe24.mhmall.vo.OrdersIntakeVo;
+import com.cafe24.mhmall.vo.OrdersItemVo;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class OrdersIntakeServiceTest {
+
+	private OrdersIntakeServiceImpl service;
+	private OrdersIntakeDao ordersIntakeDao;
+
+
+	@Before
+	public void setup() {
+		service = new OrdersIntakeServiceImpl();
+		service.ordersIntakeDao = ordersIntakeDao = Mockito.mock(OrdersIntakeDao.class);
+		service.ordersNoGenerator = Mockito.mock(OrdersNoGenerator.class);
+		service.ordersService = Mockito.mock(OrdersService.class);
+		service.guestService = Mockito.mock(GuestService.class);
+		service.ordersItemService = Mockito.mock(OrdersItemService.class);
+		service.basketService = Mockito.mock(BasketService.class);
+		service.optionService = Mockito.mock(OptionService.class);
+
+		service.maxPending = 10;
+		service.countRefreshMs = 60000L;
+
+		Mockito.when(service.ordersNoGenerator.next()).thenReturn("20261017_00001");
+		Mockito.when(service.ordersItemService.add(Mockito.anyString(), Mockito.anyListOf(OrdersItemVo.class))).thenReturn(true);
+	}
+
+
+	// 접수 : 새 키면 주문번호, 이미 있는 키면 null
+	@Test
+	public void testA접수() throws Exception {
+		Mockito.when(ordersIntakeDao.insert(Mockito.any(OrdersIntakeVo.class))).thenReturn(1, 0);
+
+		assertEquals("20261017_00001", service.accept(guestScope(), "key-00000001", "hash", null, guestPayload()));
+		assertNull(service.accept(guestScope(), "key-00000001", "hash", null, guestPayload()));
+	}
+
+
+	// 배치 처리 : 접수할 때 저장한 정보로 주문, 비회원, 주문내역 추가 후 완료 기록
+	@Test
+	public void testB배치처리() throws Exception {
+		Mockito.when(ordersIntakeDao.insert(Mockito.any(OrdersIntakeVo.class))).thenReturn(1);
+		service.accept(guestScope(), "key-00000001", "hash", null, guestPayload());
+
+		ArgumentCaptor<OrdersIntakeVo> captor = ArgumentCaptor.forClass(OrdersIntakeVo.class);
+		Mockito.verify(ordersIntakeDao).insert(captor.capture());
+		OrdersIntakeVo intakeVo = captor.getValue();
+		intakeVo.setNo(1L);
+		assertEquals("접수", intakeVo.getStatus());
+		assertEquals("g:홍길동:01012345678", intakeVo.getScope());
+		assertEquals("test1234!", intakeVo.getGuestPassword());
+
+		Mockito.when(ordersIntakeDao.selectListByStatus(Mockito.<Map<String, Object>>any())).thenReturn(Arrays.asList(intakeVo));
+		Mockito.when(ordersIntakeDao.updateStatus(Mockito.<Map<String, Object>>any())).thenReturn(1);
+
+		assertEquals(Integer.valueOf(1), service.processBatch(100));
+		Mockito.verify(service.ordersService).ordersAdd("20261017_00001", 3000L, null);
+		Mockito.verify(service.basketService).deleteAllByOptionNoG(Mockito.eq(new Long[] {7L}), Mockito.any(BasketVo.class));
+
+		ArgumentCaptor<GuestVo> guestCaptor = ArgumentCaptor.forClass(GuestVo.class);
+		Mockito.verify(service.guestService).add(Mockito.eq("20261017_00001"), guestCaptor.capture());
+		assertEquals("홍길동", guestCaptor.getValue().getGuestName());
+
+		ArgumentCaptor<List> itemCaptor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(service.ordersItemService).add(Mockito.eq("20261017_00001"), itemCaptor.capture());
+		assertEquals(1, itemCaptor.getValue().size());
+	}
+
+
+	// 다른 서버가 먼저 처리한 접수가 있으면 롤백(예외)
+	@Test(expected = IllegalStateException.class)
+	public void testC중복처리() throws Exception {
+		OrdersIntakeVo intakeVo = new OrdersIntakeVo("m:member1", "key-00000001", "hash", "20261017_00001", "member1", null, "{\"money\":3000,\"optionNos\":[7],\"ordersItemList\":[]}", "접수");
+		intakeVo.setNo(1L);
+		Mockito.when(ordersIntakeDao.selectListByStatus(Mockito.<Map<String, Object>>any())).thenReturn(Arrays.asList(intakeVo));
+		Mockito.when(ordersIntakeDao.updateStatus(Mockito.<Map<String, Object>>any())).thenReturn(0);
+
+		service.processBatch(100);
+	}
+
+
+	// 처리 실패 : 줄였던 재고 복구 후 실패 기록
+	@Test
+	public void testD처리실패() throws Exception {
+		OrdersIntakeVo intakeVo = new OrdersIntakeVo(guestScope(), "key-00000001", "hash", "20261017_00001", null, "test1234!", "{\"money\":3000,\"optionNos\":[7],\"ordersItemList\":[{\"optionNo\":7,\"cnt\":3,\"money\":1000}]}", "접수");
+		intakeVo.setNo(1L);
+		Mockito.when(ordersIntakeDao.selectByNoForUpdate(Mockito.<Map<String, Object>>any())).thenReturn(intakeVo);
+		Mockito.when(ordersIntakeDao.updateStatus(Mockito.<Map<String, Object>>any())).thenReturn(1);
+
+		assertTrue(service.fail(1L, "error"));
+
+		ArgumentCaptor<List> itemCaptor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(service.optionService).restoreCnt(itemCaptor.capture());
+		assertEquals(Long.valueOf(3), ((OrdersItemVo)itemCaptor.getValue().get(0)).getCnt());
+	}
+
+
+	// 요청 해시 : 같은 요청이면 같은 값, 수량이나 비회원 정보가 다르면 다른 값
+	@Test
+	public void testE요청해시() throws Exception {
+		String hash = service.requestHash(new Long[] {7L}, new Integer[] {3}, guestPayload());
+		assertEquals(hash, service.requestHash(new Long[] {7L}, new Integer[] {3}, guestPayload()));
+		assertNotEquals(hash, service.requestHash(new Long[] {7L}, new Integer[] {4}, guestPayload()));
+
+		OrdersIntakePayloadVo payload = guestPayload();
+		payload.setGuestPassword("test5678!");
+		assertNotEquals(hash, service.requestHash(new Long[] {7L}, new Integer[] {3}, payload));
+
+		// 요청 키는 요청한 사람마다 따로
+		assertNotEquals(service.scope("member1", null, null), guestScope());
+	}
+
+
+	// 가득 찼는지 : 요청마다 세지 않고 countRefreshMs 동안은 센 값을 쓴다.
+	@Test
+	public void testF접수큐가득참() throws Exception {
+		Mockito.when(ordersIntakeDao.countByStatusLimit(Mockito.<Map<String, Object>>any())).thenReturn(10, 0);
+
+		assertTrue(service.isFull());
+		assertTrue(service.isFull());
+		Mockito.verify(ordersIntakeDao, Mockito.times(1)).countByStatusLimit(Mockito.<Map<String, Object>>any());
+
+		service.countRefreshMs = 0L;
+		assertFalse(service.isFull());
+	}
+
+
+	private String guestScope() {
+		return service.scope(null, "홍길동", "01012345678");
+	}
+
+
+	private OrdersIntakePayloadVo guestPayload() {
+		OrdersItemVo ordersItemVo = new OrdersItemVo();
+		ordersItemVo.setOptionNo(7L);
+		ordersItemVo.setCnt(3L);
+		ordersItemVo.setMoney(1000L);
+
+		OrdersIntakePayloadVo payload = new OrdersIntakePayloadVo();
+		payload.setMoney(3000L);
+		payload.setOptionNos(new Long[] {7L});
+		payload.setGuestName("홍길동");
+		payload.setGuestPhone("01012345678");
+		payload.setGuestPassword("test1234!");
+		payload.setGuestSession("session");
+		payload.setOrdersItemList(Arrays.asList(ordersItemVo));
+		return payload;
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.cafe24.mhmall.service.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.cafe24.mhmall.cache.CatalogCache;
+import com.cafe24.mhmall.cache.CatalogCache.Region;
+import com.cafe24.mhmall.repository.OptionDao;
+import com.cafe24.mhmall.repository.OrdersDao;
+import com.cafe24.mhmall.util.OrdersNoGenerator;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class OrdersServiceTest {
+
+	private OrdersServiceImpl service;
+	private OrdersDao ordersDao;
+	private OptionDao optionDao;
+
+
+	@Before
+	public void setup() {
+		service = new OrdersServiceImpl();
+		service.ordersDao = ordersDao = Mockito.mock(OrdersDao.class);
+		service.optionDao = optionDao = Mockito.mock(OptionDao.class);
+		service.ordersNoGenerator = Mockito.mock(OrdersNoGenerator.class);
+		service.catalogCache = Mockito.mock(CatalogCache.class);
+	}
+
+
+	// 시간 초과 주문 취소 : 잠근 주문번호들의 재고를 복구하고 상태를 취소로 변경
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testA시간초과주문취소() throws Exception {
+		List<String> ordersNos = Arrays.asList("20261017_00001", "20261017_00002");
+		Mockito.when(ordersDao.selectTimeOverOrdersNos(Mockito.<Map<String, Object>>any())).thenReturn(ordersNos);
+		Mockito.when(optionDao.updateRestoreByOrdersNos(ordersNos)).thenReturn(3);
+		Mockito.when(ordersDao.updateStatusAll(Mockito.<Map<String, Object>>any())).thenReturn(2);
+
+		assertEquals(Integer.valueOf(2), service.cancelTimeOverOrders(2592000L, 500));
+
+		// 잠금 조건
+		ArgumentCaptor<Map> lockCaptor = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(ordersDao).selectTimeOverOrdersNos(lockCaptor.capture());
+		assertEquals(2592000L, lockCaptor.getValue().get("ordersTime"));
+		assertEquals(500, lockCaptor.getValue().get("batchSize"));
+
+		// 재고 복구 후 옵션 캐시 무효화
+		Mockito.verify(optionDao).updateRestoreByOrdersNos(ordersNos);
+		Mockito.verify(service.catalogCache).invalidateAll(Region.OPTION);
+
+		// 같은 주문번호들을 취소로 변경
+		ArgumentCaptor<Map> statusCaptor = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(ordersDao).updateStatusAll(statusCaptor.capture());
+		assertEquals(ordersNos, statusCaptor.getValue().get("ordersNos"));
+		assertEquals("취소", statusCaptor.getValue().get("status"));
+	}
+
+
+	// 시간 초과 주문이 없으면 재고와 상태를 건드리지 않는다.
+	@Test
+	public void testB시간초과주문없음() throws Exception {
+		Mockito.when(ordersDao.selectTimeOverOrdersNos(Mockito.<Map<String, Object>>any())).thenReturn(Collections.<String>emptyList());
+
+		assertEquals(Integer.valueOf(0), service.cancelTimeOverOrders(2592000L, 500));
+		Mockito.verify(optionDao, Mockito.never()).updateRestoreByOrdersNos(Mockito.anyListOf(String.class));
+		Mockito.verify(ordersDao, Mockito.never()).updateStatusAll(Mockito.<Map<String, Object>>any());
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.cafe24.mhmall.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.cafe24.mhmall.repository.OrdersDao;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class OrdersNoGeneratorTest {
+
+	private static final int THREAD_CNT = 16;
+	private static final int ORDERS_CNT = 20000;
+
+	private final String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+
+	// 서버 1대 : 중복없이 DB의 마지막 번호 다음부터 생성하는지
+	@Test
+	public void testA단일서버주문번호() throws Exception {
+		OrdersDao ordersDao = Mockito.mock(OrdersDao.class);
+		Mockito.when(ordersDao.selectLastNo(today)).thenReturn(10L);
+
+		OrdersNoGenerator generator = new OrdersNoGenerator();
+		generator.ordersDao = ordersDao;
+		generator.blockSize = 0;
+
+		assertEquals(today + "_00011", generator.next());
+
+		Set<String> ordersNos = stress(generator);
+		assertEquals(THREAD_CNT * ORDERS_CNT, ordersNos.size());
+
+		// 하루에 한번만 DB를 읽는지
+		Mockito.verify(ordersDao, Mockito.times(1)).selectLastNo(today);
+	}
+
+
+	// 서버 여러대 : 블록 할당을 받아도 서버간 중복이 없는지
+	@Test
+	public void testB블록할당주문번호() throws Exception {
+		final Map<String, AtomicLong> seqTable = new ConcurrentHashMap<String, AtomicLong>();
+
+		OrdersDao ordersDao = Mockito.mock(OrdersDao.class);
+		Mockito.when(ordersDao.selectLastNo(today)).thenReturn(null);
+		Mockito.when(ordersDao.allocateNoBlock(Mockito.anyMapOf(String.class, Object.class))).thenAnswer(new Answer<Long>() {
+			@Override
+			public Long answer(InvocationOnMock invocation) throws Throwable {
+				// orders_no_seq 테이블 흉내
+				@SuppressWarnings("unchecked")
+				Map<String, Object> map = (Map<String, Object>)invocation.getArguments()[0];
+				AtomicLong lastNo = new AtomicLong((Long)map.get("seed"));
+				AtomicLong before = seqTable.putIfAbsent((String)map.get("day"), lastNo);
+				if(before != null) lastNo = before;
+				return lastNo.addAndGet((Integer)map.get("blockSize"));
+			}
+		});
+
+		OrdersNoGenerator generator1 = new OrdersNoGenerator();
+		generator1.ordersDao = ordersDao;
+		generator1.blockSize = 100;
+
+		OrdersNoGenerator generator2 = new OrdersNoGenerator();
+		generator2.ordersDao = ordersDao;
+		generator2.blockSize = 100;
+
+		Set<String> ordersNos = stress(generator1, generator2);
+		assertEquals(THREAD_CNT * ORDERS_CNT, ordersNos.size());
+	}
+
+
+	// 하루 99999건을 넘긴 뒤 재시작해도 이어서 번호를 주는지
+	@Test
+	public void testC다섯자리초과주문번호() throws Exception {
+		OrdersDao ordersDao = Mockito.mock(OrdersDao.class);
+		Mockito.when(ordersDao.selectLastNo(today)).thenReturn(99999L);
+
+		OrdersNoGenerator generator = new OrdersNoGenerator();
+		generator.ordersDao = ordersDao;
+		generator.blockSize = 0;
+
+		assertEquals(today + "_100000", generator.next());
+
+		// 재시작 : DB의 마지막 번호가 100000
+		Mockito.when(ordersDao.selectLastNo(today)).thenReturn(100000L);
+		generator = new OrdersNoGenerator();
+		generator.ordersDao = ordersDao;
+		generator.blockSize = 0;
+
+		assertEquals(today + "_100001", generator.next());
+	}
+
+
+	// 여러 쓰레드에서 동시에 주문번호를 받아서 중복여부 확인
+	private Set<String> stress(final OrdersNoGenerator... generators) throws Exception {
+		final Set<String> ordersNos = ConcurrentHashMap.newKeySet();
+		final AtomicLong duplicate = new AtomicLong();
+		final CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREAD_CNT);
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		for(int i=0;i<THREAD_CNT;i++) {
+			final OrdersNoGenerator generator = generators[i % generators.length];
+			futures.add(executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					start.await();
+					for(int j=0;j<ORDERS_CNT;j++) {
+						String ordersNo = generator.next();
+						assertTrue(ordersNo.startsWith(today + "_"));
+						if(!ordersNos.add(ordersNo)) duplicate.incrementAndGet();
+					}
+					return null;
+				}
+			}));
+		}
+
+		start.countDown();
+		for(Future<Void> future : futures) future.get();
+		executor.shutdown();
+
+		assertEquals(0, duplicate.get());
+		return ordersNos;
+	}
+
+}
@@ -29,6 +29,7 @@ public class AppSecurityConfig extends WebSecurityConfigurerAdapter {
 		web
 			.ignoring()
 			.antMatchers("/assets/**")
+			.antMatchers("/images/**")
 			.antMatchers("/favicon.ico");
 	}
 
@@ -0,0 +1,45 @@
+package com.cafe24.mhmall.frontend.config.app;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.sleuth.instrument.async.TraceableExecutorService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+// 백엔드 요청을 동시에 보내기 위한 스레드풀
+// 최대 스레드수와 대기열을 정해두고, 꽉 차면 요청한 스레드에서 직접 실행한다.(순서대로 요청하는 것과 같아짐)
+@Configuration
+public class BackendExecutorConfig {
+
+	@Value("${mhmall.frontend.backend-pool.threads:32}")
+	private int threads;
+
+	@Value("${mhmall.frontend.backend-pool.queue-size:256}")
+	private int queueSize;
+
+
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolExecutor backendThreadPool() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				threads, threads,
+				60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(queueSize),
+				new CustomizableThreadFactory("backend-"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	// 요청 스레드의 trace 정보를 이어서 보내도록 감싸기
+	@Bean
+	public ExecutorService backendExecutor(BeanFactory beanFactory) {
+		return new TraceableExecutorService(beanFactory, backendThreadPool());
+	}
+
+}
@@ -1,45 +1,121 @@
 package com.cafe24.mhmall.frontend.config.app;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.security.oauth2.client.DefaultOAuth2ClientContext;
 import org.springframework.security.oauth2.client.OAuth2RestTemplate;
 import org.springframework.security.oauth2.client.resource.OAuth2ProtectedResourceDetails;
+import org.springframework.security.oauth2.client.token.grant.client.ClientCredentialsAccessTokenProvider;
 import org.springframework.security.oauth2.client.token.grant.client.ClientCredentialsResourceDetails;
 import org.springframework.security.oauth2.common.AuthenticationScheme;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableOAuth2Client;
 
+import com.cafe24.mhmall.frontend.util.BackendLatencyInterceptor;
+
 @Configuration
 @EnableOAuth2Client
 public class OAuth2ClientConfig {
-	
+
+	@Value("${mhmall.frontend.backend-client.max-total:200}")
+	private int maxTotal;
+
+	@Value("${mhmall.frontend.backend-client.max-per-route:100}")
+	private int maxPerRoute;
+
+	@Value("${mhmall.frontend.backend-client.connect-timeout-ms:1000}")
+	private int connectTimeoutMs;
+
+	@Value("${mhmall.frontend.backend-client.read-timeout-ms:3000}")
+	private int readTimeoutMs;
+
+	@Value("${mhmall.frontend.backend-client.pool-timeout-ms:500}")
+	private int poolTimeoutMs;
+
+	@Value("${mhmall.frontend.backend-client.idle-seconds:30}")
+	private long idleSeconds;
+
+
 	@Bean
 	public OAuth2ProtectedResourceDetails resourceDetails() {
         ClientCredentialsResourceDetails resourceDetails = new ClientCredentialsResourceDetails();
-        
+
         resourceDetails.setAccessTokenUri("http://localhost:8888/mhmall/oauth/token");
 	    resourceDetails.setClientId("mhmall");
 	    resourceDetails.setClientSecret("1234");
         resourceDetails.setGrantType("client_credentials");
         resourceDetails.setScope(Arrays.asList("write", "read"));
 	    resourceDetails.setAuthenticationScheme(AuthenticationScheme.header);
-	    
+
 	    return resourceDetails;
 	}
-	
+
+	// 백엔드 커넥션풀(연결을 재사용해서 요청마다 TCP 연결을 새로 맺지 않음)
+	@Bean
+	public PoolingHttpClientConnectionManager backendConnectionManager() {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(maxTotal);
+		connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+		// 오래 쉰 연결은 쓰기 전에 확인
+		connectionManager.setValidateAfterInactivity(2000);
+		return connectionManager;
+	}
+
+	// 타임아웃, 쉬는 연결 정리, gzip 응답(기본으로 Accept-Encoding: gzip,deflate 를 보내고 풀어줌)
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient backendHttpClient() {
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(connectTimeoutMs)
+				.setSocketTimeout(readTimeoutMs)
+				.setConnectionRequestTimeout(poolTimeoutMs)
+				.build();
+
+		return HttpClients.custom()
+				.setConnectionManager(backendConnectionManager())
+				.setDefaultRequestConfig(requestConfig)
+				.evictExpiredConnections()
+				.evictIdleConnections(idleSeconds, TimeUnit.SECONDS)
+				.build();
+	}
+
+	@Bean
+	public HttpComponentsClientHttpRequestFactory backendRequestFactory() {
+		return new HttpComponentsClientHttpRequestFactory(backendHttpClient());
+	}
+
+	// 백엔드 URI별 응답시간
+	@Bean
+	public BackendLatencyInterceptor backendLatencyInterceptor() {
+		return new BackendLatencyInterceptor("/mhmall");
+	}
+
 	@Bean
 	public OAuth2RestTemplate oauth2RestTemplate() {
-		
-		
+
+
 	    OAuth2RestTemplate restTemplate = new OAuth2RestTemplate( resourceDetails(), new DefaultOAuth2ClientContext() );
-	    
+	    restTemplate.setRequestFactory(backendRequestFactory());
+	    restTemplate.setInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(backendLatencyInterceptor()));
+
+	    // 토큰 요청도 같은 커넥션풀로
+	    ClientCredentialsAccessTokenProvider accessTokenProvider = new ClientCredentialsAccessTokenProvider();
+	    accessTokenProvider.setRequestFactory(backendRequestFactory());
+	    restTemplate.setAccessTokenProvider(accessTokenProvider);
+
         restTemplate.setMessageConverters(Arrays.asList(new MappingJackson2HttpMessageConverter()));
         System.out.println("access token: " + restTemplate.getAccessToken());
 
-	    
+
 	    return restTemplate;
 	}
 }
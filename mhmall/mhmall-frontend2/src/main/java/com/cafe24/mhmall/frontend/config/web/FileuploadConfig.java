@@ -1,19 +1,32 @@
 package com.cafe24.mhmall.frontend.config.web;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.web.multipart.commons.CommonsMultipartResolver;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import com.cafe24.mhmall.frontend.util.ImageServlet;
+import com.cafe24.mhmall.frontend.util.ImageStorage;
+
 @Configuration
 @EnableWebMvc
 public class FileuploadConfig extends WebMvcConfigurerAdapter {
 
+	@Value("${mhmall.frontend.image.save-path:/mhmall-uploads}")
+	private String savePath;
+
+	@Value("${mhmall.frontend.image.max-concurrent:64}")
+	private int maxConcurrent;
+
+	@Value("${mhmall.frontend.image.open-files:1000}")
+	private int openFiles;
+
 	//
 	// Multipart Resolver
 	//
@@ -30,9 +43,17 @@ public class FileuploadConfig extends WebMvcConfigurerAdapter {
 
 	//
 	// Resources url mapping
+	// /images/** 는 DispatcherServlet 을 거치지 않고 전용 서블릿으로(sendfile, Range, 캐시 헤더, 동시 처리 수 제한)
 	//
-	@Override
-	public void addResourceHandlers(ResourceHandlerRegistry registry) {
-		registry.addResourceHandler("/images/**").addResourceLocations("file:/mhmall-uploads/");
+	@Bean
+	public ImageServlet imageServlet() {
+		return new ImageServlet(savePath, maxConcurrent, openFiles);
+	}
+
+	@Bean
+	public ServletRegistrationBean imageServletRegistration() {
+		ServletRegistrationBean registration = new ServletRegistrationBean(imageServlet(), ImageStorage.URL + "/*");
+		registration.setName("imageServlet");
+		return registration;
 	}
 }
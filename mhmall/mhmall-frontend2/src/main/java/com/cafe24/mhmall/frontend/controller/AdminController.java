@@ -5,10 +5,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
 
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Controller;
@@ -31,7 +36,12 @@ import com.cafe24.mhmall.frontend.security.Auth.Role;
 import com.cafe24.mhmall.frontend.security.AuthUser;
 import com.cafe24.mhmall.frontend.service.MemberService;
 import com.cafe24.mhmall.frontend.service.impl.MemberServiceImpl;
+import com.cafe24.mhmall.frontend.util.BackendLatencyInterceptor;
+import com.cafe24.mhmall.frontend.util.BackendResponseCache;
+import com.cafe24.mhmall.frontend.util.ImageServlet;
+import com.cafe24.mhmall.frontend.util.ImageStorage;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
+import com.cafe24.mhmall.frontend.util.PageFetcher;
 import com.cafe24.mhmall.frontend.vo.MemberVo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -40,6 +50,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @RequestMapping("/admin")
 public class AdminController {
 	
+	@Autowired
+	PoolingHttpClientConnectionManager backendConnectionManager;
+	
+	@Autowired
+	BackendLatencyInterceptor backendLatencyInterceptor;
+	
+	@Autowired
+	ThreadPoolExecutor backendThreadPool;
+	
+	@Autowired
+	PageFetcher pageFetcher;
+	
+	@Autowired
+	BackendResponseCache backendResponseCache;
+	
+	@Autowired
+	ImageStorage imageStorage;
+	
+	@Autowired
+	ImageServlet imageServlet;
+	
+	
 	// 관리자 메인
 	@RequestMapping({"", "/"})
 	public String admin() {
@@ -48,4 +80,48 @@ public class AdminController {
 	}
 	
 	
+	// 백엔드 요청 상태(커넥션풀, URI별 응답시간, 동시 요청 스레드풀, 응답 캐시, 이미지 만들기, 이미지 서블릿)
+	@ResponseBody
+	@RequestMapping(value = "/backend", method = RequestMethod.GET)
+	public JSONResult backend() {
+		
+		// 커넥션풀(leased가 max에 가깝거나 pending이 있으면 풀이 부족함)
+		Map<String, Object> pool = poolStats(backendConnectionManager.getTotalStats());
+		Map<String, Object> routes = new HashMap<String, Object>();
+		for(HttpRoute route : backendConnectionManager.getRoutes()) {
+			routes.put(route.getTargetHost().toHostString(), poolStats(backendConnectionManager.getStats(route)));
+		}
+		pool.put("routes", routes);
+		
+		// 동시 요청 스레드풀
+		Map<String, Object> executor = new HashMap<String, Object>();
+		executor.put("poolSize", backendThreadPool.getPoolSize());
+		executor.put("activeCount", backendThreadPool.getActiveCount());
+		executor.put("largestPoolSize", backendThreadPool.getLargestPoolSize());
+		executor.put("queueSize", backendThreadPool.getQueue().size());
+		executor.put("completedTaskCount", backendThreadPool.getCompletedTaskCount());
+		
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("pool", pool);
+		stats.put("latency", backendLatencyInterceptor.getStats());
+		stats.put("executor", executor);
+		stats.put("page", pageFetcher.getStats());
+		stats.put("responseCache", backendResponseCache.getStats());
+		stats.put("image", imageStorage.getStats());
+		stats.put("imageServer", imageServlet.getStats());
+		
+		return JSONResult.success(stats);
+	}
+	
+	
+	private Map<String, Object> poolStats(PoolStats poolStats) {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("leased", poolStats.getLeased());
+		stats.put("available", poolStats.getAvailable());
+		stats.put("pending", poolStats.getPending());
+		stats.put("max", poolStats.getMax());
+		return stats;
+	}
+	
+	
 }
@@ -50,14 +50,15 @@ public class AdminOrdersController {
 
 	
 	// 관리자 주문 리스트
-	@RequestMapping(value = "/list", method = RequestMethod.GET)
+	@RequestMapping(value = {"/list", "/list/{lastOrdersNo}"}, method = RequestMethod.GET)
 	public String ordersList(
+			@PathVariable(name = "lastOrdersNo", required = false) String lastOrdersNo,
 			@AuthUser SecurityUser authUser,
 			Model model
 			) {
 		
 		// 관리자 주문 리스트 조회
-		ResponseJSONResult<OrdersVoList> rJson = ordersService.getAdminList(authUser.getMockToken());
+		ResponseJSONResult<OrdersVoList> rJson = ordersService.getAdminList(lastOrdersNo, authUser.getMockToken());
 		
 		
 		model.addAttribute("ordersList", rJson.getData());
@@ -2,6 +2,7 @@ package com.cafe24.mhmall.frontend.controller;
 
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
@@ -35,6 +36,7 @@ import com.cafe24.mhmall.frontend.service.ItemImgService;
 import com.cafe24.mhmall.frontend.service.ItemService;
 import com.cafe24.mhmall.frontend.service.OptionService;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
+import com.cafe24.mhmall.frontend.util.PageFetcher;
 import com.cafe24.mhmall.frontend.vo.ItemVo;
 import com.cafe24.mhmall.frontend.vo.ItemsVo;
 import com.cafe24.mhmall.frontend.vo.MemberVo;
@@ -59,6 +61,9 @@ public class ItemController {
 	@Autowired
 	BasketService basketService;
 	
+	@Autowired
+	PageFetcher pageFetcher;
+	
 
 	// 상품상세
 	@RequestMapping(value = {"/view/{no}","/view/{no}/{kwd}"})
@@ -68,25 +73,38 @@ public class ItemController {
 			Model model
 			) {
 		
-		// 카테고리 리스트 요청
-		ResponseJSONResult<CategoryService.ListCategoryVo> rJsonCategory = categoryService.getList();
+		// 카테고리, 상품정보, 옵션리스트(1차만), 상품이미지리스트 동시에 요청
+		PageFetcher.Page page = pageFetcher.start();
+		Optional<Long> optionDetailNo1 = Optional.empty();
+		CompletableFuture<ResponseJSONResult<CategoryService.ListCategoryVo>> fCategory = page.fetch(() -> categoryService.getList());
+		CompletableFuture<ResponseJSONResult<ItemVo>> fItem = page.fetch(() -> itemService.get(no));
+		CompletableFuture<ResponseJSONResult<OptionService.ListOptionVo>> fOption = page.fetch(() -> optionService.getList(no, optionDetailNo1));
+		CompletableFuture<ResponseJSONResult<ItemImgService.ListItemImgVo>> fItemImg = page.fetch(() -> itemImgService.getList(no));
+		
+		// 카테고리 리스트
+		ResponseJSONResult<CategoryService.ListCategoryVo> rJsonCategory = page.get(fCategory);
 		model.addAttribute("categoryList", rJsonCategory.getData());
 		
 		
-		// 상품정보 요청
-		ResponseJSONResult<ItemVo> rJsonItem = itemService.get(no);
+		// 상품정보
+		ResponseJSONResult<ItemVo> rJsonItem = page.get(fItem);
 		model.addAttribute("itemVo", rJsonItem.getData());
 		
 		// 옵션리스트(1차만)
-		Optional<Long> optionDetailNo1 = Optional.empty();
-		ResponseJSONResult<OptionService.ListOptionVo> rJsonOption = optionService.getList(no, optionDetailNo1);
+		ResponseJSONResult<OptionService.ListOptionVo> rJsonOption = page.get(fOption);
 		model.addAttribute("optionList", rJsonOption.getData());
 		
 		
-		// 상품이미지리스트 요청
-		ResponseJSONResult<ItemImgService.ListItemImgVo> rJsonItemImg = itemImgService.getList(no);
+		// 상품이미지리스트
+		ResponseJSONResult<ItemImgService.ListItemImgVo> rJsonItemImg = page.get(fItemImg);
 		model.addAttribute("itemImgList", rJsonItemImg.getData());
 		
+		// 상품정보가 없으면
+		if(rJsonItem.getData() == null) {
+			model.addAttribute("message", "fail".equals(rJsonItem.getResult()) ? rJsonItem.getMessage() : "상품이 없습니다.");
+			return "post/error";
+		}
+		
 
 		model.addAttribute("categoryNoPath", rJsonItem.getData().getCategoryNo());
 		if(kwd.isPresent()) model.addAttribute("kwdPath", kwd.get());
@@ -247,13 +265,18 @@ public class ItemController {
 			Model model
 			) {
 		
-		// 카테고리 리스트 요청
-		ResponseJSONResult<CategoryService.ListCategoryVo> rJsonCategory = categoryService.getList();
+		// 카테고리 리스트, 상품리스트와 페이징 동시에 요청
+		PageFetcher.Page page = pageFetcher.start();
+		CompletableFuture<ResponseJSONResult<CategoryService.ListCategoryVo>> fCategory = page.fetch(() -> categoryService.getList());
+		CompletableFuture<ResponseJSONResult<ItemsVo>> fItems = page.fetch(() -> itemService.getListU(categoryNo, pages, kwd));
+		
+		// 카테고리 리스트
+		ResponseJSONResult<CategoryService.ListCategoryVo> rJsonCategory = page.get(fCategory);
 		model.addAttribute("categoryList", rJsonCategory.getData());
 		
 		
-		// 상품리스트와 페이징 가져오기
-		ResponseJSONResult<ItemsVo> rJson = itemService.getListU(categoryNo, pages, kwd);
+		// 상품리스트와 페이징
+		ResponseJSONResult<ItemsVo> rJson = page.get(fItems);
 		
 		
 	    // 실패면
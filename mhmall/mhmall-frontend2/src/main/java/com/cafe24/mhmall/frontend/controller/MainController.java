@@ -1,6 +1,7 @@
 package com.cafe24.mhmall.frontend.controller;
 
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
@@ -28,6 +29,7 @@ import com.cafe24.mhmall.frontend.service.CategoryService;
 import com.cafe24.mhmall.frontend.service.ItemImgService;
 import com.cafe24.mhmall.frontend.service.ItemService;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
+import com.cafe24.mhmall.frontend.util.PageFetcher;
 import com.cafe24.mhmall.frontend.vo.MemberVo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -40,24 +42,33 @@ public class MainController {
 	@Autowired
 	ItemService itemService;
 	
+	@Autowired
+	PageFetcher pageFetcher;
+	
 
 	@RequestMapping({"", "/"})
 	public String main(
 			Model model
 			) {
 		
-		// 카테고리 리스트 요청
-		ResponseJSONResult<CategoryService.ListCategoryVo> rJsonCategory = categoryService.getList();
+		// 카테고리 리스트, 최근상품리스트 (4개), 최근상품이미지 (3개) 동시에 요청
+		PageFetcher.Page page = pageFetcher.start();
+		CompletableFuture<ResponseJSONResult<CategoryService.ListCategoryVo>> fCategory = page.fetch(() -> categoryService.getList());
+		CompletableFuture<ResponseJSONResult<ItemService.ListItemVo>> fItemList = page.fetch(() -> itemService.getNewList(-1L, 4));
+		CompletableFuture<ResponseJSONResult<ItemService.ListMainImgVo>> fMainImgList = page.fetch(() -> itemService.getNewImgList(3));
+		
+		// 카테고리 리스트
+		ResponseJSONResult<CategoryService.ListCategoryVo> rJsonCategory = page.get(fCategory);
 		model.addAttribute("categoryList", rJsonCategory.getData());
 		
 		
 		// 최근상품리스트 (4개)
-		ResponseJSONResult<ItemService.ListItemVo> rJsonItemList = itemService.getNewList(-1L, 4);
+		ResponseJSONResult<ItemService.ListItemVo> rJsonItemList = page.get(fItemList);
 		model.addAttribute("itemList", rJsonItemList.getData());
 		
 		
 		// 최근상품이미지 (3개)
-		ResponseJSONResult<ItemService.ListMainImgVo> rJsonMainImgList = itemService.getNewImgList(3);
+		ResponseJSONResult<ItemService.ListMainImgVo> rJsonMainImgList = page.get(fMainImgList);
 		model.addAttribute("mainImgList", rJsonMainImgList.getData());
 		
 				
@@ -23,7 +23,7 @@ public interface OrdersService {
 	ResponseJSONResult<OrdersVo> memberOrdersView(String ordersNo, String mockToken);							// 회원 주문 상세
 	ResponseJSONResult<Boolean> memberOrdersCancel(String ordersNo, String mockToken);							// 회원 주문 취소
 	ResponseJSONResult<Boolean> guestOrdersCancel(String ordersNo, String guestPassword);						// 비회원 주문 취소
-	ResponseJSONResult<OrdersVoList> getAdminList(String mockToken);											// 관리자 주문 리스트 조회
+	ResponseJSONResult<OrdersVoList> getAdminList(String lastOrdersNo, String mockToken);						// 관리자 주문 리스트 조회(lastOrdersNo 다음부터)
 	ResponseJSONResult<OrdersVo> getAdminView(String ordersNo, String mockToken);								// 관리자 주문 상세 조회
 	ResponseJSONResult<Boolean> getAdminPaycheck(String ordersNo, String mockToken);							// 관리자 주문 입금확인
 	ResponseJSONResult<Boolean> getAdminTnumcheck(String ordersNo, String trackingNum, String mockToken);		// 관리자 운송장번호 등록
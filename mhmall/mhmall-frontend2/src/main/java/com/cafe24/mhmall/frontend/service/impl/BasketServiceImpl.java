@@ -14,7 +14,6 @@ import org.springframework.web.client.RestTemplate;
 import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
 import com.cafe24.mhmall.frontend.service.BasketService;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class BasketServiceImpl implements BasketService {
@@ -31,11 +30,7 @@ public class BasketServiceImpl implements BasketService {
 	    params.put("optionCnts", cnt);
 	    params.put("guestSession", guestSession);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest", HttpMethod.POST, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest", HttpMethod.POST, params, null, Boolean.class);
 		
 		return rJson;
 	}
@@ -48,11 +43,7 @@ public class BasketServiceImpl implements BasketService {
 	    params.put("optionNos", optionNo);
 	    params.put("optionCnts", cnt);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.POST, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.POST, params, mockToken, Boolean.class);
 		
 		return rJson;
 	}
@@ -62,11 +53,7 @@ public class BasketServiceImpl implements BasketService {
 	@Override
 	public ResponseJSONResult<ListBasketVo> guestList(String guestSession) {
 	    
-		ResponseJSONResult<ListBasketVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest/" + guestSession, HttpMethod.GET, null, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ListBasketVo data = mapper.convertValue(rJson.getData(), ListBasketVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<ListBasketVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest/" + guestSession, HttpMethod.GET, null, null, ListBasketVo.class);
 		
 		return rJson;
 	}
@@ -75,11 +62,7 @@ public class BasketServiceImpl implements BasketService {
 	// 회원일 때 회원장바구니 리스트 요청
 	@Override
 	public ResponseJSONResult<ListBasketVo> memberList(String mockToken) {
-		ResponseJSONResult<ListBasketVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.GET, null, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ListBasketVo data = mapper.convertValue(rJson.getData(), ListBasketVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<ListBasketVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.GET, null, mockToken, ListBasketVo.class);
 		
 		return rJson;
 	}
@@ -93,11 +76,7 @@ public class BasketServiceImpl implements BasketService {
 	    params.put("cnt", cnt);
 	    params.put("guestSession", guestSession);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest", HttpMethod.PUT, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest", HttpMethod.PUT, params, null, Boolean.class);
 		
 		return rJson;
 	}
@@ -110,11 +89,7 @@ public class BasketServiceImpl implements BasketService {
 	    params.put("no", no);
 	    params.put("cnt", cnt);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.PUT, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.PUT, params, mockToken, Boolean.class);
 		
 		return rJson;
 	}
@@ -127,11 +102,7 @@ public class BasketServiceImpl implements BasketService {
 	    params.put("no", no);
 	    params.put("guestSession", guestSession);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest", HttpMethod.DELETE, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/guest", HttpMethod.DELETE, params, null, Boolean.class);
 		
 		return rJson;
 	}
@@ -143,11 +114,7 @@ public class BasketServiceImpl implements BasketService {
 		Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("no", no);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.DELETE, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/basket/member", HttpMethod.DELETE, params, mockToken, Boolean.class);
 		
 		return rJson;
 	}
@@ -160,11 +127,7 @@ public class BasketServiceImpl implements BasketService {
 	    params.put("optionNos", optionNos);
 	    params.put("optionCnts", optionCnts);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/hascnt", HttpMethod.POST, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/hascnt", HttpMethod.POST, params, null, Boolean.class);
 		
 		return rJson;
 	}
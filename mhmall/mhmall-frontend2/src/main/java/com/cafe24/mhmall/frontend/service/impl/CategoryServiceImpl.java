@@ -13,8 +13,8 @@ import org.springframework.web.client.RestTemplate;
 
 import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
 import com.cafe24.mhmall.frontend.service.CategoryService;
+import com.cafe24.mhmall.frontend.util.BackendResponseCache;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
@@ -22,6 +22,9 @@ public class CategoryServiceImpl implements CategoryService {
 
 	@Autowired
 	OAuth2RestTemplate restTemplate;
+	
+	@Autowired
+	BackendResponseCache backendResponseCache;
 
 	
 	// 카테고리 추가요청
@@ -31,11 +34,9 @@ public class CategoryServiceImpl implements CategoryService {
         Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("name", categoryName);
 	    
-	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/category", HttpMethod.POST, params, mockToken);
-	    
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-		rJson.setData(data);
+	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/category", HttpMethod.POST, params, mockToken, Boolean.class);
+	    // 비회원 화면 캐시 지우기
+	    backendResponseCache.invalidateAll();
 		
 		return rJson;
 	}
@@ -46,11 +47,7 @@ public class CategoryServiceImpl implements CategoryService {
 	public ResponseJSONResult<ListCategoryVo> getList() {
 		
 		
-		ResponseJSONResult<ListCategoryVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/category/list", HttpMethod.GET, null, null);
-	    
-		ObjectMapper mapper = new ObjectMapper();
-		ListCategoryVo data = mapper.convertValue(rJson.getData(), ListCategoryVo.class);
-		rJson.setData(data);
+		ResponseJSONResult<ListCategoryVo> rJson = backendResponseCache.get("/api/category/list", ListCategoryVo.class);
 		
 		return rJson;
 	}
@@ -63,11 +60,9 @@ public class CategoryServiceImpl implements CategoryService {
         Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("no", no);
 	    
-	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/category", HttpMethod.DELETE, params, mockToken);
-	    
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-		rJson.setData(data);
+	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/category", HttpMethod.DELETE, params, mockToken, Boolean.class);
+	    // 비회원 화면 캐시 지우기
+	    backendResponseCache.invalidateAll();
 		
 		return rJson;
 	}
@@ -81,11 +76,9 @@ public class CategoryServiceImpl implements CategoryService {
 	    params.put("name", categoryName);
 	    params.put("no", no);
 	    
-	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/category", HttpMethod.PUT, params, mockToken);
-	    
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-		rJson.setData(data);
+	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/category", HttpMethod.PUT, params, mockToken, Boolean.class);
+	    // 비회원 화면 캐시 지우기
+	    backendResponseCache.invalidateAll();
 		
 		return rJson;
 	}
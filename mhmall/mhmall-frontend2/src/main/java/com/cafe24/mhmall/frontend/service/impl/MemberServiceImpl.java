@@ -19,7 +19,6 @@ import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
 import com.cafe24.mhmall.frontend.service.MemberService;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
 import com.cafe24.mhmall.frontend.vo.MemberVo;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 
 @Service
@@ -35,11 +34,7 @@ public class MemberServiceImpl implements MemberService {
 		Map<String, Object> params = new HashMap<String, Object>();
         params.put("id", id);
         params.put("password", password);
-        ResponseJSONResult<MemberVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/member/login", HttpMethod.POST, params, null);
-        
-        ObjectMapper mapper = new ObjectMapper();
-        MemberVo data = mapper.convertValue(rJson.getData(), MemberVo.class);
-		rJson.setData(data);
+        ResponseJSONResult<MemberVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/member/login", HttpMethod.POST, params, null, MemberVo.class);
         
 		return rJson;
 	}
@@ -64,11 +59,7 @@ public class MemberServiceImpl implements MemberService {
 	    params.put("zipcode", memberVo.getZipcode());
 	    params.put("addr", memberVo.getAddr());
 	    
-	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/member/join", HttpMethod.POST, params, null);
-	    
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-		rJson.setData(data);
+	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/member/join", HttpMethod.POST, params, null, Boolean.class);
 	    
 	    return rJson;
 	}
@@ -77,11 +68,7 @@ public class MemberServiceImpl implements MemberService {
 	// 아이디 중복확인
 	@Override
 	public ResponseJSONResult<Boolean> idcheck(String id) {
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/member/join/idcheck/" + id, HttpMethod.GET, null, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-		rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/member/join/idcheck/" + id, HttpMethod.GET, null, null, Boolean.class);
 		
 		return rJson;
 	}
@@ -90,11 +77,7 @@ public class MemberServiceImpl implements MemberService {
 	// 아이디로 회원정보(로그인)
 	@Override
 	public ResponseJSONResult<MemberVo> get(String id) {
-		ResponseJSONResult<MemberVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/member/view/" + id, HttpMethod.GET, null, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		MemberVo data = mapper.convertValue(rJson.getData(), MemberVo.class);
-		rJson.setData(data);
+		ResponseJSONResult<MemberVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/member/view/" + id, HttpMethod.GET, null, null, MemberVo.class);
 		
 		return rJson;
 	}
@@ -115,11 +98,7 @@ public class MemberServiceImpl implements MemberService {
 			}
 		}
 		
-		ResponseJSONResult rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/member/list"+search_str, HttpMethod.GET, null, authorization);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ListMemberVo data = mapper.convertValue(rJson.getData(), ListMemberVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/member/list"+search_str, HttpMethod.GET, null, authorization, ListMemberVo.class);
 		
 		return rJson;
 	}
@@ -132,11 +111,7 @@ public class MemberServiceImpl implements MemberService {
         Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("id", id);
 	    
-	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/member", HttpMethod.DELETE, params, mockToken);
-	    
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-		rJson.setData(data);
+	    ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/member", HttpMethod.DELETE, params, mockToken, Boolean.class);
 	    
 	    return rJson;
 	}
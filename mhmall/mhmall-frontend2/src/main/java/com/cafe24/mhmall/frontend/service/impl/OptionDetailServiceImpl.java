@@ -18,7 +18,6 @@ import com.cafe24.mhmall.frontend.service.MemberService.ListMemberVo;
 import com.cafe24.mhmall.frontend.service.OptionDetailService.ListOptionDetailVo;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
 import com.cafe24.mhmall.frontend.vo.OptionDetailVo;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class OptionDetailServiceImpl implements OptionDetailService {
@@ -30,11 +29,7 @@ public class OptionDetailServiceImpl implements OptionDetailService {
 	// 상세옵션 리스트
 	@Override
 	public ResponseJSONResult<ListOptionDetailVo> getOptionDetail(String authorization, Long itemNo, Integer level) {
-		ResponseJSONResult<ListOptionDetailVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/optiondetail/"+itemNo + "/" + level, HttpMethod.GET, null, authorization);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ListOptionDetailVo data = mapper.convertValue(rJson.getData(), ListOptionDetailVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<ListOptionDetailVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/optiondetail/"+itemNo + "/" + level, HttpMethod.GET, null, authorization, ListOptionDetailVo.class);
 		
 		return rJson;
 	}
@@ -48,11 +43,7 @@ public class OptionDetailServiceImpl implements OptionDetailService {
 	    params.put("itemNo", optionDetailVo.getItemNo());
 	    params.put("level", optionDetailVo.getLevel());
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/optiondetail", HttpMethod.POST, params, authorization);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/optiondetail", HttpMethod.POST, params, authorization, Boolean.class);
 		
 		return rJson;
 	}
@@ -64,11 +55,7 @@ public class OptionDetailServiceImpl implements OptionDetailService {
 		Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("no", no);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/optiondetail", HttpMethod.DELETE, params, authorization);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/optiondetail", HttpMethod.DELETE, params, authorization, Boolean.class);
 		
 		return rJson;
 	}
@@ -16,7 +16,6 @@ import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
 import com.cafe24.mhmall.frontend.service.OptionService;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
 import com.cafe24.mhmall.frontend.vo.OptionVo;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class OptionServiceImpl implements OptionService {
@@ -39,11 +38,7 @@ public class OptionServiceImpl implements OptionService {
 	    params.put("cnt", optionVo.getCnt());
 	    params.put("itemNo", optionVo.getItemNo());
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/option", HttpMethod.POST, params, authorization);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/option", HttpMethod.POST, params, authorization, Boolean.class);
 		
 		return rJson;
 	}
@@ -55,11 +50,7 @@ public class OptionServiceImpl implements OptionService {
 		Long oNo = -1L;
 		if(optionDetailNo1.isPresent())
 			oNo = optionDetailNo1.get();
-		ResponseJSONResult<ListOptionVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/item/option/list/"+itemNo + "/" + oNo, HttpMethod.GET, null, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ListOptionVo data = mapper.convertValue(rJson.getData(), ListOptionVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<ListOptionVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/item/option/list/"+itemNo + "/" + oNo, HttpMethod.GET, null, null, ListOptionVo.class);
 		
 		return rJson;
 	}
@@ -71,11 +62,7 @@ public class OptionServiceImpl implements OptionService {
 		Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("no", no);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/option", HttpMethod.DELETE, params, authorization);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/item/option", HttpMethod.DELETE, params, authorization, Boolean.class);
 		
 		return rJson;
 	}
@@ -20,7 +20,6 @@ import com.cafe24.mhmall.frontend.service.OrdersService;
 import com.cafe24.mhmall.frontend.util.MhmallRestTemplate;
 import com.cafe24.mhmall.frontend.vo.GuestVo;
 import com.cafe24.mhmall.frontend.vo.OrdersVo;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class OrdersServiceImpl implements OrdersService {
@@ -41,11 +40,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("optionCnts", dto.getOptionCnts());
 	    params.put("guestSession", guestSession);
 	    
-		ResponseJSONResult<ResponseOrdersDto> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest", HttpMethod.POST, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ResponseOrdersDto data = mapper.convertValue(rJson.getData(), ResponseOrdersDto.class);
-    	rJson.setData(data);
+		ResponseJSONResult<ResponseOrdersDto> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest", HttpMethod.POST, params, null, ResponseOrdersDto.class);
 		
 		return rJson;
 	}
@@ -63,11 +58,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("toAddr", dto.getToAddr());
 	    params.put("ordersNo", dto.getOrdersNo());
 	    
-		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest", HttpMethod.PUT, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		OrdersVo data = mapper.convertValue(rJson.getData(), OrdersVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest", HttpMethod.PUT, params, null, OrdersVo.class);
 		
 		return rJson;
 	}
@@ -80,11 +71,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("ordersNo", ordersNo);
 	    params.put("guestPassword", guestPassword);
 	    
-		ResponseJSONResult<ResponseOrdersViewDto> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest/view", HttpMethod.POST, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ResponseOrdersViewDto data = mapper.convertValue(rJson.getData(), ResponseOrdersViewDto.class);
-    	rJson.setData(data);
+		ResponseJSONResult<ResponseOrdersViewDto> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest/view", HttpMethod.POST, params, null, ResponseOrdersViewDto.class);
 		
 		return rJson;
 	}
@@ -97,11 +84,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("optionNos", optionNos);
 	    params.put("optionCnts", optionCnts);
 	    
-		ResponseJSONResult<ResponseOrdersDto> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member", HttpMethod.POST, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		ResponseOrdersDto data = mapper.convertValue(rJson.getData(), ResponseOrdersDto.class);
-    	rJson.setData(data);
+		ResponseJSONResult<ResponseOrdersDto> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member", HttpMethod.POST, params, mockToken, ResponseOrdersDto.class);
 		
 		return rJson;
 	}
@@ -118,11 +101,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("toAddr", dto.getToAddr());
 	    params.put("ordersNo", dto.getOrdersNo());
 	    
-		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member", HttpMethod.PUT, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		OrdersVo data = mapper.convertValue(rJson.getData(), OrdersVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member", HttpMethod.PUT, params, mockToken, OrdersVo.class);
 		
 		return rJson;
 	}
@@ -131,11 +110,7 @@ public class OrdersServiceImpl implements OrdersService {
 	// 회원 주문 리스트
 	@Override
 	public ResponseJSONResult<OrdersVoList> memberOrdersList(String mockToken) {
-		ResponseJSONResult<OrdersVoList> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member/list", HttpMethod.GET, null, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		OrdersVoList data = mapper.convertValue(rJson.getData(), OrdersVoList.class);
-    	rJson.setData(data);
+		ResponseJSONResult<OrdersVoList> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member/list", HttpMethod.GET, null, mockToken, OrdersVoList.class);
 		
 		return rJson;
 	}
@@ -145,11 +120,7 @@ public class OrdersServiceImpl implements OrdersService {
 	@Override
 	public ResponseJSONResult<OrdersVo> memberOrdersView(String ordersNo, String mockToken) {
 	    
-		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member/view/" + ordersNo, HttpMethod.GET, null, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		OrdersVo data = mapper.convertValue(rJson.getData(), OrdersVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member/view/" + ordersNo, HttpMethod.GET, null, mockToken, OrdersVo.class);
 		
 		return rJson;
 	}
@@ -161,11 +132,7 @@ public class OrdersServiceImpl implements OrdersService {
 		Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("ordersNo", ordersNo);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member/cancel", HttpMethod.PUT, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/member/cancel", HttpMethod.PUT, params, mockToken, Boolean.class);
 		
 		return rJson;
 	}
@@ -178,11 +145,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("ordersNo", ordersNo);
 	    params.put("guestPassword", guestPassword);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest/cancel", HttpMethod.PUT, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest/cancel", HttpMethod.PUT, params, null, Boolean.class);
 		
 		return rJson;
 	}
@@ -190,12 +153,10 @@ public class OrdersServiceImpl implements OrdersService {
 
 	// 관리자 주문 리스트 조회
 	@Override
-	public ResponseJSONResult<OrdersVoList> getAdminList(String mockToken) {
-		ResponseJSONResult<OrdersVoList> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/orders/list", HttpMethod.GET, null, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		OrdersVoList data = mapper.convertValue(rJson.getData(), OrdersVoList.class);
-    	rJson.setData(data);
+	public ResponseJSONResult<OrdersVoList> getAdminList(String lastOrdersNo, String mockToken) {
+		String uri = "/api/admin/orders/list";
+		if(lastOrdersNo != null) uri += "/" + lastOrdersNo;
+		ResponseJSONResult<OrdersVoList> rJson = MhmallRestTemplate.request(restTemplate, uri, HttpMethod.GET, null, mockToken, OrdersVoList.class);
 		
 		return rJson;
 	}
@@ -204,11 +165,7 @@ public class OrdersServiceImpl implements OrdersService {
 	// 관리자 주문 상세 조회
 	@Override
 	public ResponseJSONResult<OrdersVo> getAdminView(String ordersNo, String mockToken) {
-		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/orders/view/" + ordersNo, HttpMethod.GET, null, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		OrdersVo data = mapper.convertValue(rJson.getData(), OrdersVo.class);
-    	rJson.setData(data);
+		ResponseJSONResult<OrdersVo> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/orders/view/" + ordersNo, HttpMethod.GET, null, mockToken, OrdersVo.class);
 		
 		return rJson;
 	}
@@ -220,11 +177,7 @@ public class OrdersServiceImpl implements OrdersService {
 		Map<String, Object> params = new HashMap<String, Object>();
 	    params.put("ordersNo", ordersNo);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/orders/paycheck", HttpMethod.PUT, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/orders/paycheck", HttpMethod.PUT, params, mockToken, Boolean.class);
 		
 		return rJson;
 	}
@@ -237,11 +190,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("ordersNo", ordersNo);
 	    params.put("trackingNum", trackingNum);
 	    
-		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/orders/tnumcheck", HttpMethod.PUT, params, mockToken);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		Boolean data = mapper.convertValue(rJson.getData(), Boolean.class);
-    	rJson.setData(data);
+		ResponseJSONResult<Boolean> rJson = MhmallRestTemplate.request(restTemplate, "/api/admin/orders/tnumcheck", HttpMethod.PUT, params, mockToken, Boolean.class);
 		
 		return rJson;
 	}
@@ -256,11 +205,7 @@ public class OrdersServiceImpl implements OrdersService {
 	    params.put("guestPhone", guestPhone1 + guestPhone2 + guestPhone3);
 	    params.put("guestPassword", guestPassword);
 	    
-		ResponseJSONResult<OrdersVoList> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest/ordersno", HttpMethod.POST, params, null);
-		
-		ObjectMapper mapper = new ObjectMapper();
-		OrdersVoList data = mapper.convertValue(rJson.getData(), OrdersVoList.class);
-    	rJson.setData(data);
+		ResponseJSONResult<OrdersVoList> rJson = MhmallRestTemplate.request(restTemplate, "/api/orders/guest/ordersno", HttpMethod.POST, params, null, OrdersVoList.class);
 		
 		return rJson;
 	}
@@ -0,0 +1,135 @@
+package com.cafe24.mhmall.frontend.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+// 백엔드 요청 URI별 응답시간 히스토그램
+// 백엔드 컨트롤러 매핑의 고정 경로가 아닌 값은 바꿔서 묶고(/api/item/3 -> GET /api/item/{no}, /api/basket/guest/세션 -> GET /api/basket/guest/{var}),
+// 종류가 너무 많아지면 나머지는 하나로 모은다.
+public class BackendLatencyInterceptor implements ClientHttpRequestInterceptor {
+
+	// 히스토그램 구간(ms 이하)
+	private static final long[] BUCKETS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+	private static final int MAX_ROUTES = 200;
+	private static final String OTHER_ROUTE = "OTHER";
+
+	// 백엔드 컨트롤러 매핑(@RequestMapping)의 고정 경로(이외의 값은 경로 변수)
+	private static final Set<String> LITERALS = new HashSet<String>(Arrays.asList(
+			"api", "admin", "system", "monitor", "test", "oauth", "token",
+			"category", "item", "member", "orders", "basket",
+			"list", "seek", "new", "img", "view", "display",
+			"option", "optiondetail", "join", "idcheck", "login", "loginupdate",
+			"guest", "ordersno", "password", "cancel", "intake", "hascnt", "paycheck", "tnumcheck",
+			"authcache", "cachebus", "catalogcache", "crypto", "migrate", "dblatency", "maintenance",
+			"ordersintake", "profiler", "prometheus", "searchindex"));
+
+	private final String basePath;
+	private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+
+	// basePath : 백엔드 context path(통계에서 빼고 보여줌)
+	public BackendLatencyInterceptor(String basePath) {
+		this.basePath = basePath;
+	}
+
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		Histogram histogram = histogram(request.getMethod() + " " + route(request.getURI().getPath()));
+		long startTime = System.nanoTime();
+		try {
+			ClientHttpResponse response = execution.execute(request, body);
+			histogram.record(System.nanoTime() - startTime, response.getRawStatusCode() >= 500);
+			return response;
+		} catch (IOException | RuntimeException e) {
+			histogram.record(System.nanoTime() - startTime, true);
+			throw e;
+		}
+	}
+
+
+	// URI별 요청수, 오류수, 평균/최대 응답시간, 구간별 개수
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new TreeMap<String, Object>();
+		for(Map.Entry<String, Histogram> entry : histograms.entrySet()) stats.put(entry.getKey(), entry.getValue().toMap());
+		return stats;
+	}
+
+
+	// 고정 경로가 아닌 값은 숫자면 {no}, 나머지는 {var}로(검색어, 비회원 세션 등)
+	String route(String path) {
+		if(path == null) return "";
+		if(basePath != null && path.startsWith(basePath)) path = path.substring(basePath.length());
+
+		StringBuilder route = new StringBuilder();
+		for(String segment : path.split("/")) {
+			if(segment.isEmpty()) continue;
+			if(LITERALS.contains(segment)) route.append('/').append(segment);
+			else route.append('/').append(segment.matches("-?\\d+") ? "{no}" : "{var}");
+		}
+		return route.length() == 0 ? "/" : route.toString();
+	}
+
+
+	private Histogram histogram(String route) {
+		Histogram histogram = histograms.get(route);
+		if(histogram != null) return histogram;
+		if(histograms.size() >= MAX_ROUTES) route = OTHER_ROUTE;
+		return histograms.computeIfAbsent(route, k -> new Histogram());
+	}
+
+
+	private static class Histogram {
+		private final LongAdder[] buckets = new LongAdder[BUCKETS_MS.length + 1];
+		private final LongAdder count = new LongAdder();
+		private final LongAdder errorCount = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private Histogram() {
+			for(int i=0;i<buckets.length;i++) buckets[i] = new LongAdder();
+		}
+
+		private void record(long nanos, boolean error) {
+			long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+			int i = 0;
+			while(i < BUCKETS_MS.length && ms > BUCKETS_MS[i]) i++;
+			buckets[i].increment();
+			count.increment();
+			if(error) errorCount.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		private Map<String, Object> toMap() {
+			long cnt = count.sum();
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			map.put("count", cnt);
+			map.put("errorCount", errorCount.sum());
+			map.put("averageMs", cnt == 0 ? 0.0 : totalNanos.sum() / cnt / 1000000.0);
+			map.put("maxMs", maxNanos.get() / 1000000.0);
+
+			Map<String, Long> bucketMap = new LinkedHashMap<String, Long>();
+			for(int i=0;i<BUCKETS_MS.length;i++) bucketMap.put("le" + BUCKETS_MS[i], buckets[i].sum());
+			bucketMap.put("inf", buckets[BUCKETS_MS.length].sum());
+			map.put("buckets", bucketMap);
+			return map;
+		}
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.cafe24.mhmall.frontend.util;
+
+import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
+
+// 백엔드 응답과 ETag(If-None-Match 로 다시 요청할 때 사용)
+// notModified 이면 304 응답으로 rJson 이 없다.
+public class BackendResponse<T> {
+	private final ResponseJSONResult<T> rJson;
+	private final String eTag;
+	private final boolean notModified;
+
+	public BackendResponse(ResponseJSONResult<T> rJson, String eTag, boolean notModified) {
+		this.rJson = rJson;
+		this.eTag = eTag;
+		this.notModified = notModified;
+	}
+
+	public ResponseJSONResult<T> getRJson() {
+		return rJson;
+	}
+	public String getETag() {
+		return eTag;
+	}
+	public boolean isNotModified() {
+		return notModified;
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.cafe24.mhmall.frontend.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.oauth2.client.OAuth2RestTemplate;
+import org.springframework.stereotype.Component;
+
+import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// 비회원용 상품 화면(카테고리, 상품, 상품이미지, 상품리스트)의 백엔드 응답 캐시
+// 인증 없이 GET 하는 URI 만 넣는다.(회원정보, 장바구니, 주문, 옵션재고는 넣지 않음)
+// - refresh-seconds 가 지나면 이전 응답을 주면서 백그라운드에서 한번만 다시 요청한다.(stale-while-revalidate)
+//   다시 요청할 때는 If-None-Match 를 붙여서 바뀌지 않았으면(304) 이전 응답을 계속 쓴다.
+// - 없는 키는 동시에 여러 요청이 와도 백엔드 요청은 하나만 보내고 나머지는 기다린다.(single-flight)
+// - 실패 응답은 저장하지 않고, 다시 요청이 실패하면 이전 응답을 expire-seconds 까지 쓴다.
+// 캐시된 값은 여러 요청이 같이 쓰므로 호출하는 쪽에서 수정하면 안된다.
+@Component
+public class BackendResponseCache {
+
+	@Autowired
+	OAuth2RestTemplate restTemplate;
+
+	@Autowired
+	@Qualifier("backendExecutor")
+	ExecutorService backendExecutor;
+
+	@Value("${mhmall.frontend.response-cache.enabled:true}")
+	boolean enabled;
+
+	@Value("${mhmall.frontend.response-cache.max-size:5000}")
+	private long maxSize;
+
+	@Value("${mhmall.frontend.response-cache.refresh-seconds:10}")
+	private long refreshSeconds;
+
+	@Value("${mhmall.frontend.response-cache.expire-seconds:60}")
+	private long expireSeconds;
+
+	private LoadingCache<CacheKey, BackendResponse<?>> cache;
+
+
+	@PostConstruct
+	public void init() {
+		cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+				.expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+				.executor(backendExecutor)
+				.recordStats()
+				.build(new CacheLoader<CacheKey, BackendResponse<?>>() {
+					@Override
+					public BackendResponse<?> load(CacheKey key) {
+						return fetch(key, null);
+					}
+
+					@Override
+					public BackendResponse<?> reload(CacheKey key, BackendResponse<?> oldValue) {
+						BackendResponse<?> response = fetch(key, oldValue.getETag());
+						return response.isNotModified() ? oldValue : response;
+					}
+				});
+	}
+
+
+	// 인증 없는 GET 요청을 캐시에서 찾고 없으면 백엔드에 요청
+	@SuppressWarnings("unchecked")
+	public <T> ResponseJSONResult<T> get(String uri, Class<T> dataType) {
+		if(!enabled) return MhmallRestTemplate.request(restTemplate, uri, HttpMethod.GET, null, null, dataType);
+
+		try {
+			return (ResponseJSONResult<T>)cache.get(new CacheKey(uri, dataType)).getRJson();
+		} catch (FailResponseException e) {
+			return (ResponseJSONResult<T>)e.rJson;
+		}
+	}
+
+
+	// 관리자 수정 후 전체 지우기(다른 프론트 서버는 expire-seconds 안에 바뀜)
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+
+	// 캐시 상태
+	public Map<String, Object> getStats() {
+		CacheStats cacheStats = cache.stats();
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("enabled", enabled);
+		stats.put("size", cache.estimatedSize());
+		stats.put("hitCount", cacheStats.hitCount());
+		stats.put("missCount", cacheStats.missCount());
+		stats.put("hitRate", cacheStats.hitRate());
+		stats.put("loadCount", cacheStats.loadSuccessCount());
+		stats.put("loadFailureCount", cacheStats.loadFailureCount());
+		stats.put("averageLoadTimeMs", cacheStats.averageLoadPenalty() / 1000000.0);
+		stats.put("evictionCount", cacheStats.evictionCount());
+		return stats;
+	}
+
+
+	// 성공 응답만 저장(실패는 예외로 넘겨서 저장하지 않음)
+	private BackendResponse<?> fetch(CacheKey key, String eTag) {
+		BackendResponse<?> response = MhmallRestTemplate.requestIfNoneMatch(restTemplate, key.uri, eTag, key.dataType);
+		if(response == null) throw new FailResponseException(ResponseJSONResult.fail("응답이 없습니다."));
+		if(response.isNotModified()) return response;
+
+		ResponseJSONResult<?> rJson = response.getRJson();
+		if(rJson == null) rJson = ResponseJSONResult.fail("응답이 없습니다.");
+		if(!"success".equals(rJson.getResult())) throw new FailResponseException(rJson);
+		return response;
+	}
+
+
+	private static class FailResponseException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		private final ResponseJSONResult<?> rJson;
+
+		private FailResponseException(ResponseJSONResult<?> rJson) {
+			super(rJson.getMessage(), null, false, false);
+			this.rJson = rJson;
+		}
+	}
+
+
+	private static class CacheKey {
+		private final String uri;
+		private final Class<?> dataType;
+
+		private CacheKey(String uri, Class<?> dataType) {
+			this.uri = uri;
+			this.dataType = dataType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof CacheKey)) return false;
+			CacheKey other = (CacheKey)obj;
+			return uri.equals(other.uri) && dataType == other.dataType;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(uri, dataType);
+		}
+	}
+
+}
@@ -0,0 +1,384 @@
+package com.cafe24.mhmall.frontend.util;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// /images/** 전용 서블릿(DispatcherServlet, 스프링 시큐리티 없이 바로 파일을 보낸다)
+// - Tomcat sendfile 을 쓸 수 있으면 파일 이름만 넘기고 바로 리턴(커널이 보내므로 요청 스레드를 잡고 있지 않음)
+//   쓸 수 없으면 열어둔 FileChannel.transferTo 로 보낸다.
+// - Range(bytes=a-b 하나), If-None-Match, If-Modified-Since, HEAD
+// - Accept-Encoding: gzip 이고 {파일}.gz 가 있으면 그 파일을 보낸다.(Range 요청은 원본)
+//   압축한 파일은 ETag 도 따로(-gz) 두어서 원본과 같은 ETag 로 다른 내용이 나가지 않도록 한다.
+// - 파일 정보와 열린 FileChannel 을 open-files 개까지 캐시
+// - 동시에 처리하는 요청은 max-concurrent 개까지, 넘으면 바로 503(이미지 때문에 화면 요청 스레드가 모자라지 않도록)
+public class ImageServlet extends HttpServlet {
+	private static final long serialVersionUID = 1L;
+
+	private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+	private static final String LEGACY = "public, max-age=86400";
+
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	// 요청한 구간이 파일 밖(416)
+	private static final long[] NOT_SATISFIABLE = {};
+
+	private final Path root;
+	private final int maxConcurrent;
+	private final Semaphore permits;
+
+	// 파일 정보, 열린 파일(내용 해시 이름은 바뀌지 않지만 예전 이름은 바뀔 수 있으므로 1분만)
+	private final Cache<String, ImageFile> files;
+
+	private final LongAdder requestCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder notFoundCount = new LongAdder();
+	private final LongAdder notModifiedCount = new LongAdder();
+	private final LongAdder partialCount = new LongAdder();
+	private final LongAdder gzipCount = new LongAdder();
+	private final LongAdder sendfileCount = new LongAdder();
+	private final LongAdder transferCount = new LongAdder();
+	private final LongAdder errorCount = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+
+
+	public ImageServlet(String savePath, int maxConcurrent, int openFiles) {
+		this.root = Paths.get(savePath).toAbsolutePath().normalize();
+		this.maxConcurrent = maxConcurrent;
+		this.permits = new Semaphore(maxConcurrent);
+		this.files = Caffeine.newBuilder()
+				.maximumSize(openFiles)
+				.expireAfterWrite(1, TimeUnit.MINUTES)
+				.removalListener((String key, ImageFile file, RemovalCause cause) -> {
+					if(file != null) file.evict();
+				})
+				.recordStats()
+				.build();
+	}
+
+
+	@Override
+	protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+		serve(request, response, true);
+	}
+
+
+	@Override
+	protected void doHead(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+		serve(request, response, false);
+	}
+
+
+	// 상태
+	public Map<String, Object> getStats() {
+		CacheStats cacheStats = files.stats();
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("maxConcurrent", maxConcurrent);
+		stats.put("inFlight", maxConcurrent - permits.availablePermits());
+		stats.put("requestCount", requestCount.sum());
+		stats.put("rejectedCount", rejectedCount.sum());
+		stats.put("notFoundCount", notFoundCount.sum());
+		stats.put("notModifiedCount", notModifiedCount.sum());
+		stats.put("partialCount", partialCount.sum());
+		stats.put("gzipCount", gzipCount.sum());
+		stats.put("sendfileCount", sendfileCount.sum());
+		stats.put("transferCount", transferCount.sum());
+		stats.put("errorCount", errorCount.sum());
+		stats.put("bytes", bytes.sum());
+		stats.put("openFiles", files.estimatedSize());
+		stats.put("fileCacheHitRate", cacheStats.hitRate());
+		return stats;
+	}
+
+
+	private void serve(HttpServletRequest request, HttpServletResponse response, boolean body) throws IOException {
+		requestCount.increment();
+
+		// 동시 처리 수 제한(기다리지 않고 바로 503)
+		if(!permits.tryAcquire()) {
+			rejectedCount.increment();
+			response.setHeader("Retry-After", "1");
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return;
+		}
+
+		try {
+			String pathInfo = request.getPathInfo();
+			ImageFile file = pathInfo == null ? null : lookup(pathInfo);
+			if(file == null) {
+				notFoundCount.increment();
+				response.sendError(HttpServletResponse.SC_NOT_FOUND);
+				return;
+			}
+
+			// 보낼 파일(Range 요청은 원본, gzip 을 받으면 미리 압축한 파일)
+			ImageFile selected = file.gzip != null && request.getHeader("Range") == null && acceptsGzip(request) ? file.gzip : file;
+
+			response.setHeader("Cache-Control", ImageStorage.isImmutable(ImageStorage.URL + pathInfo) ? IMMUTABLE : LEGACY);
+			response.setHeader("ETag", selected.eTag);
+			response.setDateHeader("Last-Modified", selected.lastModified);
+			response.setHeader("Accept-Ranges", "bytes");
+			if(file.gzip != null) response.setHeader("Vary", "Accept-Encoding");
+
+			if(notModified(request, selected)) {
+				notModifiedCount.increment();
+				response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+				return;
+			}
+
+			String contentType = getServletContext().getMimeType(file.path.getFileName().toString());
+			response.setContentType(contentType == null ? "application/octet-stream" : contentType);
+
+			// Range(원본일 때만)
+			long start = 0;
+			long end = selected.length - 1;
+			String rangeHeader = selected == file ? rangeHeader(request, file) : null;
+			long[] range = rangeHeader == null ? null : range(rangeHeader, file.length);
+			if(selected != file) {
+				// 미리 압축한 파일
+				gzipCount.increment();
+				response.setHeader("Content-Encoding", "gzip");
+				file = selected;
+			}else if(range != null) {
+				if(range == NOT_SATISFIABLE) {
+					response.setHeader("Content-Range", "bytes */" + file.length);
+					response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+					return;
+				}
+				start = range[0];
+				end = range[1];
+				partialCount.increment();
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + file.length);
+			}
+
+			long length = end - start + 1;
+			response.setContentLengthLong(length);
+			if(!body || length == 0) return;
+
+			send(request, response, file, start, length);
+			bytes.add(length);
+		} catch (IOException e) {
+			// 클라이언트가 끊은 경우가 대부분
+			errorCount.increment();
+			throw e;
+		} finally {
+			permits.release();
+		}
+	}
+
+
+	// Tomcat sendfile 또는 FileChannel.transferTo
+	private void send(HttpServletRequest request, HttpServletResponse response, ImageFile file, long start, long length) throws IOException {
+		if(Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			sendfileCount.increment();
+			request.setAttribute(SENDFILE_FILENAME, file.path.toString());
+			request.setAttribute(SENDFILE_START, start);
+			request.setAttribute(SENDFILE_END, start + length);
+			return;
+		}
+
+		transferCount.increment();
+		FileChannel channel = file.acquire();
+		try {
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = start;
+			long remaining = length;
+			while(remaining > 0) {
+				long sent = channel.transferTo(position, remaining, out);
+				if(sent <= 0) break;
+				position += sent;
+				remaining -= sent;
+			}
+		} finally {
+			file.release();
+		}
+	}
+
+
+	// 파일 찾기(저장 디렉토리 밖, 저장중인 .part 파일은 없는 것으로)
+	private ImageFile lookup(String pathInfo) {
+		return files.get(pathInfo, key -> {
+			Path path = root.resolve(key.substring(1)).normalize();
+			if(!path.startsWith(root) || path.equals(root) || key.endsWith(".part")) return null;
+
+			BasicFileAttributes attributes = attributes(path);
+			if(attributes == null || !attributes.isRegularFile()) return null;
+
+			Path gzipPath = path.resolveSibling(path.getFileName() + ".gz");
+			BasicFileAttributes gzipAttributes = key.endsWith(".gz") ? null : attributes(gzipPath);
+			ImageFile gzip = gzipAttributes == null ? null : new ImageFile(gzipPath, gzipAttributes, "-gz", null);
+			return new ImageFile(path, attributes, "", gzip);
+		});
+	}
+
+
+	private BasicFileAttributes attributes(Path path) {
+		try {
+			return Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			errorCount.increment();
+			return null;
+		}
+	}
+
+
+	private boolean notModified(HttpServletRequest request, ImageFile file) {
+		String ifNoneMatch = request.getHeader("If-None-Match");
+		if(ifNoneMatch != null) {
+			for(String eTag : ifNoneMatch.split(",")) {
+				String value = eTag.trim();
+				if(value.startsWith("W/")) value = value.substring(2);
+				if("*".equals(value) || file.eTag.equals(value)) return true;
+			}
+			return false;
+		}
+
+		try {
+			long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+			// 초 단위로 비교
+			return ifModifiedSince != -1 && file.lastModified / 1000 <= ifModifiedSince / 1000;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+
+	// If-Range 가 맞지 않으면 전체 응답
+	private String rangeHeader(HttpServletRequest request, ImageFile file) {
+		String rangeHeader = request.getHeader("Range");
+		if(rangeHeader == null) return null;
+
+		String ifRange = request.getHeader("If-Range");
+		if(ifRange != null && !ifRange.trim().equals(file.eTag)) {
+			try {
+				long date = request.getDateHeader("If-Range");
+				if(file.lastModified / 1000 > date / 1000) return null;
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+		return rangeHeader;
+	}
+
+
+	// bytes=a-b, bytes=a-, bytes=-n 하나만 처리(여러 구간이나 모르는 형식은 null 이고 전체 응답)
+	// 범위를 벗어나면 NOT_SATISFIABLE(416)
+	long[] range(String rangeHeader, long length) {
+		if(!rangeHeader.startsWith("bytes=") || rangeHeader.indexOf(',') != -1) return null;
+
+		String spec = rangeHeader.substring(6).trim();
+		int dash = spec.indexOf('-');
+		if(dash == -1) return null;
+
+		try {
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+			long start;
+			long end;
+			if(first.isEmpty()) {
+				// 마지막 n 바이트
+				long suffix = Long.parseLong(last);
+				if(suffix <= 0) return NOT_SATISFIABLE;
+				start = Math.max(0, length - suffix);
+				end = length - 1;
+			}else {
+				start = Long.parseLong(first);
+				end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+			}
+			if(start < 0 || start >= length || end < start) return NOT_SATISFIABLE;
+			return new long[] {start, end};
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+
+	private boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+		return acceptEncoding != null && acceptEncoding.contains("gzip");
+	}
+
+
+	@Override
+	public void destroy() {
+		files.invalidateAll();
+		files.cleanUp();
+	}
+
+
+	// 파일 정보와 열린 FileChannel(보내는 중에는 캐시에서 빠져도 닫지 않음)
+	private static class ImageFile {
+		private final Path path;
+		private final long length;
+		private final long lastModified;
+		private final String eTag;
+		private final ImageFile gzip;
+
+		private FileChannel channel;
+		private int users;
+		private boolean evicted;
+
+		// eTagSuffix : 같은 이미지의 다른 표현(압축)을 구분
+		private ImageFile(Path path, BasicFileAttributes attributes, String eTagSuffix, ImageFile gzip) {
+			this.path = path;
+			this.length = attributes.size();
+			this.lastModified = attributes.lastModifiedTime().toMillis();
+			this.eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + eTagSuffix + "\"";
+			this.gzip = gzip;
+		}
+
+		private synchronized FileChannel acquire() throws IOException {
+			if(channel == null) channel = FileChannel.open(path, StandardOpenOption.READ);
+			users++;
+			return channel;
+		}
+
+		private synchronized void release() {
+			users--;
+			if(evicted && users == 0) close();
+		}
+
+		private synchronized void evict() {
+			evicted = true;
+			if(users == 0) close();
+			if(gzip != null) gzip.evict();
+		}
+
+		private void close() {
+			if(channel == null) return;
+			try {
+				channel.close();
+			} catch (IOException e) {}
+			channel = null;
+		}
+	}
+
+}
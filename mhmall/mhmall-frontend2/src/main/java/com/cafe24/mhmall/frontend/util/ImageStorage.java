@@ -0,0 +1,363 @@
+package com.cafe24.mhmall.frontend.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// 업로드 이미지 저장과 크기별 이미지(리스트 썸네일, 상세, 메인배너) 만들기
+// 원본은 요청 스레드에서 디스크에 바로 쓰고(fsync 후 이름 바꾸기), 크기별 이미지는 작은 스레드풀에서 만든다.
+// 원본은 내용 해시 이름(/images/ab/cd/{sha256}.ext)이라 같은 이미지는 한번만 저장하고, URL 이 바뀌지 않으므로 오래 캐시한다.
+// 크기별 이미지는 /images/d/{크기}/{원본파일이름}.jpg 이고, 아직 없으면 원본 URL 을 준다.
+// (JDK ImageIO 로 만들 수 있는 JPEG 로 저장)
+@Component
+public class ImageStorage {
+	public static final String URL = "/images";
+	private static final String DERIVATIVE_DIR = "d";
+
+	// 미리 gzip 으로 압축해두는 형식(jpg, png, gif 는 이미 압축되어 있음)
+	private static final Set<String> COMPRESSIBLE = new HashSet<String>(Arrays.asList("svg", "bmp", "tif", "tiff"));
+
+	// /images/ab/cd/{sha256}.ext 또는 /images/d/{크기}/ab/cd/{sha256}.ext.jpg
+	private static final Pattern IMMUTABLE_PATH = Pattern.compile(
+			URL + "/(" + DERIVATIVE_DIR + "/[a-z]+/)?([0-9a-f]{2})/([0-9a-f]{2})/\\2\\3[0-9a-f]{60}\\.[a-z0-9]{1,5}(\\.jpg)?");
+
+	// 크기별 이미지(최대 가로 px)
+	public enum Size {
+		LIST(300),		// 상품리스트 썸네일
+		DETAIL(800),	// 상품상세
+		MAIN(1200);		// 메인배너
+
+		private final int width;
+
+		private Size(int width) {
+			this.width = width;
+		}
+	}
+
+	@Value("${mhmall.frontend.image.save-path:/mhmall-uploads}")
+	private String savePath;
+
+	@Value("${mhmall.frontend.image.threads:2}")
+	private int threads;
+
+	@Value("${mhmall.frontend.image.queue-size:200}")
+	private int queueSize;
+
+	@Value("${mhmall.frontend.image.jpeg-quality:0.8}")
+	private float jpegQuality;
+
+	@Value("${mhmall.frontend.image.failed-retry-minutes:60}")
+	private long failedRetryMinutes;
+
+	private ThreadPoolExecutor executor;
+
+	// 만들고 있는 원본파일 이름(같은 이미지를 두번 만들지 않음)
+	private final Set<String> working = ConcurrentHashMap.newKeySet();
+
+	// 크기별 이미지가 있는지(디스크 확인 결과를 잠깐 저장)
+	private final Cache<String, Boolean> available = Caffeine.newBuilder()
+			.maximumSize(100000)
+			.expireAfterWrite(1, TimeUnit.MINUTES)
+			.build();
+
+	// 크기별 이미지를 만들지 못한 원본파일 이름과 실패 이유(ImageIO 로 읽을 수 없는 svg, 깨진 파일 등)
+	// 페이지를 볼 때마다 같은 작업을 다시 예약하지 않도록 failed-retry-minutes 동안 원본 URL 을 준다.
+	private Cache<String, String> failed;
+
+	private final AtomicLong storedCount = new AtomicLong();
+	private final AtomicLong dedupCount = new AtomicLong();
+	private final AtomicLong createdCount = new AtomicLong();
+	private final AtomicLong failCount = new AtomicLong();
+	private final AtomicLong rejectedCount = new AtomicLong();
+	private volatile String lastError;
+
+
+	@PostConstruct
+	public void init() {
+		executor = new ThreadPoolExecutor(
+				threads, threads,
+				60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(queueSize),
+				new CustomizableThreadFactory("image-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+
+		failed = Caffeine.newBuilder()
+				.maximumSize(100000)
+				.expireAfterWrite(failedRetryMinutes, TimeUnit.MINUTES)
+				.build();
+	}
+
+
+	@PreDestroy
+	public void destroy() {
+		executor.shutdown();
+	}
+
+
+	// 원본 저장 후 URL(디스크에 기록된 뒤 리턴), 크기별 이미지는 백그라운드에서 만든다.
+	// 파일 이름은 내용의 SHA-256 이고 앞 4글자로 디렉토리를 나눈다.(/images/ab/cd/abcd....png)
+	// 같은 이미지는 같은 파일이므로 이미 있으면 다시 저장하지 않는다.
+	public String store(MultipartFile multipartFile) {
+		if(multipartFile.isEmpty()) return "";
+
+		Path temp = null;
+		try {
+			Files.createDirectories(Paths.get(savePath));
+			temp = Files.createTempFile(Paths.get(savePath), "upload-", ".part");
+
+			// 메모리에 전부 올리지 않고 임시파일로 복사하면서 해시 계산
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			try (InputStream in = new DigestInputStream(multipartFile.getInputStream(), digest)) {
+				Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			String hash = toHex(digest.digest());
+			String fileName = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extName(multipartFile.getOriginalFilename());
+			Path target = Paths.get(savePath, fileName);
+
+			if(Files.exists(target)) {
+				// 같은 이미지가 이미 있음
+				Files.delete(temp);
+				dedupCount.incrementAndGet();
+			}else {
+				try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+					channel.force(true);
+				}
+				Files.createDirectories(target.getParent());
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				storedCount.incrementAndGet();
+			}
+
+			createDerivatives(fileName);
+			return URL + "/" + fileName;
+		} catch (IOException | NoSuchAlgorithmException e) {
+			try {
+				if(temp != null) Files.deleteIfExists(temp);
+			} catch (IOException e1) {}
+			throw new RuntimeException("Fileupload error:" + e);
+		}
+	}
+
+
+	// 내용 해시로 만든 URL 인지(바뀌지 않으므로 오래 캐시해도 됨)
+	public static boolean isImmutable(String path) {
+		return path != null && IMMUTABLE_PATH.matcher(path).matches();
+	}
+
+
+	// 크기별 이미지 URL(없으면 원본 URL, 만들어지지 않은 예전 이미지는 이때 만들기 시작)
+	public String url(String originalUrl, String size) {
+		if(originalUrl == null || !originalUrl.startsWith(URL + "/")) return originalUrl;
+		String fileName = originalUrl.substring(URL.length() + 1);
+		if(fileName.startsWith(DERIVATIVE_DIR + "/")) return originalUrl;
+
+		Size imageSize = Size.valueOf(size.toUpperCase());
+		Boolean exists = available.get(imageSize + "/" + fileName, k -> Files.exists(derivativePath(imageSize, fileName)));
+		if(exists) return URL + "/" + DERIVATIVE_DIR + "/" + imageSize.name().toLowerCase() + "/" + fileName + ".jpg";
+
+		// 만들고 있거나 만들지 못한 이미지는 디스크를 확인하지 않고 원본 URL
+		if(working.contains(fileName) || failed.getIfPresent(fileName) != null) return originalUrl;
+
+		if(Files.exists(Paths.get(savePath, fileName))) createDerivatives(fileName);
+		return originalUrl;
+	}
+
+
+	// 상태
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("activeCount", executor.getActiveCount());
+		stats.put("queueSize", executor.getQueue().size());
+		stats.put("working", working.size());
+		stats.put("storedCount", storedCount.get());
+		stats.put("dedupCount", dedupCount.get());
+		stats.put("createdCount", createdCount.get());
+		stats.put("failCount", failCount.get());
+		stats.put("rejectedCount", rejectedCount.get());
+		stats.put("failedSize", failed.estimatedSize());
+		stats.put("lastError", lastError);
+		return stats;
+	}
+
+
+	// 크기별 이미지 만들기 예약(대기열이 꽉 차면 버리고 다음에 url() 에서 다시 시도)
+	private void createDerivatives(final String fileName) {
+		if(!working.add(fileName)) return;
+		try {
+			executor.execute(() -> {
+				try {
+					createDerivativesNow(fileName);
+				} finally {
+					working.remove(fileName);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			working.remove(fileName);
+			rejectedCount.incrementAndGet();
+		}
+	}
+
+
+	private void createDerivativesNow(String fileName) {
+		try {
+			// 압축되는 형식은 이미지 서블릿이 보낼 .gz 파일도 만든다.
+			if(COMPRESSIBLE.contains(fileName.substring(fileName.lastIndexOf('.')+1))) createGzip(fileName);
+
+			BufferedImage original = ImageIO.read(Paths.get(savePath, fileName).toFile());
+			// 읽을 수 없는 형식
+			if(original == null) {
+				fail(fileName, "읽을 수 없는 이미지 형식");
+				return;
+			}
+
+			for(Size size : Size.values()) {
+				Path target = derivativePath(size, fileName);
+				if(Files.exists(target)) continue;
+
+				Files.createDirectories(target.getParent());
+				Path temp = target.resolveSibling(target.getFileName() + ".part");
+				writeJpeg(resize(original, size.width), temp.toFile());
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+				available.put(size + "/" + fileName, true);
+				createdCount.incrementAndGet();
+			}
+		} catch (IOException | RuntimeException e) {
+			fail(fileName, e.getClass().getSimpleName() + " : " + e.getMessage());
+		}
+	}
+
+
+	// 실패 기록(실패 횟수, 마지막 오류는 getStats 로 확인)
+	private void fail(String fileName, String reason) {
+		failCount.incrementAndGet();
+		failed.put(fileName, reason);
+		lastError = fileName + " " + reason;
+	}
+
+
+	private void createGzip(String fileName) throws IOException {
+		Path original = Paths.get(savePath, fileName);
+		Path target = Paths.get(savePath, fileName + ".gz");
+		if(Files.exists(target)) return;
+
+		Path temp = target.resolveSibling(target.getFileName() + ".part");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+			Files.copy(original, out);
+		}
+		// 줄지 않으면 저장하지 않음
+		if(Files.size(temp) >= Files.size(original)) {
+			Files.delete(temp);
+			return;
+		}
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+
+	// 가로 maxWidth 이하로 줄이기(반씩 여러번 줄여서 품질 유지), 투명 배경은 흰색
+	private BufferedImage resize(BufferedImage image, int maxWidth) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int targetWidth = Math.min(width, maxWidth);
+		int targetHeight = Math.max(1, (int)Math.round((double)height * targetWidth / width));
+
+		BufferedImage current = image;
+		do {
+			width = Math.max(targetWidth, width / 2);
+			height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+
+			BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = next.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setColor(Color.WHITE);
+			g.fillRect(0, 0, width, height);
+			g.drawImage(current, 0, 0, width, height, null);
+			g.dispose();
+			current = next;
+		} while(width != targetWidth);
+
+		return current;
+	}
+
+
+	private void writeJpeg(BufferedImage image, File file) throws IOException {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+		ImageWriter writer = writers.next();
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(jpegQuality);
+			param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+			writer.setOutput(out);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+	}
+
+
+	// 확장자(영문 소문자, 숫자만, 이상하면 bin)
+	private String extName(String originalFilename) {
+		if(originalFilename == null) return "bin";
+		String extName = originalFilename.substring(originalFilename.lastIndexOf('.')+1).toLowerCase();
+		return extName.matches("[a-z0-9]{1,5}") ? extName : "bin";
+	}
+
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for(byte b : bytes) hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		return hex.toString();
+	}
+
+
+	private Path derivativePath(Size size, String fileName) {
+		return Paths.get(savePath, DERIVATIVE_DIR, size.name().toLowerCase(), fileName + ".jpg");
+	}
+
+}
@@ -3,65 +3,98 @@ package com.cafe24.mhmall.frontend.util;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Arrays;
-import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.OAuth2RestTemplate;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 
 import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
-import com.cafe24.mhmall.frontend.vo.MemberVo;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 public class MhmallRestTemplate {
 	public static final String BACKENDHOST = "http://localhost:8888/mhmall";
-	
-	
-	public static ResponseJSONResult request(OAuth2RestTemplate restTemplate, String uri, HttpMethod method , Map<String, Object> params, String authorization) {
-        //RestTemplate restTemplate = new RestTemplate();
-        //if(restTemplates != null) restTemplate = restTemplates;
-        // 서버로 요청할 Header
-        HttpHeaders headers = new HttpHeaders();
-        // 인증
-        if(authorization != null) headers.add("MyAuthorization", "Basic " + authorization);
-        headers.add("Accept", MediaType.APPLICATION_JSON_UTF8_VALUE);
-        headers.add("Content-Type", MediaType.APPLICATION_JSON_UTF8_VALUE);
-        
-        HttpEntity body = new HttpEntity(params, headers);
-        
-        
+
+	// 같이 쓰는 ObjectMapper(스레드에 안전, 만들 때 비용이 크므로 하나만 만든다)
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	private static final ObjectWriter WRITER = MAPPER.writer();
+
+	// data 타입별 ResponseJSONResult<T> 리더
+	private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<Class<?>, ObjectReader>();
+
+
+	// 백엔드 요청 후 응답을 ResponseJSONResult<T>로 바로 읽는다.(data 를 dataType 으로)
+	public static <T> ResponseJSONResult<T> request(OAuth2RestTemplate restTemplate, String uri, HttpMethod method , Map<String, Object> params, String authorization, Class<T> dataType) {
+		BackendResponse<T> response = execute(restTemplate, uri, method, params, authorization, null, dataType);
+		return response == null ? null : response.getRJson();
+	}
+
+
+	// 인증 없는 GET 요청에 If-None-Match 를 붙여서 요청(eTag 가 null이면 그냥 요청)
+	// 바뀌지 않았으면 notModified 응답
+	public static <T> BackendResponse<T> requestIfNoneMatch(OAuth2RestTemplate restTemplate, String uri, String eTag, Class<T> dataType) {
+		return execute(restTemplate, uri, HttpMethod.GET, null, null, eTag, dataType);
+	}
+
+
+	private static <T> BackendResponse<T> execute(OAuth2RestTemplate restTemplate, String uri, HttpMethod method , Map<String, Object> params, String authorization, String eTag, Class<T> dataType) {
+        // 서버로 요청할 Header, Body
+        RequestCallback requestCallback = request -> {
+        	HttpHeaders headers = request.getHeaders();
+        	// 인증
+        	if(authorization != null) headers.add("MyAuthorization", "Basic " + authorization);
+        	if(eTag != null) headers.setIfNoneMatch(eTag);
+        	headers.add("Accept", MediaType.APPLICATION_JSON_UTF8_VALUE);
+        	headers.add("Content-Type", MediaType.APPLICATION_JSON_UTF8_VALUE);
+        	if(params != null) WRITER.writeValue(request.getBody(), params);
+        };
+
+        final ObjectReader reader = reader(dataType);
+        ResponseExtractor<BackendResponse<T>> responseExtractor = response -> {
+        	// 304 이면 본문 없음
+        	if(response.getStatusCode() == HttpStatus.NOT_MODIFIED) return new BackendResponse<T>(null, eTag, true);
+        	ResponseJSONResult<T> rJson = reader.readValue(response.getBody());
+        	return new BackendResponse<T>(rJson, response.getHeaders().getETag(), false);
+        };
+
+
     	try {
-    		ResponseEntity<ResponseJSONResult> response = restTemplate.exchange(new URI(BACKENDHOST + uri), method, body, ResponseJSONResult.class);
-    		ResponseJSONResult rJson = response.getBody();
-        	
-    		return rJson;
+    		return restTemplate.execute(new URI(BACKENDHOST + uri), method, requestCallback, responseExtractor);
 		} catch (HttpClientErrorException e) {
-			ResponseJSONResult rJson = ResponseJSONResult.fail(e.getMessage());
+			ResponseJSONResult<T> rJson = ResponseJSONResult.fail(e.getMessage());
 			// 400 에러일 때
 			if(e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-				ObjectMapper mapper = new ObjectMapper();
 				try {
-					rJson = mapper.readValue(e.getResponseBodyAsString(), ResponseJSONResult.class);
+					rJson = reader.readValue(e.getResponseBodyAsByteArray());
 				} catch (IOException e1) {}
-				return rJson;
-			}else return rJson;
+			}
+			return new BackendResponse<T>(rJson, null, false);
 		} catch (URISyntaxException e) {
 			e.printStackTrace();
 		}
         return null;
     }
-	
+
+
+	// ResponseJSONResult<dataType> 리더(타입별로 한번만 만든다)
+	static ObjectReader reader(Class<?> dataType) {
+		ObjectReader reader = READERS.get(dataType);
+		if(reader != null) return reader;
+
+		JavaType javaType = MAPPER.getTypeFactory().constructParametricType(ResponseJSONResult.class, dataType);
+		return READERS.computeIfAbsent(dataType, k -> MAPPER.readerFor(javaType));
+	}
+
 }
@@ -0,0 +1,95 @@
+package com.cafe24.mhmall.frontend.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cafe24.mhmall.frontend.dto.ResponseJSONResult;
+
+// 한 페이지에 필요한 백엔드 요청들을 동시에 보내고 페이지 마감시간까지 기다린다.
+// 페이지 응답시간이 요청시간의 합이 아니라 가장 느린 요청시간 정도가 된다.
+//
+// PageFetcher.Page page = pageFetcher.start();
+// CompletableFuture<ResponseJSONResult<X>> fX = page.fetch(() -> xService.get());
+// ResponseJSONResult<X> rJsonX = page.get(fX);
+@Component
+public class PageFetcher {
+
+	@Autowired
+	@Qualifier("backendExecutor")
+	ExecutorService backendExecutor;
+
+	@Value("${mhmall.frontend.page-deadline-ms:3000}")
+	long pageDeadlineMs;
+
+	private final AtomicLong timeoutCount = new AtomicLong();
+	private final AtomicLong failCount = new AtomicLong();
+	private volatile String lastError;
+
+
+	// 페이지 시작(지금부터 마감시간 계산)
+	public Page start() {
+		return new Page(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pageDeadlineMs));
+	}
+
+
+	// 시간초과, 실패 횟수
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("pageDeadlineMs", pageDeadlineMs);
+		stats.put("timeoutCount", timeoutCount.get());
+		stats.put("failCount", failCount.get());
+		stats.put("lastError", lastError);
+		return stats;
+	}
+
+
+	public class Page {
+		private final long deadline;
+
+		private Page(long deadline) {
+			this.deadline = deadline;
+		}
+
+		// 백엔드 요청 시작
+		public <T> CompletableFuture<ResponseJSONResult<T>> fetch(Supplier<ResponseJSONResult<T>> call) {
+			return CompletableFuture.supplyAsync(call, backendExecutor);
+		}
+
+		// 마감시간까지 결과 기다리기(시간초과, 실패면 fail 결과)
+		@SuppressWarnings("unchecked")
+		public <T> ResponseJSONResult<T> get(CompletableFuture<ResponseJSONResult<T>> future) {
+			try {
+				ResponseJSONResult<T> rJson = future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+				if(rJson == null) return ResponseJSONResult.fail("응답이 없습니다.");
+				return rJson;
+			} catch (TimeoutException e) {
+				future.cancel(true);
+				timeoutCount.incrementAndGet();
+				return ResponseJSONResult.fail("응답 시간이 초과되었습니다.");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return ResponseJSONResult.fail("요청이 중단되었습니다.");
+			} catch (ExecutionException e) {
+				// 실패 원인은 fail 결과의 메시지와 통계(lastError)로 남긴다.
+				Throwable cause = e.getCause() == null ? e : e.getCause();
+				failCount.incrementAndGet();
+				String error = cause.getClass().getSimpleName() + " : " + cause.getMessage();
+				lastError = error;
+				return ResponseJSONResult.fail("요청에 실패했습니다. " + error);
+			}
+		}
+	}
+
+}
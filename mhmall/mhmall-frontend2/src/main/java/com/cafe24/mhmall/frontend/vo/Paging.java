@@ -11,6 +11,7 @@ public class Paging {
 	private Long categoryNo;
 	private Integer pages;
 	private String kwd;
+	private String nextCursor;	// 커서 페이징의 다음 페이지 커서(마지막 페이지면 null)
 	
 
 	public Paging() {}
@@ -80,11 +81,17 @@ public class Paging {
 	public void setKwd(String kwd) {
 		this.kwd = kwd;
 	}
+	public String getNextCursor() {
+		return nextCursor;
+	}
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
 	@Override
 	public String toString() {
 		return "Paging [count=" + count + ", lastPage=" + lastPage + ", startNum=" + startNum + ", rangeStart="
 				+ rangeStart + ", boardCnt=" + boardCnt + ", pageCnt=" + pageCnt + ", categoryNo=" + categoryNo
-				+ ", pages=" + pages + ", kwd=" + kwd + "]";
+				+ ", pages=" + pages + ", kwd=" + kwd + ", nextCursor=" + nextCursor + "]";
 	}
 	
 }
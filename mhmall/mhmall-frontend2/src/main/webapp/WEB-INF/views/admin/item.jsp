@@ -67,7 +67,7 @@ $(function(){
 	          <div class="btn btn-default" style="color:blue;">판매중지</div>
 	        </c:if>
 	          <div style="position:relative;">
-	          	<img class="card-img-top" src="${pageContext.servletContext.contextPath}${idata.thumbnail}" alt="">
+	          	<img class="card-img-top" src="${pageContext.servletContext.contextPath}${imageStorage.url(idata.thumbnail, 'list')}" alt="">
 	            <div class="item_name_box">
 	            	${idata.name}
 	            </div>
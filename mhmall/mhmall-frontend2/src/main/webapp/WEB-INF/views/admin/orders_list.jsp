@@ -99,6 +99,12 @@ $(function(){
 					</tbody>
 				</table>
 				</div>
+				<c:if test="${not empty ordersList}">
+				<div class="text-center mt-3 mb-3">
+					<a href="${pageContext.request.contextPath}/admin/orders/list" class="btn btn-secondary">처음</a>
+					<a href="${pageContext.request.contextPath}/admin/orders/list/${ordersList[fn:length(ordersList) - 1].ordersNo}" class="btn btn-primary">다음</a>
+				</div>
+				</c:if>
 			</div>
 		</div>
 	</div>
@@ -57,7 +57,7 @@ $(function(){
             <figure class="media">
             	<div class="img-wrap mr-2" style="width:80px;overflow:hidden;">
             		<a href="${pageContext.servletContext.contextPath}/item/view/${bdata.itemNo}">
-            			<img src="${pageContext.servletContext.contextPath}${bdata.thumbnail}" style="width:100%;" class="img-thumbnail img-sm">
+            			<img src="${pageContext.servletContext.contextPath}${imageStorage.url(bdata.thumbnail, 'list')}" style="width:100%;" class="img-thumbnail img-sm">
             		</a>
             	</div>
             	<figcaption class="media-body">
@@ -33,7 +33,7 @@
           <div class="col-xl-3 col-lg-6 col-md-6 mb-4">
             <div class="card h-100">
               <a style="display:block;overflow:hidden;" href="${pageContext.servletContext.contextPath}/item/view/${idata.no}/${kwdPath}">
-              	<img class="card-img-top" src="${pageContext.servletContext.contextPath}${idata.thumbnail}" alt="">
+              	<img class="card-img-top" src="${pageContext.servletContext.contextPath}${imageStorage.url(idata.thumbnail, 'list')}" alt="">
               </a>
               <div>
                 <h5 class="text-center mr-2 ml-2" style="height:20px;line-height:20px;overflow:hidden;">
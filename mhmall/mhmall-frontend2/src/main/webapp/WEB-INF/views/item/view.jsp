@@ -222,7 +222,7 @@ $(function(){
 			<div class="mt-4 row">
 				<div class="col-md-6">
 					<img class="card-img-top img-fluid"
-						src="${pageContext.servletContext.contextPath}${itemVo.thumbnail}"
+						src="${pageContext.servletContext.contextPath}${imageStorage.url(itemVo.thumbnail, 'detail')}"
 						width="100%" style="border: 2px solid #eeeeee;" alt="">
 				</div>
 				<div class="col-md-6 card-body">
@@ -306,7 +306,7 @@ $(function(){
 				<div class="card-body">
 					<p>
 						<c:forEach items="${itemImgList}" var="iidata">
-							<img src="${pageContext.servletContext.contextPath}${iidata.itemImg}" style="width:100%;" alt="img" />
+							<img src="${pageContext.servletContext.contextPath}${imageStorage.url(iidata.itemImg, 'detail')}" style="width:100%;" alt="img" />
 						</c:forEach>
 					</p>
 					<hr>
@@ -34,7 +34,7 @@
           <div class="carousel-inner" role="listbox">
        		
           <c:forEach items="${mainImgList}" var="midata" varStatus="nowst">
-          	<div style="border:1px solid #e6e6e6;border-radius:5px;background-image:url(${pageContext.servletContext.contextPath}${midata.itemImg}); background-size:cover;"
+          	<div style="border:1px solid #e6e6e6;border-radius:5px;background-image:url(${pageContext.servletContext.contextPath}${imageStorage.url(midata.itemImg, 'main')}); background-size:cover;"
           	class="carousel-item <c:if test="${nowst.index eq 0}">active</c:if>">
           		<div class="mt-4 mb-4" style="overflow:hidden;">
           		<div class="mt-5 mb-5 pr-5 pl-5 text-center" style="background-color: rgba( 0, 0, 0, 0.5 );font-size:18px;font-weight:bold;color:#ffffff;height:125px;line-height:125px;overflow:hidden;">
@@ -61,7 +61,7 @@
 		<c:forEach items="${itemList}" var="idata">
           <div class="col-xl-3 col-lg-6 col-md-6 mb-4">
             <div class="card h-100">
-              <a style="display:block;overflow:hidden;" href="${pageContext.servletContext.contextPath}/item/view/${idata.no}"><img class="card-img-top" src="${pageContext.servletContext.contextPath}${idata.thumbnail}" alt=""></a>
+              <a style="display:block;overflow:hidden;" href="${pageContext.servletContext.contextPath}/item/view/${idata.no}"><img class="card-img-top" src="${pageContext.servletContext.contextPath}${imageStorage.url(idata.thumbnail, 'list')}" alt=""></a>
               <div>
                 <h5 class="text-center mr-2 ml-2" style="height:20px;line-height:20px;overflow:hidden;">
                   <a href="${pageContext.servletContext.contextPath}/item/view/${idata.no}" style="text-decoration:none;color:#000000;font-size:14px;">${idata.name}</a>